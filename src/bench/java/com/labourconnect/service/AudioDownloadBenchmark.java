@@ -0,0 +1,104 @@
+package com.labourconnect.service;
+
+import com.google.cloud.speech.v1.RecognitionAudio;
+import com.google.cloud.speech.v1.RecognizeRequest;
+import com.google.protobuf.ByteString;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Okio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap allocated to turn one downloaded WAV recording into a recognize request.
+ *
+ * copying is the earlier path: ResponseBody.bytes() followed by ByteString.copyFrom, header included.
+ * pooled is the current path: PcmAudio.read into an AudioBufferPool buffer, then a wrapping ByteString
+ * of the samples only. Run with -prof gc and compare gc.alloc.rate.norm, the bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AudioDownloadBenchmark {
+
+    private static final MediaType WAV = MediaType.get("audio/x-wav");
+
+    @Param({"5", "30"})
+    private int seconds;
+
+    private byte[] wav;
+    private AudioBufferPool pool;
+    private ResponseBody body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        wav = wav(seconds * 8_000);
+
+        pool = new AudioBufferPool();
+        ReflectionTestUtils.setField(pool, "bufferSize", 1 << 20);
+        ReflectionTestUtils.setField(pool, "poolSize", 4);
+        pool.init();
+    }
+
+    /**
+     * Bodies are single-use; each operation gets one streaming from the prepared recording, as OkHttp's would
+     */
+    @Setup(Level.Invocation)
+    public void newBody() {
+        body = ResponseBody.create(Okio.buffer(Okio.source(new ByteArrayInputStream(wav))), WAV, wav.length);
+    }
+
+    @Benchmark
+    public RecognizeRequest copying() throws IOException {
+        byte[] audioBytes = body.bytes();
+        return request(ByteString.copyFrom(audioBytes));
+    }
+
+    @Benchmark
+    public RecognizeRequest pooled() throws IOException {
+        try (PcmAudio audio = PcmAudio.read(body.byteStream(), body.contentLength(), pool)) {
+            return request(audio.toByteString());
+        }
+    }
+
+    private static RecognizeRequest request(ByteString content) {
+        return RecognizeRequest.newBuilder()
+                .setAudio(RecognitionAudio.newBuilder().setContent(content))
+                .build();
+    }
+
+    /**
+     * A canonical 44-byte-header WAV of 8 kHz mono LINEAR16 with a quiet sawtooth as samples
+     */
+    private static byte[] wav(int samples) {
+        ByteBuffer wav = ByteBuffer.allocate(44 + samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put("RIFF".getBytes()).putInt(36 + samples * 2).put("WAVE".getBytes());
+        wav.put("fmt ".getBytes()).putInt(16).putShort((short) 1).putShort((short) 1)
+                .putInt(8_000).putInt(16_000).putShort((short) 2).putShort((short) 16);
+        wav.put("data".getBytes()).putInt(samples * 2);
+        for (int i = 0; i < samples; i++) {
+            wav.putShort((short) ((i % 200) * 10 - 1000));
+        }
+        return wav.array();
+    }
+}
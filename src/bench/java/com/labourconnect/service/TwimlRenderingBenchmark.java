@@ -0,0 +1,111 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.SessionField;
+import com.twilio.twiml.VoiceResponse;
+import com.twilio.twiml.voice.Gather;
+import com.twilio.twiml.voice.Play;
+import com.twilio.twiml.voice.Record;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of producing a webhook's TwiML body: building a VoiceResponse and serializing it with toXml(),
+ * as the IVR endpoints did per request, against the bytes pre-rendered by TwimlTemplateCache.
+ * The built variants produce exactly the cached bytes. Run with -prof gc to compare allocation too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TwimlRenderingBenchmark {
+
+    private static final String BASE_URL = "https://ivr.example.com";
+    private static final int TIMEOUT = 5;
+    private static final int MAX_RECORDING_DURATION = 30;
+
+    @Param({"en", "kn"})
+    private String language;
+
+    private AudioService audioService;
+    private TwimlTemplateCache templates;
+
+    @Setup
+    public void setUp() {
+        audioService = new AudioService();
+        ReflectionTestUtils.setField(audioService, "baseUrl", BASE_URL);
+
+        templates = new TwimlTemplateCache(audioService, new MockEnvironment());
+        ReflectionTestUtils.setField(templates, "baseUrl", BASE_URL);
+        ReflectionTestUtils.setField(templates, "maxRecordingDuration", MAX_RECORDING_DURATION);
+        ReflectionTestUtils.setField(templates, "timeout", TIMEOUT);
+        ReflectionTestUtils.setField(templates, "captureMode", "record");
+        ReflectionTestUtils.setField(templates, "mediaStreamUrl", "");
+        templates.init();
+
+        if (!Arrays.equals(purposeMenuBuilt(), purposeMenuCached())
+                || !Arrays.equals(fieldPromptBuilt(), fieldPromptCached())) {
+            throw new IllegalStateException("Built TwiML no longer matches TwimlTemplateCache");
+        }
+    }
+
+    @Benchmark
+    public byte[] purposeMenuBuilt() {
+        Gather gather = new Gather.Builder()
+                .numDigits(1)
+                .timeout(TIMEOUT)
+                .action(BASE_URL + "/ivr/purpose")
+                .play(new Play.Builder(audioService.getAudioUrl("purpose_selection", language)).build())
+                .build();
+
+        return new VoiceResponse.Builder()
+                .gather(gather)
+                .build()
+                .toXml()
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] purposeMenuCached() {
+        return templates.purposeMenu(language);
+    }
+
+    @Benchmark
+    public byte[] fieldPromptBuilt() {
+        SessionField field = SessionField.WORK_EXPERTISE;
+        Record record = new Record.Builder()
+                .maxLength(MAX_RECORDING_DURATION)
+                .timeout(TIMEOUT)
+                .action(BASE_URL + "/ivr/process-job-seeker/" + field.getKey())
+                .recordingStatusCallback(BASE_URL + "/ivr/recording-status?flow=job_seeker&field=" + field.getKey())
+                .build();
+
+        return new VoiceResponse.Builder()
+                .play(new Play.Builder(audioService.getAudioUrl("job_seeker_" + field.getKey(), language)).build())
+                .record(record)
+                .build()
+                .toXml()
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] fieldPromptCached() {
+        return templates.jobSeekerPrompt(SessionField.WORK_EXPERTISE, language);
+    }
+}
@@ -0,0 +1,85 @@
+package com.labourconnect.config;
+
+import com.labourconnect.service.PostCallExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor configuration for post-call processing (STT, DB save, matching, SMS)
+ * and scheduled housekeeping tasks
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+@Slf4j
+public class AsyncConfig {
+
+    @Value("${app.postcall.pool.core:4}")
+    private int corePoolSize;
+
+    @Value("${app.postcall.pool.max:8}")
+    private int maxPoolSize;
+
+    @Value("${app.postcall.queue.capacity:200}")
+    private int queueCapacity;
+
+    /**
+     * Same switch that moves Tomcat's request handling onto virtual threads
+     */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Calls accepted at once on virtual threads. Each runs on its own thread and waits at the
+     * per-dependency bulkheads, so this bounds memory rather than concurrency.
+     */
+    @Value("${app.postcall.virtual.max.in.flight:500}")
+    private int virtualMaxInFlight;
+
+    /**
+     * Only abort is supported: the submitter counts, logs and fails the rejected call.
+     * Caller-runs would run STT and Groq on the webhook thread, and discard-oldest would drop
+     * an accepted call without a trace.
+     */
+    @Value("${app.postcall.rejection.policy:abort}")
+    private String rejectionPolicy;
+
+    @Bean(name = "postCallExecutor")
+    public PostCallExecutor postCallExecutor() {
+        if (virtualThreads) {
+            log.info("Configuring post-call executor on virtual threads - thread per call, max in flight: {}",
+                    virtualMaxInFlight);
+            return PostCallExecutor.virtual(virtualMaxInFlight);
+        }
+
+        log.info("Configuring post-call executor - core: {}, max: {}, queue: {}, rejection: {}",
+                corePoolSize, maxPoolSize, queueCapacity, rejectionPolicy);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setThreadNamePrefix("post-call-");
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(rejectionHandler(rejectionPolicy));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return PostCallExecutor.pooled(executor);
+    }
+
+    private RejectedExecutionHandler rejectionHandler(String policy) {
+        return switch (policy.toLowerCase()) {
+            case "abort" -> new ThreadPoolExecutor.AbortPolicy();
+            default -> throw new IllegalStateException(
+                    "Unsupported app.postcall.rejection.policy '" + policy + "', expected abort");
+        };
+    }
+}
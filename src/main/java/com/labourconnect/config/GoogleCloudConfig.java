@@ -1,40 +1,86 @@
 package com.labourconnect.config;
 
+import com.google.api.gax.core.FixedCredentialsProvider;
+import com.google.api.gax.core.NoCredentialsProvider;
+import com.google.api.gax.grpc.ChannelPoolSettings;
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.cloud.speech.v1.SpeechSettings;
+import com.google.cloud.speech.v1.stub.SpeechStubSettings;
+import io.grpc.ManagedChannelBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import java.io.FileInputStream;
 import java.io.IOException;
 
 /**
- * Google Cloud Speech-to-Text configuration
+ * Google Cloud Speech-to-Text configuration.
+ * One shared SpeechSettings with a pool of gRPC channels, so concurrent recognize calls are spread
+ * over several HTTP/2 connections instead of queueing behind one connection's stream limit.
+ *
+ * Credentials: google.cloud.credentials.path if set, otherwise Application Default Credentials.
+ * Setting app.stt.emulator.host (host:port) points the client at a local plaintext stand-in without credentials.
  */
 @Configuration
 @Slf4j
 public class GoogleCloudConfig {
 
-    @Value("${google.cloud.credentials.path}")
+    @Value("${google.cloud.credentials.path:}")
     private String credentialsPath;
 
+    @Value("${app.stt.emulator.host:}")
+    private String emulatorHost;
+
+    @Value("${app.stt.channel.pool.size:4}")
+    private int channelPoolSize;
+
+    @Value("${app.stt.channel.keepalive.seconds:30}")
+    private long keepAliveSeconds;
+
+    @Value("${app.stt.channel.keepalive.timeout.seconds:10}")
+    private long keepAliveTimeoutSeconds;
+
+    /**
+     * Lazy so a missing credentials file surfaces in SpeechToTextService (which falls back to mock mode)
+     * rather than failing startup
+     */
     @Bean
-    public GoogleCredentials googleCredentials() throws IOException {
-        log.info("Loading Google Cloud credentials from: {}", credentialsPath);
+    @Lazy
+    public SpeechSettings speechSettings() throws IOException {
+        InstantiatingGrpcChannelProvider.Builder channel = SpeechStubSettings.defaultGrpcTransportProviderBuilder()
+                .setChannelPoolSettings(ChannelPoolSettings.staticallySized(channelPoolSize))
+                .setKeepAliveTime(org.threeten.bp.Duration.ofSeconds(keepAliveSeconds))
+                .setKeepAliveTimeout(org.threeten.bp.Duration.ofSeconds(keepAliveTimeoutSeconds))
+                .setKeepAliveWithoutCalls(true);
 
-        try (FileInputStream serviceAccountStream = new FileInputStream(credentialsPath)) {
-            return GoogleCredentials.fromStream(serviceAccountStream);
+        SpeechSettings.Builder settings = SpeechSettings.newBuilder();
+
+        if (!emulatorHost.isEmpty()) {
+            log.info("Configuring Google Speech-to-Text against local stand-in at {}", emulatorHost);
+            channel.setEndpoint(emulatorHost)
+                    .setChannelConfigurator(GoogleCloudConfig::plaintext);
+            settings.setCredentialsProvider(NoCredentialsProvider.create());
+        } else if (!credentialsPath.isEmpty()) {
+            log.info("Loading Google Cloud credentials from: {}", credentialsPath);
+            try (FileInputStream serviceAccountStream = new FileInputStream(credentialsPath)) {
+                settings.setCredentialsProvider(
+                        FixedCredentialsProvider.create(GoogleCredentials.fromStream(serviceAccountStream)));
+            }
         }
-    }
 
-    @Bean
-    public SpeechSettings speechSettings(GoogleCredentials credentials) throws IOException {
-        log.info("Configuring Google Speech-to-Text settings");
+        log.info("Configuring Google Speech-to-Text settings - channel pool: {}, keepalive: {}s",
+                channelPoolSize, keepAliveSeconds);
+        return settings.setTransportChannelProvider(channel.build()).build();
+    }
 
-        return SpeechSettings.newBuilder()
-                .setCredentialsProvider(() -> credentials)
-                .build();
+    /**
+     * gax declares the configurator over the raw builder type; the wildcard keeps raw types out of this class
+     */
+    private static ManagedChannelBuilder<?> plaintext(ManagedChannelBuilder<?> channel) {
+        return channel.usePlaintext();
     }
 }
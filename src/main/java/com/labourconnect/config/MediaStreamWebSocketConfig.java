@@ -0,0 +1,29 @@
+package com.labourconnect.config;
+
+import com.labourconnect.controller.MediaStreamHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Raw WebSocket endpoint for Twilio Media Streams, next to the STOMP endpoint of {@link WebSocketConfig}.
+ * Twilio speaks plain WebSocket with JSON frames, so it cannot go through STOMP/SockJS.
+ * Handshakes must carry Twilio's signature; Twilio sends no Origin header, so the default
+ * same-origin check only keeps browsers on other sites out.
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class MediaStreamWebSocketConfig implements WebSocketConfigurer {
+
+    private final MediaStreamHandler mediaStreamHandler;
+    private final TwilioSignatureHandshakeInterceptor twilioSignature;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(mediaStreamHandler, "/ivr/media-stream")
+                .addInterceptors(twilioSignature);
+    }
+}
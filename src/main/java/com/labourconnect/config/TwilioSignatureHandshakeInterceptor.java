@@ -0,0 +1,61 @@
+package com.labourconnect.config;
+
+import com.labourconnect.service.TwimlTemplateCache;
+import com.twilio.security.RequestValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * Rejects media-stream handshakes that Twilio did not sign. Twilio signs the WebSocket request
+ * with X-Twilio-Signature over the stream URL from the TwiML, so the check uses that URL rather
+ * than the request's, which differs behind a TLS-terminating proxy.
+ *
+ * Switch off with app.ivr.stream.validate-signature=false for local testing without Twilio.
+ */
+@Component
+@Slf4j
+public class TwilioSignatureHandshakeInterceptor implements HandshakeInterceptor {
+
+    private static final String SIGNATURE_HEADER = "X-Twilio-Signature";
+
+    private final RequestValidator validator;
+    private final TwimlTemplateCache twimlTemplates;
+    private final boolean enabled;
+
+    public TwilioSignatureHandshakeInterceptor(@Value("${twilio.auth.token}") String authToken,
+                                               @Value("${app.ivr.stream.validate-signature:true}") boolean enabled,
+                                               TwimlTemplateCache twimlTemplates) {
+        this.validator = new RequestValidator(authToken);
+        this.twimlTemplates = twimlTemplates;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        if (!enabled) {
+            return true;
+        }
+        String signature = request.getHeaders().getFirst(SIGNATURE_HEADER);
+        if (signature != null && validator.validate(twimlTemplates.getMediaStreamUrl(), Map.of(), signature)) {
+            return true;
+        }
+        log.warn("⚠️ Rejected media stream handshake from {} - {} signature",
+                request.getRemoteAddress(), signature == null ? "missing" : "invalid");
+        response.setStatusCode(HttpStatus.FORBIDDEN);
+        return false;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.labourconnect.controller;
 
+import com.labourconnect.dto.CaptureStrategy;
 import com.labourconnect.model.Labour;
 import com.labourconnect.model.Work;
 import com.labourconnect.model.CallLog;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Admin controller for viewing data and statistics
@@ -25,6 +27,27 @@ public class AdminController {
     private final LabourService labourService;
     private final WorkService workService;
     private final CallLogService callLogService;
+    private final PostCallProcessingService postCallProcessingService;
+    private final SessionStore sessionStore;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+    private final WebhookIdempotencyService webhookIdempotencyService;
+    private final RecordingReadinessService recordingReadinessService;
+    private final AdmissionControlService admissionControlService;
+    private final TranscriptionCache transcriptionCache;
+    private final AudioBufferPool audioBufferPool;
+    private final VoiceActivityTrimmer voiceActivityTrimmer;
+    private final SpeechToTextService speechToTextService;
+    private final PendingTranscriptionService pendingTranscriptionService;
+    private final MediaStreamManager mediaStreamManager;
+    private final CaptureStatsService captureStatsService;
+    private final CallerRegistry callerRegistry;
+    private final GeocodingService geocodingService;
+    private final GeocodeCache geocodeCache;
+    private final CallDetailsExtractor callDetailsExtractor;
+    private final OutboundHttpClient outboundHttpClient;
+    private final MatchIndex matchIndex;
+    private final TwimlTemplateCache twimlTemplateCache;
 
     /**
      * Get all workers
@@ -86,6 +109,174 @@ public class AdminController {
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Get post-call executor statistics (queue depth, active workers, task latency)
+     */
+    @GetMapping("/post-call/stats")
+    public ResponseEntity<PostCallProcessingService.PostCallStats> getPostCallStats() {
+        return ResponseEntity.ok(postCallProcessingService.getStats());
+    }
+
+    /**
+     * Get IVR session store statistics (size, evictions)
+     */
+    @GetMapping("/sessions/stats")
+    public ResponseEntity<SessionStore.SessionStoreStats> getSessionStats() {
+        return ResponseEntity.ok(sessionStore.getStats());
+    }
+
+    /**
+     * Get per-dependency bulkhead saturation
+     */
+    @GetMapping("/bulkheads")
+    public ResponseEntity<Map<String, BulkheadRegistry.BulkheadStats>> getBulkheadStats() {
+        return ResponseEntity.ok(bulkheadRegistry.getStats());
+    }
+
+    /**
+     * Get webhook dedupe statistics (replayed Twilio retries)
+     */
+    @GetMapping("/webhooks/idempotency")
+    public ResponseEntity<WebhookIdempotencyService.IdempotencyStats> getIdempotencyStats() {
+        return ResponseEntity.ok(webhookIdempotencyService.getStats());
+    }
+
+    /**
+     * Get recording-status callback statistics (late callbacks, waits)
+     */
+    @GetMapping("/recordings/stats")
+    public ResponseEntity<RecordingReadinessService.RecordingReadinessStats> getRecordingStats() {
+        return ResponseEntity.ok(recordingReadinessService.getStats());
+    }
+
+    /**
+     * Get admission control decisions and current load signals
+     */
+    @GetMapping("/admission/stats")
+    public ResponseEntity<AdmissionControlService.AdmissionStats> getAdmissionStats() {
+        return ResponseEntity.ok(admissionControlService.getStats());
+    }
+
+    /**
+     * Get the prompts that have no recording under static/Audio and are said with text-to-speech instead
+     */
+    @GetMapping("/audio/missing")
+    public ResponseEntity<Set<String>> getMissingAudio() {
+        return ResponseEntity.ok(twimlTemplateCache.getMissingAudio());
+    }
+
+    /**
+     * Get transcription cache hit/miss statistics
+     */
+    @GetMapping("/transcription-cache/stats")
+    public ResponseEntity<TranscriptionCache.TranscriptionCacheStats> getTranscriptionCacheStats() {
+        return ResponseEntity.ok(transcriptionCache.getStats());
+    }
+
+    /**
+     * Get recording download buffer pool statistics (reused vs freshly allocated buffers)
+     */
+    @GetMapping("/audio-buffers/stats")
+    public ResponseEntity<AudioBufferPool.AudioBufferPoolStats> getAudioBufferStats() {
+        return ResponseEntity.ok(audioBufferPool.getStats());
+    }
+
+    /**
+     * Get silence trimming statistics (seconds of audio not sent to STT)
+     */
+    @GetMapping("/vad/stats")
+    public ResponseEntity<VoiceActivityTrimmer.VadStats> getVadStats() {
+        return ResponseEntity.ok(voiceActivityTrimmer.getStats());
+    }
+
+    /**
+     * Get STT circuit breaker state, deadline and hedging statistics
+     */
+    @GetMapping("/stt/resilience")
+    public ResponseEntity<SpeechToTextService.SttResilienceStats> getSttResilienceStats() {
+        return ResponseEntity.ok(speechToTextService.getResilienceStats());
+    }
+
+    /**
+     * Get recordings waiting for a transcription retry
+     */
+    @GetMapping("/transcriptions/pending")
+    public ResponseEntity<PendingTranscriptionService.PendingTranscriptionStats> getPendingTranscriptionStats() {
+        return ResponseEntity.ok(pendingTranscriptionService.getStats());
+    }
+
+    /**
+     * Get adaptive concurrency limits and queue wait per external client
+     */
+    @GetMapping("/limiters")
+    public ResponseEntity<Map<String, AdaptiveConcurrencyLimiter.LimiterStats>> getLimiterStats() {
+        return ResponseEntity.ok(concurrencyLimiterRegistry.getStats());
+    }
+
+    /**
+     * Get live media stream counts, dropped frames and time from last audio frame to transcript
+     */
+    @GetMapping("/media-streams/stats")
+    public ResponseEntity<MediaStreamManager.MediaStreamStats> getMediaStreamStats() {
+        return ResponseEntity.ok(mediaStreamManager.getStats());
+    }
+
+    /**
+     * Compare capture strategies (record, stream, gather) by latency, recognized rate and confidence
+     */
+    @GetMapping("/capture/stats")
+    public ResponseEntity<Map<CaptureStrategy, CaptureStatsService.CaptureStats>> getCaptureStats() {
+        return ResponseEntity.ok(captureStatsService.getStats());
+    }
+
+    /**
+     * Get returning-caller registry size and Bloom filter effectiveness
+     */
+    @GetMapping("/callers/stats")
+    public ResponseEntity<CallerRegistry.CallerRegistryStats> getCallerRegistryStats() {
+        return ResponseEntity.ok(callerRegistry.getStats());
+    }
+
+    /**
+     * Get gazetteer size, offline hit rate and how often Groq still had to be asked
+     */
+    @GetMapping("/geocoding/stats")
+    public ResponseEntity<GeocodingService.GeocodingStats> getGeocodingStats() {
+        return ResponseEntity.ok(geocodingService.getStats());
+    }
+
+    /**
+     * Get geocode cache hits per tier, negative hits and coalesced Groq calls
+     */
+    @GetMapping("/geocode-cache/stats")
+    public ResponseEntity<GeocodeCache.GeocodeCacheStats> getGeocodeCacheStats() {
+        return ResponseEntity.ok(geocodeCache.getStats());
+    }
+
+    /**
+     * Get structured extraction counts, local fallbacks and Groq latency
+     */
+    @GetMapping("/extraction/stats")
+    public ResponseEntity<CallDetailsExtractor.ExtractionStats> getExtractionStats() {
+        return ResponseEntity.ok(callDetailsExtractor.getStats());
+    }
+
+    /**
+     * Get outbound HTTP dispatcher load, retries and per-host latency and connection reuse
+     */
+    @GetMapping("/http/stats")
+    public ResponseEntity<OutboundHttpClient.OutboundHttpStats> getOutboundHttpStats() {
+        return ResponseEntity.ok(outboundHttpClient.getStats());
+    }
+
+    /**
+     * Get skill index size, query latency and consistency checks against the database
+     */
+    @GetMapping("/match-index/stats")
+    public ResponseEntity<Map<String, MatchIndex.MatchIndexStats>> getMatchIndexStats() {
+        return ResponseEntity.ok(matchIndex.getStats());
+    }
+
     /**
      * Search workers by expertise
      */
@@ -1,21 +1,20 @@
 package com.labourconnect.controller;
 
-import com.labourconnect.dto.*;
-import com.labourconnect.model.Labour;
-import com.labourconnect.model.Work;
+import com.labourconnect.dto.CaptureStrategy;
+import com.labourconnect.dto.IVRSessionDTO;
+import com.labourconnect.dto.SessionField;
+import com.labourconnect.dto.Skill;
 import com.labourconnect.service.*;
-import com.twilio.twiml.VoiceResponse;
-import com.twilio.twiml.voice.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+
+import static com.labourconnect.service.BulkheadRegistry.Dependency.POSTGRES;
 
 /**
  * Controller for handling Twilio IVR webhooks with audio files and WebSocket logging
@@ -26,460 +25,418 @@ import java.util.concurrent.ConcurrentHashMap;
 @RequiredArgsConstructor
 public class IVRController {
 
-    private final LabourService labourService;
-    private final WorkService workService;
-    private final MatchingService matchingService;
-    private final TwilioService twilioService;
-    private final SpeechToTextService speechToTextService;
-    private final CallLogService callLogService;
-    private final AudioService audioService;
+    private final TwimlTemplateCache twimlTemplates;
     private final WebSocketLogService webSocketLogService;
-    private final GroqService groqService;
-    private final KafkaProducerService kafkaProducerService;
-
-    @Value("${twilio.webhook.base.url}")
-    private String baseUrl;
-
-    @Value("${app.ivr.max.recording.duration:30}")
-    private int maxRecordingDuration;
+    private final PostCallProcessingService postCallProcessingService;
+    private final TranscriptionService transcriptionService;
+    private final SessionStore sessionStore;
+    private final WebhookIdempotencyService idempotency;
+    private final RecordingReadinessService recordingReadiness;
+    private final AdmissionControlService admissionControl;
+    private final CallLogService callLogService;
+    private final MediaStreamManager mediaStreams;
+    private final CaptureStatsService captureStats;
+    private final CallerRegistry callerRegistry;
+    private final BulkheadRegistry bulkheads;
 
-    @Value("${app.ivr.timeout.seconds:5}")
-    private int timeout;
+    @Value("${app.ivr.transcription.pipelined:true}")
+    private boolean pipelinedTranscription;
 
-    private final Map<String, IVRSessionDTO> sessions = new ConcurrentHashMap<>();
+    @Value("${app.ivr.skill.menu.enabled:false}")
+    private boolean skillMenuEnabled;
 
     /**
      * STEP 1: Welcome message and language selection
      */
     @PostMapping(value = "/welcome", produces = MediaType.APPLICATION_XML_VALUE)
-    public String welcome(@RequestParam("CallSid") String callSid,
+    public byte[] welcome(@RequestParam("CallSid") String callSid,
                           @RequestParam("From") String fromPhoneNo) {
         log.info("New call received - CallSid: {}, From: {}", callSid, fromPhoneNo);
 
-        // ✅ Broadcast to dashboard
-        webSocketLogService.logCallStart(callSid, fromPhoneNo);
+        return idempotency.handle(callSid, "welcome", null, () -> {
+            AdmissionControlService.Decision decision = admissionControl.admit(callSid);
+            if (decision != AdmissionControlService.Decision.ADMITTED) {
+                return rejectBusy(callSid, fromPhoneNo, decision);
+            }
 
-        IVRSessionDTO session = IVRSessionDTO.builder()
-                .callSid(callSid)
-                .phoneNo(fromPhoneNo)
-                .currentStep(1)
-                .startTime(System.currentTimeMillis())
-                .build();
-        sessions.put(callSid, session);
+            // ✅ Broadcast to dashboard
+            webSocketLogService.logCallStart(callSid, fromPhoneNo);
 
-        String audioUrl = audioService.getAudioUrl("welcome", "en");
-        Play play = new Play.Builder(audioUrl).build();
-
-        Gather gather = new Gather.Builder()
-                .numDigits(1)
-                .timeout(timeout)
-                .action(baseUrl + "/ivr/language")
-                .play(play)
-                .build();
+            IVRSessionDTO session = IVRSessionDTO.builder()
+                    .callSid(callSid)
+                    .phoneNo(fromPhoneNo)
+                    .currentStep(1)
+                    .startTime(System.currentTimeMillis())
+                    .build();
 
-        VoiceResponse response = new VoiceResponse.Builder()
-                .gather(gather)
-                .build();
+            // Known numbers skip the language menu and may get fresh matches without re-registering
+            CallerRegistry.Caller caller = callerRegistry.lookup(fromPhoneNo);
+            if (caller != null) {
+                session.setLanguagePreference(caller.language());
+                session.setCallPurpose(caller.worker() ? "job_seeker" : "employer");
+                sessionStore.put(session);
+                log.info("Returning caller ({}) - CallSid: {}", session.getCallPurpose(), callSid);
+                return twimlTemplates.returningCallerMenu(caller.language());
+            }
+
+            sessionStore.put(session);
+            return twimlTemplates.welcome();
+        });
+    }
 
-        return response.toXml();
+    /**
+     * Answers a call that admission control turned away and records it as dropped.
+     * The call log write happens off the webhook thread since the DB may be the saturated dependency.
+     */
+    private byte[] rejectBusy(String callSid, String fromPhoneNo, AdmissionControlService.Decision decision) {
+        webSocketLogService.logCallDropped(callSid, decision.name());
+        Thread.ofVirtual().name("busy-call-log").start(() -> {
+            try {
+                bulkheads.execute(POSTGRES, () -> callLogService.logCall(fromPhoneNo, null, null, 0, "dropped"));
+            } catch (Exception e) {
+                log.error("Failed to log busy call {}: {}", callSid, e.getMessage());
+            }
+        });
+        return twimlTemplates.busy();
     }
 
     /**
      * STEP 2: Process language selection and ask purpose
      */
     @PostMapping(value = "/language", produces = MediaType.APPLICATION_XML_VALUE)
-    public String selectLanguage(@RequestParam("CallSid") String callSid,
+    public byte[] selectLanguage(@RequestParam("CallSid") String callSid,
                                  @RequestParam("Digits") String digits) {
         log.info("Language selected - CallSid: {}, Digits: {}", callSid, digits);
 
-        IVRSessionDTO session = sessions.get(callSid);
-        if (session == null) {
-            return createErrorResponse("Session expired. Please call again.");
-        }
-
-        String language = switch (digits) {
-            case "2" -> "kn";
-            case "3" -> "hi";
-            default -> "en";
-        };
-
-        session.setLanguagePreference(language);
-        session.setCurrentStep(2);
-
-        // ✅ Broadcast to dashboard
-        webSocketLogService.logLanguageSelected(callSid, language);
-
-        String audioUrl = audioService.getAudioUrl("purpose_selection", language);
-        Play play = new Play.Builder(audioUrl).build();
-
-        Gather gather = new Gather.Builder()
-                .numDigits(1)
-                .timeout(timeout)
-                .action(baseUrl + "/ivr/purpose")
-                .play(play)
-                .build();
-
-        VoiceResponse response = new VoiceResponse.Builder()
-                .gather(gather)
-                .build();
+        return idempotency.handle(callSid, "language", null, () -> {
+            String language = switch (digits) {
+                case "2" -> "kn";
+                case "3" -> "hi";
+                default -> "en";
+            };
+
+            IVRSessionDTO session = sessionStore.update(callSid, s -> {
+                s.setLanguagePreference(language);
+                s.setCurrentStep(2);
+            });
+            if (session == null) {
+                return createErrorResponse("Session expired. Please call again.");
+            }
+
+            // ✅ Broadcast to dashboard
+            webSocketLogService.logLanguageSelected(callSid, language);
+
+            return twimlTemplates.purposeMenu(language);
+        });
+    }
 
-        return response.toXml();
+    /**
+     * STEP 2 for returning callers: 1 sends fresh matches for their latest registration or job and ends
+     * the call; anything else continues to the purpose menu in their stored language
+     */
+    @PostMapping(value = "/returning", produces = MediaType.APPLICATION_XML_VALUE)
+    public byte[] returningCaller(@RequestParam("CallSid") String callSid,
+                                  @RequestParam(value = "Digits", required = false) String digits) {
+        log.info("Returning caller choice - CallSid: {}, Digits: {}", callSid, digits);
+
+        return idempotency.handle(callSid, "returning", null, () -> {
+            IVRSessionDTO session = "1".equals(digits)
+                    ? sessionStore.get(callSid)
+                    : sessionStore.update(callSid, s -> s.setCurrentStep(2));
+            if (session == null) {
+                return createErrorResponse("Session expired. Please call again.");
+            }
+            String language = session.getLanguagePreference();
+
+            if ("1".equals(digits)) {
+                sessionStore.remove(callSid);
+                postCallProcessingService.submitFreshMatches(session);
+                return twimlTemplates.freshMatches(language);
+            }
+
+            webSocketLogService.logLanguageSelected(callSid, language);
+            return twimlTemplates.purposeMenu(language);
+        });
     }
 
     @PostMapping(value = "/purpose", produces = MediaType.APPLICATION_XML_VALUE)
-    public String selectPurpose(@RequestParam("CallSid") String callSid,
+    public byte[] selectPurpose(@RequestParam("CallSid") String callSid,
                                 @RequestParam("Digits") String digits) {
         log.info("Purpose selected - CallSid: {}, Digits: {}", callSid, digits);
 
-        IVRSessionDTO session = sessions.get(callSid);
-        if (session == null) {
-            return createErrorResponse("Session expired. Please call again.");
-        }
-
-        String purpose = digits.equals("2") ? "employer" : "job_seeker";
-        session.setCallPurpose(purpose);
-        session.setCurrentStep(3);
-
-        // ✅ Broadcast to dashboard
-        webSocketLogService.logPurposeSelected(callSid, purpose);
-
-        if (purpose.equals("job_seeker")) {
-            return collectJobSeekerData(session, "name");
-        } else {
-            return collectEmployerData(session, "type_of_work");
-        }
+        return idempotency.handle(callSid, "purpose", null, () -> {
+            String purpose = digits.equals("2") ? "employer" : "job_seeker";
+            IVRSessionDTO session = sessionStore.update(callSid, s -> {
+                s.setCallPurpose(purpose);
+                s.setCurrentStep(3);
+            });
+            if (session == null) {
+                return createErrorResponse("Session expired. Please call again.");
+            }
+
+            // ✅ Broadcast to dashboard
+            webSocketLogService.logPurposeSelected(callSid, purpose);
+
+            if (purpose.equals("job_seeker")) {
+                return collectJobSeekerData(session, SessionField.NAME);
+            } else {
+                return collectEmployerData(session, SessionField.TYPE_OF_WORK);
+            }
+        });
     }
 
     /**
      * Collects job seeker data
      */
-    private String collectJobSeekerData(IVRSessionDTO session, String field) {
-        String language = session.getLanguagePreference();
-        String audioKey = "job_seeker_" + field;
-        String audioUrl = audioService.getAudioUrl(audioKey, language);
-
-        Play play = new Play.Builder(audioUrl).build();
-
-        com.twilio.twiml.voice.Record record = new com.twilio.twiml.voice.Record.Builder()
-                .maxLength(maxRecordingDuration)
-                .timeout(timeout)
-                .recordingStatusCallback(baseUrl + "/ivr/recording-status")
-                .action(baseUrl + "/ivr/process-job-seeker/" + field)
-                .build();
-
-        VoiceResponse response = new VoiceResponse.Builder()
-                .play(play)
-                .record(record)
-                .build();
-
-        return response.toXml();
+    private byte[] collectJobSeekerData(IVRSessionDTO session, SessionField field) {
+        if (field == SessionField.WORK_EXPERTISE && skillMenuEnabled) {
+            return twimlTemplates.skillMenu("job_seeker", session.getLanguagePreference());
+        }
+        return twimlTemplates.jobSeekerPrompt(field, session.getLanguagePreference());
     }
 
     @PostMapping(value = "/process-job-seeker/{field}", produces = MediaType.APPLICATION_XML_VALUE)
-    public String processJobSeekerResponse(@PathVariable String field,
+    public byte[] processJobSeekerResponse(@PathVariable String field,
                                            @RequestParam("CallSid") String callSid,
-                                           @RequestParam("RecordingUrl") String recordingUrl) {
+                                           @RequestParam(value = "RecordingUrl", required = false) String recordingUrl,
+                                          @RequestParam(value = "SpeechResult", required = false) String speechResult,
+                                          @RequestParam(value = "Confidence", required = false) Double confidence) {
         log.info("Processing job seeker {} - CallSid: {}", field, callSid);
 
-        IVRSessionDTO session = sessions.get(callSid);
-        if (session == null) {
-            return createErrorResponse("Session expired.");
-        }
-
-        // Store the recording URL for later processing
-        session.addCollectedData(field + "_url", recordingUrl);
-        log.info("Stored recording URL for {}: {}", field, recordingUrl);
-
-        String nextField = switch (field) {
-            case "name" -> "work_expertise";
-            case "work_expertise" -> "location";
-            case "location" -> null;
-            default -> null;
-        };
-
-        if (nextField != null) {
-            return collectJobSeekerData(session, nextField);
-        } else {
-            // All data collected, end call and start background processing
-            return finalizeJobSeeker(session);
-        }
+        return idempotency.handle(callSid, "process-job-seeker", field, () -> {
+            SessionField sessionField = SessionField.fromKey(field);
+            if (sessionField == null) {
+                return createErrorResponse("Invalid request.");
+            }
+
+            IVRSessionDTO session = captureAnswer(callSid, sessionField, recordingUrl, speechResult, confidence);
+            if (session == null) {
+                return createErrorResponse("Session expired.");
+            }
+
+            SessionField nextField = switch (sessionField) {
+                case NAME -> SessionField.WORK_EXPERTISE;
+                case WORK_EXPERTISE -> SessionField.LOCATION;
+                default -> null;
+            };
+
+            if (nextField != null) {
+                return collectJobSeekerData(session, nextField);
+            } else {
+                // All data collected, end call and start background processing
+                return finalizeJobSeeker(session);
+            }
+        });
     }
 
-    private String finalizeJobSeeker(IVRSessionDTO session) {
+    private byte[] finalizeJobSeeker(IVRSessionDTO session) {
         log.info("Finalizing job seeker registration - Starting background processing");
 
-        // Start background processing
-        processJobSeekerAsync(session);
+        // The call is over: release the session and hand it to the post-call executor
+        sessionStore.remove(session.getCallSid());
+        postCallProcessingService.submitJobSeeker(session);
 
         // Play completion message and hang up immediately
-        String audioUrl = audioService.getAudioUrl("completion_job_seeker", session.getLanguagePreference());
-        Play play = new Play.Builder(audioUrl).build();
-
-        VoiceResponse response = new VoiceResponse.Builder()
-                .play(play)
-                .hangup(new Hangup.Builder().build())
-                .build();
-
-        return response.toXml();
+        return twimlTemplates.jobSeekerCompletion(session.getLanguagePreference());
     }
 
-    @Async
-    protected void processJobSeekerAsync(IVRSessionDTO session) {
-        log.info("Async processing for job seeker started - CallSid: {}", session.getCallSid());
-        
-        try {
-            // 1. Transcribe all audio files
-            String nameUrl = session.getCollectedData().get("name_url");
-            String expertiseUrl = session.getCollectedData().get("work_expertise_url");
-            String locationUrl = session.getCollectedData().get("location_url");
-
-            String name = transcribe(nameUrl, session.getLanguagePreference());
-            String expertise = transcribe(expertiseUrl, session.getLanguagePreference());
-            String location = transcribe(locationUrl, session.getLanguagePreference());
-
-            // Update session with transcribed data
-            session.addCollectedData("name", name);
-            session.addCollectedData("work_expertise", expertise);
-            session.addCollectedData("location", location);
-
-            // Log collected data
-            webSocketLogService.logDataCollected(session.getCallSid(), "name", name);
-            webSocketLogService.logDataCollected(session.getCallSid(), "work_expertise", expertise);
-            webSocketLogService.logDataCollected(session.getCallSid(), "location", location);
-
-            // 2. Save to database
-            LabourDTO labourDTO = LabourDTO.builder()
-                    .phoneNo(session.getPhoneNo())
-                    .name(name)
-                    .workExpertise(expertise)
-                    .location(location)
-                    .languagePreference(session.getLanguagePreference())
-                    .build();
-
-            Labour labour = labourService.registerLabour(labourDTO);
-            webSocketLogService.logDatabaseSaved(session.getCallSid(), "Labour", labour.getLabourId());
-
-            // 3. Find matches
-            MatchResultDTO matches = matchingService.findMatchingJobs(
-                    labour.getWorkExpertise(),
-                    labour.getLocation(),
-                    labour.getPreferredWage()
-            );
-
-            int matchCount = matches.getJobs() != null ? matches.getJobs().size() : 0;
-            webSocketLogService.logMatchingStarted(session.getCallSid(), matchCount);
-
-            // 4. Send SMS
-            twilioService.sendJobMatchesSMS(
-                    session.getPhoneNo(),
-                    matches.getJobs(),
-                    session.getLanguagePreference()
-            );
-            webSocketLogService.logSmsSent(session.getCallSid(), session.getPhoneNo());
-
-            // 5. Log call completion
-            long duration = (System.currentTimeMillis() - session.getStartTime()) / 1000;
-            callLogService.logCall(
-                    session.getPhoneNo(),
-                    "job_seeker",
-                    session.getLanguagePreference(),
-                    (int) duration,
-                    "completed"
-            );
-            webSocketLogService.logCallCompleted(session.getCallSid(), (int) duration);
-
-            // Clean up session
-            sessions.remove(session.getCallSid());
-
-        } catch (Exception e) {
-            log.error("Error in async job seeker processing: {}", e.getMessage(), e);
-            webSocketLogService.logError(session.getCallSid(), e.getMessage());
+    /**
+     * Collects employer data
+     */
+    private byte[] collectEmployerData(IVRSessionDTO session, SessionField field) {
+        if (field == SessionField.TYPE_OF_WORK && skillMenuEnabled) {
+            return twimlTemplates.skillMenu("employer", session.getLanguagePreference());
         }
+        return twimlTemplates.employerPrompt(field, session.getLanguagePreference());
     }
 
     /**
-     * Collects employer data
+     * Keypad trade menu. A listed trade is stored as the field's transcript, so no STT runs for it;
+     * "other", no input or an unknown key asks for a free-form answer instead.
      */
-    private String collectEmployerData(IVRSessionDTO session, String field) {
-        String language = session.getLanguagePreference();
-        String audioKey = "employer_" + field;
-        String audioUrl = audioService.getAudioUrl(audioKey, language);
-
-        Play play = new Play.Builder(audioUrl).build();
-
-        com.twilio.twiml.voice.Record record = new com.twilio.twiml.voice.Record.Builder()
-                .maxLength(maxRecordingDuration)
-                .timeout(timeout)
-                .action(baseUrl + "/ivr/process-employer/" + field)
-                .build();
-
-        VoiceResponse response = new VoiceResponse.Builder()
-                .play(play)
-                .record(record)
-                .build();
-
-        return response.toXml();
+    @PostMapping(value = "/skill-menu/{flow}", produces = MediaType.APPLICATION_XML_VALUE)
+    public byte[] selectSkill(@PathVariable String flow,
+                              @RequestParam("CallSid") String callSid,
+                              @RequestParam(value = "Digits", required = false) String digits) {
+        log.info("Skill selected - CallSid: {}, Flow: {}, Digits: {}", callSid, flow, digits);
+
+        return idempotency.handle(callSid, "skill-menu", flow, () -> {
+            boolean jobSeeker = !"employer".equals(flow);
+            SessionField field = jobSeeker ? SessionField.WORK_EXPERTISE : SessionField.TYPE_OF_WORK;
+            Skill skill = Skill.fromDigit(digits);
+
+            IVRSessionDTO session = skill == null
+                    ? sessionStore.get(callSid)
+                    : sessionStore.update(callSid, s -> s.setTranscript(field, skill.getDisplayName()));
+            if (session == null) {
+                return createErrorResponse("Session expired.");
+            }
+            String language = session.getLanguagePreference();
+
+            if (skill == null) {
+                return jobSeeker
+                        ? twimlTemplates.jobSeekerPrompt(field, language)
+                        : twimlTemplates.employerPrompt(field, language);
+            }
+
+            webSocketLogService.logDataCollected(callSid, field.getKey(), skill.getDisplayName());
+
+            return jobSeeker
+                    ? collectJobSeekerData(session, SessionField.LOCATION)
+                    : collectEmployerData(session, SessionField.LOCATION);
+        });
     }
 
     @PostMapping(value = "/process-employer/{field}", produces = MediaType.APPLICATION_XML_VALUE)
-    public String processEmployerResponse(@PathVariable String field,
+    public byte[] processEmployerResponse(@PathVariable String field,
                                           @RequestParam("CallSid") String callSid,
-                                          @RequestParam("RecordingUrl") String recordingUrl) {
+                                          @RequestParam(value = "RecordingUrl", required = false) String recordingUrl,
+                                          @RequestParam(value = "SpeechResult", required = false) String speechResult,
+                                          @RequestParam(value = "Confidence", required = false) Double confidence) {
         log.info("Processing employer {} - CallSid: {}", field, callSid);
 
-        IVRSessionDTO session = sessions.get(callSid);
-        if (session == null) {
-            return createErrorResponse("Session expired.");
-        }
-
-        // Store the recording URL for later processing
-        session.addCollectedData(field + "_url", recordingUrl);
-        log.info("Stored recording URL for {}: {}", field, recordingUrl);
-
-        String nextField = switch (field) {
-            case "type_of_work" -> "location";
-            case "location" -> null;
-            default -> null;
-        };
-
-        if (nextField != null) {
-            return collectEmployerData(session, nextField);
-        } else {
-            // All data collected, end call and start background processing
-            return finalizeEmployer(session);
-        }
+        return idempotency.handle(callSid, "process-employer", field, () -> {
+            SessionField sessionField = SessionField.fromKey(field);
+            if (sessionField == null) {
+                return createErrorResponse("Invalid request.");
+            }
+
+            IVRSessionDTO session = captureAnswer(callSid, sessionField, recordingUrl, speechResult, confidence);
+            if (session == null) {
+                return createErrorResponse("Session expired.");
+            }
+
+            SessionField nextField = switch (sessionField) {
+                case TYPE_OF_WORK -> SessionField.LOCATION;
+                default -> null;
+            };
+
+            if (nextField != null) {
+                return collectEmployerData(session, nextField);
+            } else {
+                // All data collected, end call and start background processing
+                return finalizeEmployer(session);
+            }
+        });
     }
 
-    private String finalizeEmployer(IVRSessionDTO session) {
+    private byte[] finalizeEmployer(IVRSessionDTO session) {
         log.info("Finalizing employer registration - Starting background processing");
 
-        // Start background processing
-        processEmployerAsync(session);
+        // The call is over: release the session and hand it to the post-call executor
+        sessionStore.remove(session.getCallSid());
+        postCallProcessingService.submitEmployer(session);
 
         // Play completion message and hang up immediately
-        String audioUrl = audioService.getAudioUrl("completion_employer", session.getLanguagePreference());
-        Play play = new Play.Builder(audioUrl).build();
-
-        VoiceResponse response = new VoiceResponse.Builder()
-                .play(play)
-                .hangup(new Hangup.Builder().build())
-                .build();
-
-        return response.toXml();
+        return twimlTemplates.employerCompletion(session.getLanguagePreference());
     }
 
-    @Async
-    protected void processEmployerAsync(IVRSessionDTO session) {
-        log.info("Async processing for employer started - CallSid: {}", session.getCallSid());
+    /**
+     * Takes the caller's answer as delivered by the field's capture strategy: a recording URL to transcribe,
+     * a Gather SpeechResult, or the transcript a media stream produced for this field.
+     * Only the stored fields go through {@link SessionStore#update}, which may re-apply them after a race;
+     * transcriptions and stats are started once, against the saved session.
+     *
+     * @return the saved session, or null if it expired
+     */
+    private IVRSessionDTO captureAnswer(String callSid, SessionField field, String recordingUrl,
+                                        String speechResult, Double confidence) {
+        if (recordingUrl != null) {
+            IVRSessionDTO session = sessionStore.update(callSid, s -> s.setRecordingUrl(field, recordingUrl));
+            if (session != null) {
+                log.info("Stored recording URL for {}: {}", field.getKey(), recordingUrl);
+                startEarlyTranscription(session, field, recordingUrl);
+            }
+            return session;
+        }
 
-        try {
-            // 1. Transcribe all audio files
-            String typeUrl = session.getCollectedData().get("type_of_work_url");
-            String locationUrl = session.getCollectedData().get("location_url");
-
-            String typeOfWork = transcribe(typeUrl, session.getLanguagePreference());
-            String location = transcribe(locationUrl, session.getLanguagePreference());
-
-            // Update session with transcribed data
-            session.addCollectedData("type_of_work", typeOfWork);
-            session.addCollectedData("location", location);
-
-            // Log collected data
-            webSocketLogService.logDataCollected(session.getCallSid(), "type_of_work", typeOfWork);
-            webSocketLogService.logDataCollected(session.getCallSid(), "location", location);
-
-            // 2. Get coordinates from Groq
-            double[] coordinates = groqService.getCoordinates(location);
-            double latitude = coordinates[0];
-            double longitude = coordinates[1];
-            log.info("Coordinates for {}: lat={}, lng={}", location, latitude, longitude);
-
-            // 3. Save to database
-            WorkDTO workDTO = WorkDTO.builder()
-                    .phoneNo(session.getPhoneNo())
-                    .typeOfWork(typeOfWork)
-                    .location(location)
-                    .languagePreference(session.getLanguagePreference())
-                    .build();
+        if (twimlTemplates.captureStrategy(field) == CaptureStrategy.GATHER) {
+            // No SpeechResult means the caller said nothing Twilio could recognize
+            String transcript = transcriptionService.fromSpeechResult(speechResult);
+            IVRSessionDTO session = sessionStore.update(callSid, s -> s.setTranscript(field, transcript));
+            if (session != null) {
+                // Twilio recognized the speech before calling us, so there is no latency of ours to measure
+                captureStats.record(callSid, field.getKey(), CaptureStrategy.GATHER, transcript, -1,
+                        confidence != null ? confidence : -1);
+                log.info("Gathered {} via Twilio speech: '{}' (confidence: {})", field.getKey(), transcript, confidence);
+            }
+            return session;
+        }
 
-            Work work = workService.postWork(workDTO);
-            webSocketLogService.logDatabaseSaved(session.getCallSid(), "Work", work.getWorkId());
-
-            // 4. Publish Kafka Event
-            WhatsAppBotJobEvent jobEvent = new WhatsAppBotJobEvent(
-                    session.getPhoneNo(), // providerId (mobile number)
-                    "Employer", // providerName (we don't collect name, using generic)
-                    typeOfWork, // title
-                    "Job posted via IVR", // description
-                    work.getWagesOffered() != null ? work.getWagesOffered().doubleValue() : 0.0, // wage
-                    latitude,
-                    longitude,
-                    Collections.singletonList(typeOfWork), // requiredSkills
-                    1 // numberOfEmployees
-            );
-            kafkaProducerService.sendJobEvent(jobEvent);
-
-            // 5. Find matches (Local logic - kept for SMS fallback)
-            MatchResultDTO matches = matchingService.findMatchingWorkers(
-                    work.getTypeOfWork(),
-                    work.getLocation(),
-                    work.getWagesOffered()
-            );
-
-            int matchCount = matches.getWorkers() != null ? matches.getWorkers().size() : 0;
-            webSocketLogService.logMatchingStarted(session.getCallSid(), matchCount);
-
-            // 6. Send SMS
-            twilioService.sendWorkerMatchesSMS(
-                    session.getPhoneNo(),
-                    matches.getWorkers(),
-                    session.getLanguagePreference()
-            );
-            webSocketLogService.logSmsSent(session.getCallSid(), session.getPhoneNo());
-
-            // 7. Log call completion
-            long duration = (System.currentTimeMillis() - session.getStartTime()) / 1000;
-            callLogService.logCall(
-                    session.getPhoneNo(),
-                    "employer",
-                    session.getLanguagePreference(),
-                    (int) duration,
-                    "completed"
-            );
-            webSocketLogService.logCallCompleted(session.getCallSid(), (int) duration);
-
-            // Clean up session
-            sessions.remove(session.getCallSid());
-
-        } catch (Exception e) {
-            log.error("Error in async employer processing: {}", e.getMessage(), e);
-            webSocketLogService.logError(session.getCallSid(), e.getMessage());
+        // Streamed transcripts stay in the node-local transcription slot, so there is nothing to store
+        IVRSessionDTO session = sessionStore.get(callSid);
+        if (session == null) {
+            return null;
+        }
+        CompletableFuture<String> streamed = mediaStreams.takeTranscript(callSid, field);
+        if (streamed != null) {
+            session.startTranscription(field, () -> streamed);
+        } else if (session.getTranscript(field) == null) {
+            log.warn("No recording or streamed transcript for {} - CallSid: {}", field.getKey(), callSid);
         }
+        return session;
     }
 
-    private String transcribe(String url, String language) {
-        if (url == null) return "Unknown";
-        
-        String transcript = speechToTextService.transcribeAudioFromUrl(url + ".wav", language);
-        
-        if (transcript != null && speechToTextService.isValidTranscription(transcript)) {
-            return speechToTextService.cleanTranscription(transcript);
+    /**
+     * In pipelined mode, transcribes the recording while the caller hears the next prompt
+     */
+    private void startEarlyTranscription(IVRSessionDTO session, SessionField field, String recordingUrl) {
+        if (!pipelinedTranscription) {
+            return;
         }
-        
-        return "Unknown";
+        session.startTranscription(field, () -> transcriptionService.transcribeAsync(
+                session.getCallSid(), field.getKey(), recordingUrl, session.getLanguagePreference()));
     }
 
+    /**
+     * Twilio recording-status callback. Marks the recording as finalized so its
+     * transcription can download it, and starts that transcription if the call is still live.
+     */
     @PostMapping("/recording-status")
-    public void recordingStatus(@RequestParam Map<String, String> params) {
-        log.info("Recording status: {}", params);
-    }
+    public void recordingStatus(@RequestParam("CallSid") String callSid,
+                                @RequestParam("RecordingUrl") String recordingUrl,
+                                @RequestParam("RecordingStatus") String recordingStatus,
+                                @RequestParam(value = "field", required = false) String field,
+                                @RequestParam(value = "flow", required = false) String flow) {
+        log.info("Recording status {} for {} {} - CallSid: {}", recordingStatus, flow, field, callSid);
+
+        if (!"completed".equals(recordingStatus) && !"absent".equals(recordingStatus)
+                && !"failed".equals(recordingStatus)) {
+            return; // in-progress
+        }
+
+        recordingReadiness.markStatus(recordingUrl, recordingStatus);
 
-    private String createErrorResponse(String message) {
-        VoiceResponse response = new VoiceResponse.Builder()
-                .say(new Say.Builder(message).build())
-                .hangup(new Hangup.Builder().build())
-                .build();
+        SessionField sessionField = SessionField.fromKey(field);
+        if (sessionField == null) {
+            return;
+        }
+
+        IVRSessionDTO session;
+        try {
+            session = sessionStore.update(callSid, s -> {
+                s.setRecordingStatus(sessionField, recordingStatus);
+                if (s.getRecordingUrl(sessionField) == null) {
+                    s.setRecordingUrl(sessionField, recordingUrl);
+                }
+            });
+        } catch (OptimisticLockingFailureException e) {
+            // The readiness signal above still lets the post-call transcription download it
+            log.warn("Could not store recording status after {} attempts - CallSid: {}",
+                    SessionStore.MAX_UPDATE_ATTEMPTS, callSid);
+            return;
+        }
+        if (session == null) {
+            // Last recording of a call: the session was already handed to post-call processing
+            return;
+        }
+
+        if (RecordingReadinessService.COMPLETED.equals(recordingStatus)) {
+            startEarlyTranscription(session, sessionField, recordingUrl);
+        }
+    }
 
-        return response.toXml();
+    private byte[] createErrorResponse(String message) {
+        return twimlTemplates.error(message);
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.labourconnect.controller;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.labourconnect.dto.SessionField;
+import com.labourconnect.service.MediaStreamManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.Base64;
+
+/**
+ * Receives Twilio Media Streams messages (connected, start, media, stop) on /ivr/media-stream.
+ * The field being answered comes from the &lt;Parameter&gt; elements of the &lt;Stream&gt; TwiML.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class MediaStreamHandler extends TextWebSocketHandler {
+
+    private static final String STREAM_SID = "streamSid";
+
+    private final MediaStreamManager mediaStreams;
+
+    @Override
+    protected void handleTextMessage(WebSocketSession socket, TextMessage message) {
+        JsonObject event = JsonParser.parseString(message.getPayload()).getAsJsonObject();
+
+        switch (event.get("event").getAsString()) {
+            case "start" -> start(socket, event.getAsJsonObject("start"));
+            case "media" -> mediaStreams.onAudio(event.get(STREAM_SID).getAsString(),
+                    Base64.getDecoder().decode(event.getAsJsonObject("media").get("payload").getAsString()));
+            case "stop" -> mediaStreams.onStop(event.get(STREAM_SID).getAsString());
+            default -> { } // connected, mark, dtmf
+        }
+    }
+
+    private void start(WebSocketSession socket, JsonObject start) {
+        String streamSid = start.get(STREAM_SID).getAsString();
+        String callSid = start.get("callSid").getAsString();
+        JsonObject parameters = start.getAsJsonObject("customParameters");
+        SessionField field = parameters != null && parameters.has("field")
+                ? SessionField.fromKey(parameters.get("field").getAsString())
+                : null;
+
+        if (field == null) {
+            log.warn("Media stream {} started without a known field - CallSid: {}", streamSid, callSid);
+            return;
+        }
+        socket.getAttributes().put(STREAM_SID, streamSid);
+        mediaStreams.open(socket, streamSid, callSid, field);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession socket, CloseStatus status) {
+        Object streamSid = socket.getAttributes().get(STREAM_SID);
+        if (streamSid != null) {
+            mediaStreams.onStop((String) streamSid);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.labourconnect.dto;
+
+/**
+ * How the caller's answer to a field prompt is captured and turned into text.
+ * Chosen per field with app.ivr.capture.{field}, defaulting to app.ivr.capture.mode.
+ */
+public enum CaptureStrategy {
+    /** &lt;Record&gt;, then download the WAV and run Google recognize */
+    RECORD,
+    /** &lt;Connect&gt;&lt;Stream&gt; into Google streamingRecognize while the caller speaks */
+    STREAM,
+    /** &lt;Gather input="speech"&gt;; Twilio posts SpeechResult with the action webhook */
+    GATHER;
+
+    /**
+     * Resolves a config value such as "record", falling back to RECORD for unknown values
+     */
+    public static CaptureStrategy fromConfig(String value) {
+        for (CaptureStrategy strategy : values()) {
+            if (strategy.name().equalsIgnoreCase(value)) {
+                return strategy;
+            }
+        }
+        return RECORD;
+    }
+}
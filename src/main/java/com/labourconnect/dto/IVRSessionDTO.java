@@ -1,5 +1,3 @@
-
-
 // ============================================
 // FILE: src/main/java/com/labourconnect/dto/IVRSessionDTO.java
 // ============================================
@@ -10,11 +8,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
- * Stores IVR session data temporarily during call flow
+ * Stores IVR session data temporarily during call flow.
+ * Per-field data lives in small arrays indexed by {@link SessionField} to keep each session cheap.
  */
 @Data
 @NoArgsConstructor
@@ -25,14 +24,67 @@ public class IVRSessionDTO {
     private String phoneNo;
     private String languagePreference;
     private String callPurpose; // job_seeker or employer
-    private Map<String, String> collectedData = new HashMap<>();
-    private Integer currentStep;
-    private Long startTime;
+    private int currentStep;
+    private long startTime;
+    private volatile long lastAccessTime;
+    private int version; // optimistic lock version for shared session stores
+
+    @Builder.Default
+    private String[] recordingUrls = new String[SessionField.COUNT];
+
+    @Builder.Default
+    private String[] recordingStatuses = new String[SessionField.COUNT]; // from the recording-status callback
+
+    @Builder.Default
+    private String[] transcripts = new String[SessionField.COUNT];
+
+    @Builder.Default
+    private CompletableFuture<?>[] transcriptions = new CompletableFuture<?>[SessionField.COUNT]; // in-flight STT per field, node-local
+
+    public String getRecordingUrl(SessionField field) {
+        return recordingUrls[field.ordinal()];
+    }
+
+    public void setRecordingUrl(SessionField field, String url) {
+        recordingUrls[field.ordinal()] = url;
+    }
+
+    public String getRecordingStatus(SessionField field) {
+        return recordingStatuses[field.ordinal()];
+    }
+
+    public void setRecordingStatus(SessionField field, String status) {
+        recordingStatuses[field.ordinal()] = status;
+    }
 
-    public void addCollectedData(String key, String value) {
-        if (collectedData == null) {
-            collectedData = new HashMap<>();
+    public String getTranscript(SessionField field) {
+        return transcripts[field.ordinal()];
+    }
+
+    public void setTranscript(SessionField field, String transcript) {
+        transcripts[field.ordinal()] = transcript;
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized CompletableFuture<String> getTranscription(SessionField field) {
+        return (CompletableFuture<String>) transcriptions[field.ordinal()];
+    }
+
+    /**
+     * Starts transcription of a field unless one is already running for it
+     */
+    public synchronized CompletableFuture<String> startTranscription(SessionField field,
+                                                                     Supplier<CompletableFuture<String>> starter) {
+        CompletableFuture<String> existing = getTranscription(field);
+        if (existing != null) {
+            return existing;
         }
-        collectedData.put(key, value);
+        CompletableFuture<String> started = starter.get();
+        transcriptions[field.ordinal()] = started;
+        return started;
+    }
+
+    public void touch() {
+        lastAccessTime = System.currentTimeMillis();
     }
 }
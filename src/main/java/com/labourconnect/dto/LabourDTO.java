@@ -17,6 +17,7 @@ public class LabourDTO {
     private String name;
     private Integer experience;
     private String workExpertise;
+    private String skillId;
     private String location;
     private Integer preferredWage;
     private String bio;
@@ -0,0 +1,38 @@
+package com.labourconnect.dto;
+
+/**
+ * Fields collected during an IVR call. The ordinal is used as the slot index in {@link IVRSessionDTO}.
+ */
+public enum SessionField {
+    NAME("name"),
+    WORK_EXPERTISE("work_expertise"),
+    LOCATION("location"),
+    TYPE_OF_WORK("type_of_work");
+
+    public static final int COUNT = values().length;
+
+    private final String key;
+
+    SessionField(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Field name as used in webhook paths and dashboard events
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Resolves a webhook path segment, or null if it is not a known field
+     */
+    public static SessionField fromKey(String key) {
+        for (SessionField field : values()) {
+            if (field.key.equals(key)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
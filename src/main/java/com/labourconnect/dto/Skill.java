@@ -0,0 +1,77 @@
+package com.labourconnect.dto;
+
+/**
+ * Trades offered on the IVR keypad menu. The key of the position in the menu is ordinal + 1;
+ * {@link #OTHER_DIGIT} falls back to a free-form answer.
+ * The id is stored as labour/work skill_id and compared exactly when matching.
+ */
+public enum Skill {
+    ELECTRICIAN("electrician", "Electrician"),
+    PLUMBER("plumber", "Plumber"),
+    CARPENTER("carpenter", "Carpenter"),
+    MASON("mason", "Mason"),
+    PAINTER("painter", "Painter"),
+    HELPER("helper", "Helper"),
+    WELDER("welder", "Welder");
+
+    public static final String OTHER_DIGIT = "9";
+
+    private final String id;
+    private final String displayName;
+
+    Skill(String id, String displayName) {
+        this.id = id;
+        this.displayName = displayName;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Stored as work_expertise / type_of_work, so keypad answers read like spoken ones
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDigit() {
+        return String.valueOf(ordinal() + 1);
+    }
+
+    /**
+     * Resolves a keypad press, or null for "other", no input or an unknown key
+     */
+    public static Skill fromDigit(String digits) {
+        for (Skill skill : values()) {
+            if (skill.getDigit().equals(digits)) {
+                return skill;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves a transcript that names exactly one trade (e.g. "Electrician" or "plumber."), or null
+     */
+    public static Skill fromTranscript(String transcript) {
+        if (transcript == null) {
+            return null;
+        }
+        String normalized = transcript.trim().replaceAll("[.!?]+$", "");
+        for (Skill skill : values()) {
+            if (skill.id.equalsIgnoreCase(normalized)) {
+                return skill;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Canonical id for a transcript, or null if it is not one of the menu trades
+     */
+    public static String idOf(String transcript) {
+        Skill skill = fromTranscript(transcript);
+        return skill != null ? skill.id : null;
+    }
+}
@@ -16,6 +16,7 @@ import lombok.NoArgsConstructor;
 public class WorkDTO {
     private String phoneNo;
     private String typeOfWork;
+    private String skillId;
     private String location;
     private Integer wagesOffered;
     private String organisationName;
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 @Table(name = "labour", indexes = {
         @Index(name = "idx_labour_expertise", columnList = "work_expertise"),
         @Index(name = "idx_labour_phone", columnList = "phone_no"),
-        @Index(name = "idx_labour_location", columnList = "location")
+        @Index(name = "idx_labour_location", columnList = "location"),
+        @Index(name = "idx_labour_skill", columnList = "skill_id")
 })
 @Data
 @NoArgsConstructor
@@ -44,6 +45,10 @@ public class Labour {
     @Column(name = "work_expertise", length = 200)
     private String workExpertise;
 
+    @Size(max = 30, message = "Skill id must be less than 30 characters")
+    @Column(name = "skill_id", length = 30)
+    private String skillId; // canonical trade from the keypad menu or an exact spoken match, null otherwise
+
     @Size(max = 100, message = "Location must be less than 100 characters")
     @Column(name = "location", length = 100)
     private String location;
@@ -0,0 +1,60 @@
+package com.labourconnect.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A recording that could not be transcribed when the call was processed.
+ * The owning labour/work row holds a "Pending transcription" placeholder until a retry succeeds.
+ */
+@Entity
+@Table(name = "pending_transcriptions", indexes = {
+        @Index(name = "idx_pending_transcriptions_next_attempt", columnList = "next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PendingTranscription {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "pending_id")
+    private Long pendingId;
+
+    @Column(name = "call_sid", length = 64)
+    private String callSid;
+
+    @Column(name = "recording_url", nullable = false, length = 500)
+    private String recordingUrl;
+
+    // "labour" or "work"
+    @Column(name = "target_type", nullable = false, length = 20)
+    private String targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    // SessionField key, e.g. "work_expertise"
+    @Column(name = "field", nullable = false, length = 50)
+    private String field;
+
+    @Column(name = "language", length = 10)
+    private String language;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
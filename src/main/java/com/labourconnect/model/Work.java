@@ -9,6 +9,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
@@ -16,7 +17,8 @@ import java.time.LocalDateTime;
 @Table(name = "work", indexes = {
         @Index(name = "idx_work_type", columnList = "type_of_work"),
         @Index(name = "idx_work_location", columnList = "location"),
-        @Index(name = "idx_work_phone", columnList = "phone_no")
+        @Index(name = "idx_work_phone", columnList = "phone_no"),
+        @Index(name = "idx_work_skill", columnList = "skill_id")
 })
 @Data
 @NoArgsConstructor
@@ -40,6 +42,10 @@ public class Work {
     @Column(name = "type_of_work", nullable = false, length = 150)
     private String typeOfWork;
 
+    @Size(max = 30, message = "Skill id must be less than 30 characters")
+    @Column(name = "skill_id", length = 30)
+    private String skillId; // canonical trade from the keypad menu or an exact spoken match, null otherwise
+
     @NotBlank(message = "Location is required")
     @Size(max = 100, message = "Location must be less than 100 characters")
     @Column(name = "location", nullable = false, length = 100)
@@ -63,4 +69,8 @@ public class Work {
     @CreationTimestamp
     @Column(name = "posted_date", nullable = false, updatable = false)
     private LocalDateTime postedDate;
+
+    @UpdateTimestamp
+    @Column(name = "last_updated")
+    private LocalDateTime lastUpdated;
 }
@@ -18,6 +18,9 @@ public interface LabourRepository extends JpaRepository<Labour, Long> {
     // Find by phone number
     Optional<Labour> findByPhoneNo(String phoneNo);
 
+    // Most recent registration for a phone number (numbers may register more than once)
+    Optional<Labour> findFirstByPhoneNoOrderByRegistrationDateDesc(String phoneNo);
+
     // Find all workers with specific phone number (for re-registration tracking)
     List<Labour> findAllByPhoneNo(String phoneNo);
 
@@ -54,6 +57,18 @@ public interface LabourRepository extends JpaRepository<Labour, Long> {
     List<Object[]> findMatchingWorkersWithScore(@Param("skill") String skill,
                                                 @Param("location") String location);
 
+    // Exact matching on the canonical skill id, same result shape as findMatchingWorkersWithScore
+    @Query("SELECT l, 3 as relevance, " +
+            "CASE " +
+            "  WHEN LOWER(l.location) = LOWER(:location) THEN 100 " +
+            "  WHEN LOWER(l.location) LIKE LOWER(CONCAT('%', :location, '%')) THEN 50 " +
+            "  ELSE 0 " +
+            "END as locationScore " +
+            "FROM Labour l WHERE l.skillId = :skillId " +
+            "ORDER BY locationScore DESC, l.experience DESC")
+    List<Object[]> findMatchingWorkersBySkillId(@Param("skillId") String skillId,
+                                                @Param("location") String location);
+
     // Find workers by minimum experience
     List<Labour> findByExperienceGreaterThanEqual(Integer minExperience);
 
@@ -0,0 +1,18 @@
+package com.labourconnect.repository;
+
+import com.labourconnect.model.PendingTranscription;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PendingTranscriptionRepository extends JpaRepository<PendingTranscription, Long> {
+
+    // Recordings due for another transcription attempt, oldest first
+    List<PendingTranscription> findTop50ByNextAttemptAtBeforeOrderByNextAttemptAtAsc(LocalDateTime now);
+
+    // Whether a labour/work row still has fields waiting for a transcript
+    boolean existsByTargetTypeAndTargetId(String targetType, Long targetId);
+}
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface WorkRepository extends JpaRepository<Work, Long> {
@@ -18,6 +19,9 @@ public interface WorkRepository extends JpaRepository<Work, Long> {
     // Find by employer phone number
     List<Work> findByPhoneNo(String phoneNo);
 
+    // Most recent job posted from a phone number
+    Optional<Work> findFirstByPhoneNoOrderByPostedDateDesc(String phoneNo);
+
     // Search by type of work (case-insensitive)
     List<Work> findByTypeOfWorkContainingIgnoreCase(String typeOfWork);
 
@@ -51,6 +55,18 @@ public interface WorkRepository extends JpaRepository<Work, Long> {
     List<Object[]> findMatchingJobsWithScore(@Param("skill") String skill,
                                              @Param("location") String location);
 
+    // Exact matching on the canonical skill id, same result shape as findMatchingJobsWithScore
+    @Query("SELECT w, 3 as relevance, " +
+            "CASE " +
+            "  WHEN LOWER(w.location) = LOWER(:location) THEN 100 " +
+            "  WHEN LOWER(w.location) LIKE LOWER(CONCAT('%', :location, '%')) THEN 50 " +
+            "  ELSE 0 " +
+            "END as locationScore " +
+            "FROM Work w WHERE w.skillId = :skillId " +
+            "ORDER BY locationScore DESC, w.postedDate DESC")
+    List<Object[]> findMatchingJobsBySkillId(@Param("skillId") String skillId,
+                                             @Param("location") String location);
+
     // Find jobs by wage range
     @Query("SELECT w FROM Work w WHERE w.wagesOffered BETWEEN :minWage AND :maxWage")
     List<Work> findByWageRange(@Param("minWage") Integer minWage,
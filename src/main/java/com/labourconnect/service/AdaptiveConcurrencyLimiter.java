@@ -0,0 +1,215 @@
+package com.labourconnect.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * AIMD concurrency limit for one outbound client.
+ *
+ * The limit grows by ~1 per limit's worth of successful calls while latency stays under the
+ * target, counting only calls that found the limit saturated: a call that took the last free slot
+ * or had to queue. Calls made with slots to spare prove nothing about a higher limit. It shrinks gently when latency exceeds it, and is cut multiplicatively when the
+ * remote side signals overload (HTTP 429, gRPC RESOURCE_EXHAUSTED).
+ * Callers over the limit wait in a fair FIFO queue instead of failing.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SLOW_DECREASE = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetMs;
+    private final double backoffRatio;
+    private final Predicate<Throwable> isOverload;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition permitAvailable = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private int waiting;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder overloads = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder totalQueueWaitMs = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      long latencyTargetMs, double backoffRatio, Predicate<Throwable> isOverload) {
+        this.name = name;
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetMs = latencyTargetMs;
+        this.backoffRatio = backoffRatio;
+        this.isOverload = isOverload;
+    }
+
+    /**
+     * Runs the task once a slot under the current limit is free, then adjusts the limit from its outcome
+     */
+    public <T, E extends Exception> T execute(BulkheadRegistry.ThrowingSupplier<T, E> task) throws E {
+        boolean saturated = acquire();
+        long start = System.nanoTime();
+        try {
+            T result = task.get();
+            onSuccess(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), saturated);
+            return result;
+        } catch (Throwable e) {
+            onFailure(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Takes a slot only if one is free right now, for optional work such as a hedged request
+     *
+     * @return the slot, to be released with the call's outcome, or null if the limit is reached
+     */
+    public Permit tryAcquire() {
+        boolean saturated;
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                return null;
+            }
+            inFlight++;
+            saturated = inFlight >= (int) limit;
+        } finally {
+            lock.unlock();
+        }
+        calls.increment();
+
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        return error -> {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (error == null) {
+                onSuccess(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), saturated);
+            } else {
+                onFailure(error);
+            }
+        };
+    }
+
+    /**
+     * @return whether the limit was saturated: the call queued, or took the last free slot
+     */
+    private boolean acquire() {
+        long start = System.currentTimeMillis();
+        boolean saturated;
+        lock.lock();
+        try {
+            saturated = inFlight >= (int) limit;
+            if (saturated) {
+                queued.increment();
+                waiting++;
+                try {
+                    while (inFlight >= (int) limit) {
+                        permitAvailable.awaitUninterruptibly();
+                    }
+                } finally {
+                    waiting--;
+                }
+            }
+            inFlight++;
+            saturated |= inFlight >= (int) limit;
+        } finally {
+            lock.unlock();
+        }
+        totalQueueWaitMs.add(System.currentTimeMillis() - start);
+        calls.increment();
+        return saturated;
+    }
+
+    private void onSuccess(long latencyMs, boolean saturated) {
+        lock.lock();
+        try {
+            double previous = limit;
+            if (latencyMs > latencyTargetMs) {
+                limit = Math.max(minLimit, limit * SLOW_DECREASE);
+            } else if (saturated) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            release(previous);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onFailure(Throwable error) {
+        lock.lock();
+        try {
+            double previous = limit;
+            if (isOverload.test(error)) {
+                overloads.increment();
+                limit = Math.max(minLimit, limit * backoffRatio);
+                log.warn("⚠️ {} signalled overload, concurrency limit {} -> {}", name, (int) previous, (int) limit);
+            }
+            release(previous);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(double previousLimit) {
+        inFlight--;
+        if ((int) limit > (int) previousLimit) {
+            permitAvailable.signalAll();
+        } else {
+            permitAvailable.signal();
+        }
+    }
+
+    /**
+     * A slot taken with {@link #tryAcquire()}. Releasing more than once has no effect.
+     */
+    @FunctionalInterface
+    public interface Permit {
+        /**
+         * @param error the call's failure, or null if it succeeded
+         */
+        void release(Throwable error);
+    }
+
+    public LimiterStats getStats() {
+        lock.lock();
+        try {
+            long count = calls.sum();
+            return new LimiterStats(
+                    (int) limit,
+                    minLimit,
+                    maxLimit,
+                    inFlight,
+                    waiting,
+                    count,
+                    queued.sum(),
+                    overloads.sum(),
+                    count > 0 ? (double) totalQueueWaitMs.sum() / count : 0.0
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public record LimiterStats(
+            int limit,
+            int minLimit,
+            int maxLimit,
+            int inFlight,
+            int waiting,
+            long calls,
+            long queued,
+            long overloads,
+            double averageQueueWaitMs
+    ) {}
+}
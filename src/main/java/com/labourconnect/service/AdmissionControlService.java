@@ -0,0 +1,162 @@
+package com.labourconnect.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides whether a new call can be taken. A caller who is admitted leaves three
+ * recordings behind, so calls are turned away while the post-call backlog,
+ * the STT backlog or the DB connection pool are already saturated.
+ *
+ * The STT backlog is what the Google STT concurrency limiter holds (in flight plus queued),
+ * measured against its current limit: the limiter, not the bulkhead behind it, is what
+ * queues once Google slows down.
+ *
+ * The post-call backlog is the calls waiting for a pool worker, or on virtual threads every call
+ * in flight, since those wait at the bulkheads rather than in a queue.
+ *
+ * Thresholds: app.admission.postcall.queue.max, app.admission.stt.backlog.ratio
+ * (STT backlog as a multiple of the limit), app.admission.db.pool.usage.max
+ * (fraction of the Hikari pool in use)
+ */
+@Service
+@Slf4j
+public class AdmissionControlService {
+
+    public enum Decision {
+        ADMITTED,
+        REJECTED_POSTCALL_BACKLOG,
+        REJECTED_STT_BACKLOG,
+        REJECTED_DB_POOL
+    }
+
+    private final PostCallProcessingService postCallProcessingService;
+    private final ConcurrencyLimiterRegistry limiters;
+    private final ObjectProvider<DataSource> dataSource;
+
+    @Value("${app.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.admission.postcall.queue.max:150}")
+    private int maxPostCallQueue;
+
+    @Value("${app.admission.stt.backlog.ratio:2.0}")
+    private double maxSttBacklogRatio;
+
+    @Value("${app.admission.db.pool.usage.max:0.9}")
+    private double maxDbPoolUsage;
+
+    private final Map<Decision, LongAdder> decisions = new EnumMap<>(Decision.class);
+
+    public AdmissionControlService(PostCallProcessingService postCallProcessingService,
+                                   ConcurrencyLimiterRegistry limiters,
+                                   ObjectProvider<DataSource> dataSource) {
+        this.postCallProcessingService = postCallProcessingService;
+        this.limiters = limiters;
+        this.dataSource = dataSource;
+        for (Decision decision : Decision.values()) {
+            decisions.put(decision, new LongAdder());
+        }
+    }
+
+    /**
+     * Checks the load signals for a new call and records the decision
+     */
+    public Decision admit(String callSid) {
+        Decision decision = evaluate();
+        decisions.get(decision).increment();
+
+        if (decision != Decision.ADMITTED) {
+            log.warn("⚠️ Turning away call {} - {} (post-call queue: {}, STT backlog: {}/{}, DB pool usage: {})",
+                    callSid, decision, postCallProcessingService.queueDepth(), sttBacklog(), sttBacklogMax(),
+                    String.format("%.2f", dbPoolUsage()));
+        }
+        return decision;
+    }
+
+    private Decision evaluate() {
+        if (!enabled) {
+            return Decision.ADMITTED;
+        }
+        if (postCallProcessingService.queueDepth() >= maxPostCallQueue) {
+            return Decision.REJECTED_POSTCALL_BACKLOG;
+        }
+        if (sttBacklog() >= sttBacklogMax()) {
+            return Decision.REJECTED_STT_BACKLOG;
+        }
+        if (dbPoolUsage() >= maxDbPoolUsage) {
+            return Decision.REJECTED_DB_POOL;
+        }
+        return Decision.ADMITTED;
+    }
+
+    /**
+     * STT requests in flight plus those waiting for a slot under the limit
+     */
+    private int sttBacklog() {
+        AdaptiveConcurrencyLimiter.LimiterStats stt = limiters.getStats(BulkheadRegistry.Dependency.GOOGLE_STT);
+        return stt != null ? stt.inFlight() + stt.waiting() : 0;
+    }
+
+    /**
+     * Follows the adaptive limit, so the threshold drops as Google pushes back
+     */
+    private int sttBacklogMax() {
+        AdaptiveConcurrencyLimiter.LimiterStats stt = limiters.getStats(BulkheadRegistry.Dependency.GOOGLE_STT);
+        return stt != null ? Math.max(1, (int) Math.ceil(stt.limit() * maxSttBacklogRatio)) : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Fraction of the Hikari pool currently checked out, counting threads waiting for a connection
+     * as fully used. Returns 0 when the pool is not Hikari or not started yet.
+     */
+    private double dbPoolUsage() {
+        if (!(dataSource.getIfAvailable() instanceof HikariDataSource hikari)) {
+            return 0.0;
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null || hikari.getMaximumPoolSize() <= 0) {
+            return 0.0;
+        }
+        if (pool.getThreadsAwaitingConnection() > 0) {
+            return 1.0;
+        }
+        return (double) pool.getActiveConnections() / hikari.getMaximumPoolSize();
+    }
+
+    public AdmissionStats getStats() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        decisions.forEach((decision, count) -> counts.put(decision.name(), count.sum()));
+        return new AdmissionStats(
+                enabled,
+                postCallProcessingService.queueDepth(),
+                maxPostCallQueue,
+                sttBacklog(),
+                sttBacklogMax(),
+                dbPoolUsage(),
+                maxDbPoolUsage,
+                counts
+        );
+    }
+
+    public record AdmissionStats(
+            boolean enabled,
+            int postCallQueueDepth,
+            int postCallQueueMax,
+            int sttBacklog,
+            int sttBacklogMax,
+            double dbPoolUsage,
+            double dbPoolUsageMax,
+            Map<String, Long> decisions
+    ) {}
+}
@@ -0,0 +1,84 @@
+package com.labourconnect.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of reusable byte buffers that recordings are downloaded into.
+ * A 30-second 8kHz LINEAR16 recording is ~480 KB; reusing buffers keeps these
+ * large short-lived arrays out of the young generation under concurrent calls.
+ *
+ * Buffers are lazily allocated up to app.stt.buffer.pool.size; when the pool is empty
+ * a one-off buffer is allocated and dropped on release.
+ */
+@Service
+@Slf4j
+public class AudioBufferPool {
+
+    @Value("${app.stt.buffer.size.bytes:1048576}")
+    private int bufferSize;
+
+    @Value("${app.stt.buffer.pool.size:32}")
+    private int poolSize;
+
+    private BlockingQueue<byte[]> free;
+
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder allocated = new LongAdder();
+    private final LongAdder oversized = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        free = new ArrayBlockingQueue<>(poolSize);
+        log.info("Audio buffer pool: {} buffers of {} KB", poolSize, bufferSize / 1024);
+    }
+
+    /**
+     * Takes a buffer of at least minSize bytes
+     */
+    public byte[] acquire(int minSize) {
+        if (minSize > bufferSize) {
+            oversized.increment();
+            return new byte[minSize];
+        }
+        byte[] buffer = free.poll();
+        if (buffer != null) {
+            reused.increment();
+            return buffer;
+        }
+        allocated.increment();
+        return new byte[bufferSize];
+    }
+
+    /**
+     * Returns a buffer to the pool. Buffers not of the pooled size are left to the GC.
+     */
+    public void release(byte[] buffer) {
+        if (buffer != null && buffer.length == bufferSize) {
+            free.offer(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public AudioBufferPoolStats getStats() {
+        return new AudioBufferPoolStats(poolSize, free.size(), bufferSize, reused.sum(), allocated.sum(), oversized.sum());
+    }
+
+    public record AudioBufferPoolStats(
+            int poolSize,
+            int free,
+            int bufferSize,
+            long reused,
+            long allocated,
+            long oversized
+    ) {}
+}
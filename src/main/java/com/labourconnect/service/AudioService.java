@@ -5,6 +5,7 @@ package com.labourconnect.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 /**
@@ -35,8 +36,6 @@ public class AudioService {
      * Check if audio file exists for given key and language
      */
     public boolean audioExists(String key, String language) {
-        // For simplicity, assume all audio files exist
-        // You could add actual file checking if needed
-        return true;
+        return new ClassPathResource(String.format("static/Audio/%s/%s.mp3", language, key)).exists();
     }
 }
\ No newline at end of file
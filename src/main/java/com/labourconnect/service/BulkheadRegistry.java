@@ -0,0 +1,190 @@
+package com.labourconnect.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Semaphore bulkheads per external dependency, so one slow dependency
+ * cannot tie up every worker (platform or virtual) in the process.
+ *
+ * Permits per dependency: app.bulkhead.{key}.permits
+ * Max time to wait for a permit: app.bulkhead.{key}.max-wait-ms
+ */
+@Service
+@Slf4j
+public class BulkheadRegistry {
+
+    public enum Dependency {
+        POSTGRES("postgres", 20),
+        GOOGLE_STT("google-stt", 32),
+        GROQ("groq", 8),
+        TWILIO_SMS("twilio-sms", 16),
+        KAFKA("kafka", 16);
+
+        private final String key;
+        private final int defaultPermits;
+
+        Dependency(String key, int defaultPermits) {
+            this.key = key;
+            this.defaultPermits = defaultPermits;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * Supplier that may throw a checked exception
+     */
+    @FunctionalInterface
+    public interface ThrowingSupplier<T, E extends Exception> {
+        T get() throws E;
+    }
+
+    /**
+     * Thrown when no permit becomes available within the configured wait time
+     */
+    public static class BulkheadFullException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public BulkheadFullException(Dependency dependency) {
+            super("Bulkhead full for " + dependency.getKey());
+        }
+    }
+
+    private final Map<Dependency, Bulkhead> bulkheads = new EnumMap<>(Dependency.class);
+
+    public BulkheadRegistry(Environment environment) {
+        for (Dependency dependency : Dependency.values()) {
+            int permits = environment.getProperty(
+                    "app.bulkhead." + dependency.getKey() + ".permits", Integer.class, dependency.defaultPermits);
+            long maxWaitMs = environment.getProperty(
+                    "app.bulkhead." + dependency.getKey() + ".max-wait-ms", Long.class, 5000L);
+            bulkheads.put(dependency, new Bulkhead(permits, maxWaitMs));
+            log.info("Bulkhead {}: {} permits, max wait {} ms", dependency.getKey(), permits, maxWaitMs);
+        }
+    }
+
+    /**
+     * Runs the task while holding a permit for the given dependency
+     *
+     * @throws BulkheadFullException if no permit is available within the max wait time
+     */
+    public <T, E extends Exception> T execute(Dependency dependency, ThrowingSupplier<T, E> task) throws E {
+        Bulkhead bulkhead = bulkheads.get(dependency);
+        bulkhead.acquire(dependency);
+        try {
+            return task.get();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Takes a permit only if one is free right now; release it with {@link #release(Dependency)}
+     */
+    public boolean tryAcquire(Dependency dependency) {
+        return bulkheads.get(dependency).tryAcquire();
+    }
+
+    public void release(Dependency dependency) {
+        bulkheads.get(dependency).release();
+    }
+
+    /**
+     * Number of callers currently holding a permit for the dependency
+     */
+    public int inUse(Dependency dependency) {
+        return bulkheads.get(dependency).inUse.get();
+    }
+
+    public Map<String, BulkheadStats> getStats() {
+        Map<String, BulkheadStats> stats = new LinkedHashMap<>();
+        bulkheads.forEach((dependency, bulkhead) -> stats.put(dependency.getKey(), bulkhead.stats()));
+        return stats;
+    }
+
+    public record BulkheadStats(
+            int permits,
+            int inUse,
+            int maxInUse,
+            int waiting,
+            double saturation,
+            long acquired,
+            long rejected,
+            double averageWaitMs
+    ) {}
+
+    private static class Bulkhead {
+        private final Semaphore semaphore;
+        private final int permits;
+        private final long maxWaitMs;
+        private final AtomicInteger inUse = new AtomicInteger();
+        private final AtomicInteger maxInUse = new AtomicInteger();
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder totalWaitMs = new LongAdder();
+
+        Bulkhead(int permits, long maxWaitMs) {
+            this.semaphore = new Semaphore(permits, true);
+            this.permits = permits;
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        void acquire(Dependency dependency) {
+            long start = System.currentTimeMillis();
+            try {
+                if (!semaphore.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                    rejected.increment();
+                    log.warn("Bulkhead {} saturated ({} permits), rejecting call", dependency.getKey(), permits);
+                    throw new BulkheadFullException(dependency);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected.increment();
+                throw new BulkheadFullException(dependency);
+            }
+            totalWaitMs.add(System.currentTimeMillis() - start);
+            acquired.increment();
+            maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+        }
+
+        boolean tryAcquire() {
+            if (!semaphore.tryAcquire()) {
+                return false;
+            }
+            acquired.increment();
+            maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+            return true;
+        }
+
+        void release() {
+            inUse.decrementAndGet();
+            semaphore.release();
+        }
+
+        BulkheadStats stats() {
+            long count = acquired.sum();
+            return new BulkheadStats(
+                    permits,
+                    inUse.get(),
+                    maxInUse.get(),
+                    semaphore.getQueueLength(),
+                    (double) inUse.get() / permits,
+                    count,
+                    rejected.sum(),
+                    count > 0 ? (double) totalWaitMs.sum() / count : 0.0
+            );
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.SessionField;
+
+import java.util.Map;
+
+/**
+ * Turns the transcripts of a finished call into the fields we store and match on:
+ * a canonical skill, a normalized place with coordinates and a spoken wage.
+ * Select the implementation with app.extraction.mode=groq|local.
+ *
+ * Transcripts that are {@link TranscriptionService#UNKNOWN} or {@link TranscriptionService#UNTRANSCRIBED}
+ * are passed through unchanged, so the pending-transcription retry still recognizes them.
+ */
+public interface CallDetailsExtractor {
+
+    /**
+     * Daily wages outside this range are treated as misheard
+     */
+    int MIN_WAGE = 50;
+    int MAX_WAGE = 100_000;
+
+    /**
+     * @param transcripts by field; the skill is WORK_EXPERTISE for workers and TYPE_OF_WORK for employers
+     */
+    CallDetails extract(String callSid, Map<SessionField, String> transcripts);
+
+    ExtractionStats getStats();
+
+    /**
+     * @param skillId   {@link com.labourconnect.dto.Skill} id, or null if the skill is not a menu trade
+     * @param latitude  0.0 with longitude 0.0 when the place could not be resolved
+     * @param wage      rupees per day, or null if none was spoken
+     * @param source    groq or local
+     */
+    record CallDetails(
+            String skill,
+            String skillId,
+            String location,
+            double latitude,
+            double longitude,
+            Integer wage,
+            String source
+    ) {}
+
+    /**
+     * @param requests  Groq requests sent; the other extractions were answered locally
+     * @param fallbacks calls the Groq implementation handed to the local one after a failed request
+     */
+    record ExtractionStats(
+            String mode,
+            long extractions,
+            long requests,
+            long fallbacks,
+            double averageLatencyMs
+    ) {}
+
+    static String skillTranscript(Map<SessionField, String> transcripts) {
+        String skill = transcripts.get(SessionField.WORK_EXPERTISE);
+        return skill != null ? skill : transcripts.get(SessionField.TYPE_OF_WORK);
+    }
+
+    static boolean isPlaceholder(String transcript) {
+        return transcript == null || TranscriptionService.UNKNOWN.equals(transcript)
+                || TranscriptionService.UNTRANSCRIBED.equals(transcript);
+    }
+
+    static Integer validWage(long wage) {
+        return wage >= MIN_WAGE && wage <= MAX_WAGE ? (int) wage : null;
+    }
+}
@@ -0,0 +1,407 @@
+package com.labourconnect.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory index of phone numbers that have registered as a worker or posted a job,
+ * so the welcome webhook can recognize returning callers without a database round-trip.
+ *
+ * Numbers are stored as E.164 digits in a sorted long[] with a parallel byte[] of
+ * language and role bits (about 9 bytes per caller). A Bloom filter answers most
+ * unknown numbers without the binary search. Registrations since the last compaction
+ * live in a small overflow map, checked first, and are merged into a new snapshot periodically.
+ * A number whose last registration or job was deleted stays in the overflow map without role bits
+ * until the next compaction drops it.
+ *
+ * Rows inserted by other replicas are picked up by id every app.ivr.caller.registry.sync.ms. The row
+ * count is compared with the database at the same time, and a mismatch (deletes elsewhere, or rows
+ * committed out of id order) reloads the whole registry.
+ */
+@Service
+@Slf4j
+public class CallerRegistry {
+
+    public static final int ROLE_WORKER = 1 << 2;
+    public static final int ROLE_EMPLOYER = 1 << 3;
+    private static final int LANGUAGE_MASK = 0b11;
+    private static final int ROLE_MASK = ROLE_WORKER | ROLE_EMPLOYER;
+
+    private static final int BLOOM_HASHES = 7;
+    private static final int BLOOM_BITS_PER_ENTRY = 10; // ~1% false positives at 7 hashes
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.ivr.caller.registry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.ivr.caller.registry.compact.threshold:1024}")
+    private int compactThreshold;
+
+    private volatile Snapshot snapshot = Snapshot.build(new long[0], new byte[0]);
+    private final Map<Long, Byte> overflow = new ConcurrentHashMap<>();
+
+    // Highest ids and number of rows loaded from the database; guarded by this
+    private long maxLabourId;
+    private long maxWorkId;
+    private long loadedRows;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder bloomRejections = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    public CallerRegistry(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A known caller: language index as in {@link TwimlTemplateCache#LANGUAGES} and role bits
+     */
+    public record Caller(String language, boolean worker, boolean employer) {}
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    private synchronized void reload() {
+        long start = System.currentTimeMillis();
+        // The reload supersedes these; anything registered while it runs stays in the overflow map
+        Map<Long, Byte> superseded = new HashMap<>(overflow);
+        Map<Long, Byte> callers = new HashMap<>();
+        long[] labour = {0, 0};
+        long[] work = {0, 0};
+        // Ordered by date so the most recent registration's language wins
+        jdbcTemplate.query("SELECT labour_id, phone_no, language_preference FROM labour ORDER BY registration_date",
+                rs -> {
+                    labour[0] = Math.max(labour[0], rs.getLong(1));
+                    labour[1]++;
+                    merge(callers, rs.getString(2), rs.getString(3), ROLE_WORKER);
+                });
+        jdbcTemplate.query("SELECT work_id, phone_no, language_preference FROM work ORDER BY posted_date",
+                rs -> {
+                    work[0] = Math.max(work[0], rs.getLong(1));
+                    work[1]++;
+                    merge(callers, rs.getString(2), rs.getString(3), ROLE_EMPLOYER);
+                });
+
+        long[] phones = callers.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        byte[] info = new byte[phones.length];
+        for (int i = 0; i < phones.length; i++) {
+            info[i] = callers.get(phones[i]);
+        }
+        snapshot = Snapshot.build(phones, info);
+        superseded.forEach(overflow::remove);
+        maxLabourId = labour[0];
+        maxWorkId = work[0];
+        loadedRows = labour[1] + work[1];
+        reloads.increment();
+        log.info("✅ Caller registry loaded {} numbers in {} ms", phones.length, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Records a registration or job posting so the number is recognized on its next call
+     */
+    public void register(String phoneNo, String language, int role) {
+        long phone = toKey(phoneNo);
+        if (!enabled || phone < 0) {
+            return;
+        }
+        int added = languageBits(language) | role;
+        overflow.compute(phone, (key, old) -> {
+            int roles = (old != null ? old : snapshotInfo(phone)) & ROLE_MASK;
+            return (byte) (roles | added);
+        });
+
+        if (overflow.size() >= compactThreshold) {
+            compact();
+        }
+    }
+
+    /**
+     * Re-reads a number's roles after one of its registrations or jobs was deleted.
+     * A number with neither left is no longer recognized.
+     *
+     * @param role  {@link #ROLE_WORKER} for a labour row, {@link #ROLE_EMPLOYER} for a work row
+     * @param rowId id of the deleted row
+     */
+    public synchronized void unregister(String phoneNo, int role, long rowId) {
+        long phone = toKey(phoneNo);
+        if (!enabled || phone < 0) {
+            return;
+        }
+        Map<Long, Byte> remaining = new HashMap<>();
+        try {
+            jdbcTemplate.query("SELECT phone_no, language_preference, role FROM ("
+                            + "SELECT phone_no, language_preference, registration_date AS at, " + ROLE_WORKER + " AS role "
+                            + "FROM labour WHERE phone_no = ? UNION ALL "
+                            + "SELECT phone_no, language_preference, posted_date, " + ROLE_EMPLOYER + " "
+                            + "FROM work WHERE phone_no = ?) r ORDER BY at",
+                    rs -> { merge(remaining, rs.getString(1), rs.getString(2), rs.getInt(3)); },
+                    phoneNo, phoneNo);
+        } catch (DataAccessException e) {
+            // Loaded rows stay ahead of the table, so the next sync reloads
+            log.warn("⚠️ Could not refresh caller {} after delete: {}", phoneNo, e.getMessage());
+            return;
+        }
+        overflow.put(phone, remaining.getOrDefault(phone, (byte) 0));
+        if (rowId <= (role == ROLE_WORKER ? maxLabourId : maxWorkId)) {
+            loadedRows--;
+        }
+    }
+
+    /**
+     * Picks up registrations and jobs inserted by other replicas, and reloads everything
+     * if the row count no longer matches the database
+     */
+    @Scheduled(fixedDelayString = "${app.ivr.caller.registry.sync.ms:60000}",
+            initialDelayString = "${app.ivr.caller.registry.sync.ms:60000}")
+    public synchronized void sync() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            maxLabourId = loadSince("labour", "labour_id", maxLabourId, ROLE_WORKER);
+            maxWorkId = loadSince("work", "work_id", maxWorkId, ROLE_EMPLOYER);
+            Long rows = jdbcTemplate.queryForObject(
+                    "SELECT (SELECT COUNT(*) FROM labour) + (SELECT COUNT(*) FROM work)", Long.class);
+            if (rows != null && rows != loadedRows) {
+                log.warn("⚠️ Caller registry has {} rows, database {}; reloading", loadedRows, rows);
+                reload();
+            }
+        } catch (DataAccessException e) {
+            log.warn("⚠️ Caller registry sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Registers rows with an id above afterId, in id order
+     *
+     * @return the highest id seen
+     */
+    private long loadSince(String table, String idColumn, long afterId, int role) {
+        long[] maxId = {afterId};
+        jdbcTemplate.query("SELECT " + idColumn + ", phone_no, language_preference FROM " + table
+                        + " WHERE " + idColumn + " > ? ORDER BY " + idColumn,
+                rs -> {
+                    maxId[0] = rs.getLong(1);
+                    loadedRows++;
+                    register(rs.getString(2), rs.getString(3), role);
+                }, afterId);
+        return maxId[0];
+    }
+
+    private int snapshotInfo(long phone) {
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.phones, phone);
+        return index >= 0 ? current.info[index] : 0;
+    }
+
+    /**
+     * @return the caller, or null if the number never registered or posted a job
+     */
+    public Caller lookup(String phoneNo) {
+        long phone = toKey(phoneNo);
+        if (!enabled || phone < 0) {
+            return null;
+        }
+        lookups.increment();
+
+        // Recent registrations first: they are not in the snapshot's Bloom filter yet
+        Byte recent = overflow.get(phone);
+        int info;
+        if (recent != null) {
+            if ((recent & ROLE_MASK) == 0) {
+                return null;
+            }
+            info = recent;
+        } else {
+            Snapshot current = snapshot;
+            if (!current.bloomMightContain(phone)) {
+                bloomRejections.increment();
+                return null;
+            }
+            int index = Arrays.binarySearch(current.phones, phone);
+            if (index < 0) {
+                return null;
+            }
+            info = current.info[index];
+        }
+        hits.increment();
+        return new Caller(TwimlTemplateCache.LANGUAGES[Math.min(info & LANGUAGE_MASK, 2)],
+                (info & ROLE_WORKER) != 0, (info & ROLE_EMPLOYER) != 0);
+    }
+
+    /**
+     * Merges the overflow map into a new sorted snapshot with a freshly sized Bloom filter.
+     * Numbers left without a role are dropped.
+     */
+    @Scheduled(fixedDelayString = "${app.ivr.caller.registry.compact.interval.ms:60000}")
+    public synchronized void compact() {
+        if (overflow.isEmpty()) {
+            return;
+        }
+        Snapshot current = snapshot;
+        Map<Long, Byte> added = new HashMap<>(overflow);
+
+        long[] addedPhones = added.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+
+        // Linear merge of two sorted runs; an added entry replaces an existing one
+        long[] phones = new long[current.phones.length + addedPhones.length];
+        byte[] info = new byte[phones.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < current.phones.length || j < addedPhones.length) {
+            if (j == addedPhones.length
+                    || (i < current.phones.length && current.phones[i] < addedPhones[j])) {
+                phones[size] = current.phones[i];
+                info[size++] = current.info[i++];
+            } else {
+                if (i < current.phones.length && current.phones[i] == addedPhones[j]) {
+                    i++;
+                }
+                byte addedInfo = added.get(addedPhones[j]);
+                if ((addedInfo & ROLE_MASK) != 0) {
+                    phones[size] = addedPhones[j];
+                    info[size++] = addedInfo;
+                }
+                j++;
+            }
+        }
+
+        snapshot = Snapshot.build(Arrays.copyOf(phones, size), Arrays.copyOf(info, size));
+        // Entries changed again during the merge stay in the overflow map
+        added.forEach(overflow::remove);
+        log.debug("Caller registry compacted to {} numbers", size);
+    }
+
+    /**
+     * E.164 number as a long ("+919876543210" -> 919876543210), or -1 if it is not one
+     */
+    static long toKey(String phoneNo) {
+        if (phoneNo == null) {
+            return -1;
+        }
+        long key = 0;
+        int digits = 0;
+        for (int i = 0; i < phoneNo.length(); i++) {
+            char c = phoneNo.charAt(i);
+            if (c >= '0' && c <= '9') {
+                key = key * 10 + (c - '0');
+                digits++;
+            } else if (c != '+' || i != 0) {
+                return -1;
+            }
+        }
+        return digits > 0 && digits <= 15 ? key : -1;
+    }
+
+    private static void merge(Map<Long, Byte> callers, String phoneNo, String language, int role) {
+        long phone = toKey(phoneNo);
+        if (phone >= 0) {
+            callers.merge(phone, (byte) (languageBits(language) | role),
+                    (old, added) -> (byte) ((old & ~LANGUAGE_MASK) | added));
+        }
+    }
+
+    private static int languageBits(String language) {
+        return TwimlTemplateCache.languageIndex(language);
+    }
+
+    public CallerRegistryStats getStats() {
+        Snapshot current = snapshot;
+        long count = lookups.sum();
+        return new CallerRegistryStats(
+                current.phones.length,
+                overflow.size(),
+                current.bloomBits / 8,
+                count,
+                hits.sum(),
+                bloomRejections.sum(),
+                count > 0 ? (double) bloomRejections.sum() / count : 0.0,
+                reloads.sum()
+        );
+    }
+
+    public record CallerRegistryStats(
+            int indexedNumbers,
+            int pendingNumbers,
+            long bloomFilterBytes,
+            long lookups,
+            long knownCallers,
+            long bloomRejections,
+            double bloomRejectionRate,
+            long reloads
+    ) {}
+
+    /**
+     * Immutable sorted arrays plus a Bloom filter over them
+     */
+    private static final class Snapshot {
+        private final long[] phones;
+        private final byte[] info;
+        private final long[] bloom;
+        private final int bloomBits;
+
+        private Snapshot(long[] phones, byte[] info) {
+            this.phones = phones;
+            this.info = info;
+            this.bloomBits = Math.max(1024, phones.length * BLOOM_BITS_PER_ENTRY);
+            this.bloom = new long[(bloomBits + 63) / 64];
+        }
+
+        static Snapshot build(long[] phones, byte[] info) {
+            Snapshot snapshot = new Snapshot(phones, info);
+            for (long phone : phones) {
+                long hash = mix(phone);
+                for (int i = 0; i < BLOOM_HASHES; i++) {
+                    int bit = snapshot.bit(hash, i);
+                    snapshot.bloom[bit >>> 6] |= 1L << bit;
+                }
+            }
+            return snapshot;
+        }
+
+        boolean bloomMightContain(long phone) {
+            long hash = mix(phone);
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                int bit = bit(hash, i);
+                if ((bloom[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * i-th probe by double hashing over the two halves of the mixed key
+         */
+        private int bit(long hash, int i) {
+            return Math.floorMod((int) hash + i * (int) (hash >>> 32), bloomBits);
+        }
+
+        /**
+         * SplitMix64 finalizer; phone numbers share long prefixes, so they need mixing before hashing
+         */
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
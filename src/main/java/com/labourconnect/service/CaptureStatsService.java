@@ -0,0 +1,93 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.CaptureStrategy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares capture strategies side by side.
+ * Latency is measured from the moment the answer reaches us (recording webhook, last streamed frame)
+ * until its transcript is available. Twilio recognizes Gather speech before its webhook arrives, so
+ * Gather answers carry no latency we could compare. Without ground truth, accuracy is approximated
+ * by the share of answers that produced a usable transcript and by the recognizer's confidence
+ * where it reports one.
+ */
+@Service
+@RequiredArgsConstructor
+public class CaptureStatsService {
+
+    private final WebSocketLogService webSocketLogService;
+
+    private final Map<CaptureStrategy, Counters> counters = new EnumMap<>(CaptureStrategy.class);
+
+    {
+        for (CaptureStrategy strategy : CaptureStrategy.values()) {
+            counters.put(strategy, new Counters());
+        }
+    }
+
+    /**
+     * @param latencyMs  a negative value when the latency cannot be measured
+     * @param confidence 0..1, or a negative value when the recognizer did not report one
+     */
+    public void record(String callSid, String field, CaptureStrategy strategy, String transcript,
+                       long latencyMs, double confidence) {
+        boolean recognized = transcript != null
+                && !TranscriptionService.UNKNOWN.equals(transcript)
+                && !TranscriptionService.UNTRANSCRIBED.equals(transcript);
+
+        Counters c = counters.get(strategy);
+        c.answers.increment();
+        if (latencyMs >= 0) {
+            c.withLatency.increment();
+            c.totalLatencyMs.add(latencyMs);
+        }
+        if (recognized) {
+            c.recognized.increment();
+        }
+        if (confidence >= 0) {
+            c.withConfidence.increment();
+            c.totalConfidence.add(confidence);
+        }
+
+        webSocketLogService.logCaptureResult(callSid, field, strategy.name().toLowerCase(), latencyMs,
+                confidence, recognized);
+    }
+
+    public Map<CaptureStrategy, CaptureStats> getStats() {
+        Map<CaptureStrategy, CaptureStats> stats = new EnumMap<>(CaptureStrategy.class);
+        counters.forEach((strategy, c) -> {
+            long answers = c.answers.sum();
+            long withLatency = c.withLatency.sum();
+            long withConfidence = c.withConfidence.sum();
+            stats.put(strategy, new CaptureStats(
+                    answers,
+                    answers > 0 ? (double) c.recognized.sum() / answers : 0.0,
+                    withLatency > 0 ? (double) c.totalLatencyMs.sum() / withLatency : null,
+                    withConfidence > 0 ? c.totalConfidence.sum() / withConfidence : null
+            ));
+        });
+        return stats;
+    }
+
+    private static final class Counters {
+        private final LongAdder answers = new LongAdder();
+        private final LongAdder recognized = new LongAdder();
+        private final LongAdder withLatency = new LongAdder();
+        private final LongAdder totalLatencyMs = new LongAdder();
+        private final LongAdder withConfidence = new LongAdder();
+        private final DoubleAdder totalConfidence = new DoubleAdder();
+    }
+
+    public record CaptureStats(
+            long answers,
+            double recognizedRate,
+            Double averageLatencyMs,
+            Double averageConfidence
+    ) {}
+}
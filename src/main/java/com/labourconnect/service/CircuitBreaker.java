@@ -0,0 +1,125 @@
+package com.labourconnect.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count-based circuit breaker. Opens after a run of consecutive failures,
+ * fails fast while open, and lets a single trial call through once the open period has passed.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Thrown instead of calling the dependency while the breaker is open
+     */
+    public static class CircuitOpenException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public CircuitOpenException(String name) {
+            super("Circuit breaker open for " + name);
+        }
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Checks whether a call may proceed, moving OPEN to HALF_OPEN once the open period is over
+     *
+     * @throws CircuitOpenException if the call must not be made
+     */
+    public synchronized void acquire() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+            log.info("Circuit breaker {} half-open, allowing a trial call", name);
+        }
+
+        if (state == State.OPEN || (state == State.HALF_OPEN && trialInFlight)) {
+            shortCircuited.increment();
+            throw new CircuitOpenException(name);
+        }
+        if (state == State.HALF_OPEN) {
+            trialInFlight = true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        successes.increment();
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            log.info("✅ Circuit breaker {} closed", name);
+        }
+        state = State.CLOSED;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        failures.increment();
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            trialInFlight = false;
+            opened.increment();
+            log.warn("⚠️ Circuit breaker {} opened after {} consecutive failures", name, consecutiveFailures);
+        }
+    }
+
+    /**
+     * Ends a call that never reached the dependency (e.g. rejected by a local bulkhead) without counting it
+     * either way; a half-open trial slot is handed to the next caller
+     */
+    public synchronized void onIgnored() {
+        trialInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized CircuitBreakerStats getStats() {
+        return new CircuitBreakerStats(
+                state.name(),
+                consecutiveFailures,
+                successes.sum(),
+                failures.sum(),
+                shortCircuited.sum(),
+                opened.sum()
+        );
+    }
+
+    public record CircuitBreakerStats(
+            String state,
+            int consecutiveFailures,
+            long successes,
+            long failures,
+            long shortCircuited,
+            long timesOpened
+    ) {}
+}
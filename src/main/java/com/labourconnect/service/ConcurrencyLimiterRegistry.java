@@ -0,0 +1,98 @@
+package com.labourconnect.service;
+
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static com.labourconnect.service.BulkheadRegistry.Dependency;
+
+/**
+ * Adaptive concurrency limiters for the rate-limited external APIs (Google STT, Groq, Twilio SMS).
+ * The limiter sits in front of the dependency's bulkhead: the bulkhead is the hard cap,
+ * the limiter finds the concurrency the remote side currently accepts.
+ *
+ * Per dependency: app.limiter.{key}.initial, .min, .max, .latency-target-ms, .backoff-ratio
+ */
+@Service
+@Slf4j
+public class ConcurrencyLimiterRegistry {
+
+    private final Map<Dependency, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(Dependency.class);
+
+    public ConcurrencyLimiterRegistry(Environment environment) {
+        register(environment, Dependency.GOOGLE_STT, 8, 2000, ConcurrencyLimiterRegistry::isResourceExhausted);
+        register(environment, Dependency.GROQ, 4, 3000, e -> e instanceof GroqService.RateLimitedException);
+        register(environment, Dependency.TWILIO_SMS, 4, 2000, ConcurrencyLimiterRegistry::isTooManyRequests);
+    }
+
+    private void register(Environment environment, Dependency dependency, int defaultInitial,
+                          long defaultLatencyTargetMs, Predicate<Throwable> isOverload) {
+        String prefix = "app.limiter." + dependency.getKey() + ".";
+        int initial = environment.getProperty(prefix + "initial", Integer.class, defaultInitial);
+        int min = environment.getProperty(prefix + "min", Integer.class, 1);
+        int max = environment.getProperty(prefix + "max", Integer.class,
+                environment.getProperty("app.bulkhead." + dependency.getKey() + ".permits", Integer.class,
+                        defaultInitial * 4));
+        long latencyTargetMs = environment.getProperty(prefix + "latency-target-ms", Long.class, defaultLatencyTargetMs);
+        double backoffRatio = environment.getProperty(prefix + "backoff-ratio", Double.class, 0.5);
+
+        limiters.put(dependency, new AdaptiveConcurrencyLimiter(
+                dependency.getKey(), initial, min, max, latencyTargetMs, backoffRatio, isOverload));
+        log.info("Concurrency limiter {}: initial {}, range [{}, {}], latency target {} ms",
+                dependency.getKey(), initial, min, max, latencyTargetMs);
+    }
+
+    /**
+     * Runs the task under the dependency's adaptive limit
+     */
+    public <T, E extends Exception> T execute(Dependency dependency, BulkheadRegistry.ThrowingSupplier<T, E> task)
+            throws E {
+        AdaptiveConcurrencyLimiter limiter = limiters.get(dependency);
+        return limiter != null ? limiter.execute(task) : task.get();
+    }
+
+    /**
+     * Takes a slot under the dependency's limit without waiting
+     *
+     * @return the slot, or null if the limit is reached; dependencies without a limiter always get one
+     */
+    public AdaptiveConcurrencyLimiter.Permit tryAcquire(Dependency dependency) {
+        AdaptiveConcurrencyLimiter limiter = limiters.get(dependency);
+        return limiter != null ? limiter.tryAcquire() : error -> { };
+    }
+
+    /**
+     * @return the dependency's current limit and queue, or null if it has no limiter
+     */
+    public AdaptiveConcurrencyLimiter.LimiterStats getStats(Dependency dependency) {
+        AdaptiveConcurrencyLimiter limiter = limiters.get(dependency);
+        return limiter != null ? limiter.getStats() : null;
+    }
+
+    public Map<String, AdaptiveConcurrencyLimiter.LimiterStats> getStats() {
+        Map<String, AdaptiveConcurrencyLimiter.LimiterStats> stats = new LinkedHashMap<>();
+        limiters.forEach((dependency, limiter) -> stats.put(dependency.getKey(), limiter.getStats()));
+        return stats;
+    }
+
+    private static boolean isResourceExhausted(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ApiException api && api.getStatusCode().getCode() == StatusCode.Code.RESOURCE_EXHAUSTED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTooManyRequests(Throwable e) {
+        return e instanceof com.twilio.exception.ApiException api
+                && api.getStatusCode() != null && api.getStatusCode() == 429;
+    }
+}
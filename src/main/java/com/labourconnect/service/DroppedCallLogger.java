@@ -0,0 +1,36 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.IVRSessionDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import static com.labourconnect.service.BulkheadRegistry.Dependency.POSTGRES;
+
+/**
+ * Records evicted IVR sessions as dropped calls
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DroppedCallLogger implements SessionStore.EvictionListener {
+
+    private final CallLogService callLogService;
+    private final WebSocketLogService webSocketLogService;
+    private final BulkheadRegistry bulkheads;
+
+    @Override
+    public void onEvicted(IVRSessionDTO session, SessionStore.EvictionReason reason) {
+        int duration = (int) ((session.getLastAccessTime() - session.getStartTime()) / 1000);
+        log.info("Call dropped ({}) - CallSid: {}, step: {}", reason, session.getCallSid(), session.getCurrentStep());
+
+        bulkheads.execute(POSTGRES, () -> callLogService.logCall(
+                session.getPhoneNo(),
+                session.getCallPurpose(),
+                session.getLanguagePreference(),
+                Math.max(duration, 0),
+                "dropped"
+        ));
+        webSocketLogService.logCallDropped(session.getCallSid(), reason.name());
+    }
+}
@@ -0,0 +1,320 @@
+package com.labourconnect.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Offline place lookup for spoken locations, loaded from gazetteer/places.csv.
+ *
+ * A transcript is normalized (lower case, punctuation and filler words removed) and matched
+ * exactly against every name and alias, first as a whole and then word by word. If that fails,
+ * the closest alias within a small edit distance wins, so "Mysuru" and "Maisur" both
+ * resolve to Mysore. Aliases learned from Groq geocoding answers are kept in learned_place_aliases;
+ * at most app.geo.learned.max.entries of them are held in memory, newest first.
+ */
+@Service
+@Slf4j
+public class Gazetteer {
+
+    private static final String RESOURCE = "gazetteer/places.csv";
+    private static final int MAX_ALIAS_LENGTH = 48;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    // Words callers wrap around a place name ("I am in Hubli city")
+    private static final Set<String> FILLER = Set.of(
+            "i", "am", "is", "in", "at", "near", "the", "from", "my", "place", "area", "city", "town",
+            "district", "village", "side", "location", "live", "stay", "work", "it", "its");
+
+    public record Place(String name, double latitude, double longitude) {}
+
+    /**
+     * @param distance edit distance between the matched alias and the spoken text, 0 for exact matches
+     */
+    public record Match(Place place, String alias, int distance, boolean learned) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.geo.learned.enabled:true}")
+    private boolean learnedEnabled;
+
+    @Value("${app.geo.learned.max.entries:10000}")
+    private int maxLearned;
+
+    private final Map<String, Place> aliases = new HashMap<>();
+    private final List<List<String>> aliasesByLength = new ArrayList<>(MAX_ALIAS_LENGTH + 1);
+    private final List<Place> places = new ArrayList<>();
+    private volatile Map<String, Place> learned = new ConcurrentHashMap<>();
+
+    public Gazetteer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        for (int i = 0; i <= MAX_ALIAS_LENGTH; i++) {
+            aliasesByLength.add(new ArrayList<>());
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(RESOURCE).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",", -1);
+                Place place = new Place(columns[0].trim(),
+                        Double.parseDouble(columns[1].trim()), Double.parseDouble(columns[2].trim()));
+                places.add(place);
+                addAlias(place.name(), place);
+                if (columns.length > 3) {
+                    for (String alias : columns[3].split("\\|")) {
+                        addAlias(alias, place);
+                    }
+                }
+            }
+        }
+        log.info("✅ Gazetteer loaded {} places with {} names and aliases", places.size(), aliases.size());
+
+        if (learnedEnabled) {
+            // learned_place_aliases is created by schema.sql
+            reloadLearned();
+        }
+    }
+
+    /**
+     * Picks up aliases learned by other replicas
+     */
+    @Scheduled(fixedDelayString = "${app.geo.learned.refresh.ms:600000}",
+            initialDelayString = "${app.geo.learned.refresh.ms:600000}")
+    public void reloadLearned() {
+        if (!learnedEnabled) {
+            return;
+        }
+        Map<String, Place> loaded = new ConcurrentHashMap<>();
+        jdbcTemplate.query("SELECT alias, name, latitude, longitude FROM learned_place_aliases " +
+                        "ORDER BY created_at DESC LIMIT ?",
+                rs -> { loaded.put(rs.getString(1), new Place(rs.getString(2), rs.getDouble(3), rs.getDouble(4))); },
+                maxLearned);
+        learned = loaded;
+        log.debug("Gazetteer has {} learned aliases", loaded.size());
+    }
+
+    /**
+     * Resolves a spoken location to a known place, or null if nothing is close enough
+     */
+    public Match lookup(String location) {
+        List<String> words = words(location);
+        if (words.isEmpty()) {
+            return null;
+        }
+
+        // Exact: whole phrase, then word pairs ("electronic city"), then single words
+        List<String> candidates = candidates(words);
+        for (String candidate : candidates) {
+            Place place = aliases.get(candidate);
+            if (place != null) {
+                return new Match(place, candidate, 0, false);
+            }
+            place = learned.get(candidate);
+            if (place != null) {
+                return new Match(place, candidate, 0, true);
+            }
+        }
+
+        // Fuzzy: closest alias within the allowed distance for the candidate's length
+        Match best = null;
+        for (String candidate : candidates) {
+            int maxDistance = maxDistance(candidate.length());
+            if (maxDistance == 0) {
+                continue;
+            }
+            int from = Math.max(1, candidate.length() - maxDistance);
+            int to = Math.min(MAX_ALIAS_LENGTH, candidate.length() + maxDistance);
+            for (int length = from; length <= to; length++) {
+                for (String alias : aliasesByLength.get(length)) {
+                    int limit = best != null ? Math.min(maxDistance, best.distance() - 1) : maxDistance;
+                    int distance = editDistance(candidate, alias, limit);
+                    if (distance <= limit) {
+                        best = new Match(aliases.get(alias), alias, distance, false);
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Remembers a spoken form that a Groq geocoding request confirmed, so the next caller who says it
+     * is answered offline. Once the in-memory limit is reached new aliases are only persisted, and
+     * the next reload keeps the newest.
+     */
+    public void learn(String location, Place place) {
+        String key = String.join(" ", words(location));
+        if (key.isEmpty() || key.length() > 100 || aliases.containsKey(key)) {
+            return;
+        }
+        Map<String, Place> current = learned;
+        if (current.size() < maxLearned || current.containsKey(key)) {
+            current.put(key, place);
+        }
+        if (learnedEnabled) {
+            try {
+                jdbcTemplate.update("INSERT INTO learned_place_aliases (alias, name, latitude, longitude) " +
+                                "VALUES (?, ?, ?, ?) ON CONFLICT (alias) DO NOTHING",
+                        key, place.name(), place.latitude(), place.longitude());
+            } catch (DataAccessException e) {
+                log.warn("Failed to persist learned place alias '{}': {}", key, e.getMessage());
+            }
+        }
+        log.info("📍 Learned place alias '{}' -> {}", key, place.name());
+    }
+
+    /**
+     * Closest bundled place within maxKm of the coordinates, or null
+     */
+    public Place nearest(double latitude, double longitude, double maxKm) {
+        Place nearest = null;
+        double nearestKm = maxKm;
+        for (Place place : places) {
+            double km = distanceKm(latitude, longitude, place.latitude(), place.longitude());
+            if (km <= nearestKm) {
+                nearest = place;
+                nearestKm = km;
+            }
+        }
+        return nearest;
+    }
+
+    public int placeCount() {
+        return places.size();
+    }
+
+    public int learnedCount() {
+        return learned.size();
+    }
+
+    private void addAlias(String alias, Place place) {
+        String key = String.join(" ", words(alias));
+        if (key.isEmpty() || key.length() > MAX_ALIAS_LENGTH) {
+            return;
+        }
+        if (aliases.putIfAbsent(key, place) == null) {
+            aliasesByLength.get(key.length()).add(key);
+        }
+    }
+
+    /**
+     * Lower-cased words with punctuation and filler removed. Combining marks are kept so
+     * Kannada and Devanagari spellings survive.
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        StringBuilder word = new StringBuilder();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            int type = Character.getType(c);
+            if (Character.isLetterOrDigit(c) || type == Character.NON_SPACING_MARK
+                    || type == Character.COMBINING_SPACING_MARK) {
+                word.append(c);
+            } else if (!word.isEmpty()) {
+                String w = word.toString();
+                if (!FILLER.contains(w)) {
+                    words.add(w);
+                }
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    private static List<String> candidates(List<String> words) {
+        List<String> candidates = new ArrayList<>();
+        candidates.add(String.join(" ", words));
+        if (words.size() > 1) {
+            for (int i = 0; i + 1 < words.size(); i++) {
+                candidates.add(words.get(i) + " " + words.get(i + 1));
+            }
+            candidates.addAll(words);
+        }
+        return candidates;
+    }
+
+    private static int maxDistance(int length) {
+        if (length <= 4) {
+            return 0;
+        }
+        return length <= 7 ? 1 : 2;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions),
+     * giving up as soon as it must exceed limit
+     *
+     * @return the distance, or limit + 1 if it is larger than limit
+     */
+    static int editDistance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], limit + 1);
+    }
+
+    static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(h));
+    }
+}
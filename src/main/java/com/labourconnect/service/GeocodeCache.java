@@ -0,0 +1,222 @@
+package com.labourconnect.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache of Groq geocoding answers, keyed by the normalized location ("near Hubli city" -> "hubli").
+ *
+ * Tiers: an in-memory LRU, plus a Postgres table shared by all replicas (app.geo.cache.persistent).
+ * Concurrent lookups for the same location share one Groq call. The {0.0, 0.0} failure answer is
+ * only kept in memory, for app.geo.cache.negative.ttl.seconds, so an outage is not remembered for long.
+ */
+@Service
+@Slf4j
+public class GeocodeCache {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.geo.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.geo.cache.persistent:true}")
+    private boolean persistent;
+
+    @Value("${app.geo.cache.ttl.seconds:2592000}") // 30 days; towns don't move
+    private long ttlSeconds;
+
+    @Value("${app.geo.cache.negative.ttl.seconds:300}")
+    private long negativeTtlSeconds;
+
+    @Value("${app.geo.cache.max.entries:5000}")
+    private int maxEntries;
+
+    private TtlLruCache<String, double[]> memory;
+    private final Map<String, CompletableFuture<double[]>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder persistentHits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public GeocodeCache(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        memory = new TtlLruCache<>(maxEntries, TimeUnit.SECONDS.toMillis(ttlSeconds));
+
+        if (enabled && persistent) {
+            // The table is created by schema.sql
+            log.info("✅ Persistent geocode cache initialized (table geocode_cache)");
+        }
+    }
+
+    /**
+     * Cache key for a spoken location: lower-cased words without punctuation or filler
+     */
+    public static String key(String location) {
+        return String.join(" ", Gazetteer.words(location));
+    }
+
+    /**
+     * Returns the cached coordinates for the location, or runs the geocoder once and caches its answer.
+     * Concurrent requests for the same location share a single geocoder call.
+     */
+    public double[] getOrResolve(String location, Supplier<double[]> geocoder) {
+        String key = key(location);
+        if (!enabled || key.isEmpty()) {
+            return geocoder.get();
+        }
+
+        double[] cached = lookup(key);
+        if (cached != null) {
+            return cached.clone();
+        }
+
+        CompletableFuture<double[]> mine = new CompletableFuture<>();
+        CompletableFuture<double[]> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            return running.join().clone();
+        }
+
+        try {
+            // Another request may have stored the answer and left inFlight since our first lookup
+            double[] stored = lookup(key);
+            if (stored != null) {
+                mine.complete(stored);
+                return stored.clone();
+            }
+
+            misses.increment();
+            double[] coordinates = geocoder.get();
+            store(key, coordinates);
+            mine.complete(coordinates);
+            return coordinates.clone();
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private double[] lookup(String key) {
+        double[] cached = memory.get(key);
+        if (cached != null) {
+            if (isFailure(cached)) {
+                negativeHits.increment();
+            } else {
+                memoryHits.increment();
+            }
+            log.debug("Geocode cache hit (memory) - {}", key);
+            return cached;
+        }
+
+        if (!persistent) {
+            return null;
+        }
+
+        try {
+            List<double[]> rows = jdbcTemplate.query(
+                    "SELECT latitude, longitude FROM geocode_cache WHERE location_key = ? AND created_at > ?",
+                    (rs, rowNum) -> new double[]{rs.getDouble(1), rs.getDouble(2)},
+                    key, System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(ttlSeconds));
+            if (!rows.isEmpty()) {
+                persistentHits.increment();
+                memory.put(key, rows.get(0));
+                log.info("Geocode cache hit (postgres) - {}", key);
+                return rows.get(0);
+            }
+        } catch (Exception e) {
+            log.warn("Geocode cache lookup failed, asking Groq instead: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void store(String key, double[] coordinates) {
+        if (coordinates == null || coordinates.length < 2) {
+            return;
+        }
+        if (isFailure(coordinates)) {
+            memory.put(key, coordinates, TimeUnit.SECONDS.toMillis(negativeTtlSeconds));
+            return;
+        }
+        memory.put(key, coordinates);
+
+        if (persistent) {
+            try {
+                jdbcTemplate.update("INSERT INTO geocode_cache (location_key, latitude, longitude, created_at) " +
+                                "VALUES (?, ?, ?, ?) ON CONFLICT (location_key) DO UPDATE SET " +
+                                "latitude = EXCLUDED.latitude, longitude = EXCLUDED.longitude, " +
+                                "created_at = EXCLUDED.created_at",
+                        key, coordinates[0], coordinates[1], System.currentTimeMillis());
+            } catch (Exception e) {
+                log.warn("Failed to persist geocode cache entry: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static boolean isFailure(double[] coordinates) {
+        return coordinates[0] == 0.0 && coordinates[1] == 0.0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.geo.cache.purge.interval.ms:3600000}")
+    public void purgeExpired() {
+        if (!enabled || !persistent) {
+            return;
+        }
+        int purged = jdbcTemplate.update("DELETE FROM geocode_cache WHERE created_at < ?",
+                System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(ttlSeconds));
+        if (purged > 0) {
+            log.info("Purged {} expired geocode cache entries", purged);
+        }
+    }
+
+    public GeocodeCacheStats getStats() {
+        long hits = memoryHits.sum() + persistentHits.sum() + negativeHits.sum();
+        long lookups = hits + misses.sum();
+        return new GeocodeCacheStats(
+                enabled,
+                persistent,
+                ttlSeconds,
+                negativeTtlSeconds,
+                memoryHits.sum(),
+                persistentHits.sum(),
+                negativeHits.sum(),
+                misses.sum(),
+                coalesced.sum(),
+                lookups > 0 ? (double) hits / lookups : 0.0,
+                memory.getStats()
+        );
+    }
+
+    public record GeocodeCacheStats(
+            boolean enabled,
+            boolean persistent,
+            long ttlSeconds,
+            long negativeTtlSeconds,
+            long memoryHits,
+            long persistentHits,
+            long negativeHits,
+            long misses,
+            long coalesced,
+            double hitRate,
+            TtlLruCache.CacheStats memory
+    ) {}
+}
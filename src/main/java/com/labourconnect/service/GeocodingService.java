@@ -0,0 +1,162 @@
+package com.labourconnect.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Turns a spoken location into a canonical place name and coordinates.
+ * Tiers: the offline {@link Gazetteer} (bundled and learned aliases), then the {@link GeocodeCache},
+ * and only then a Groq geocoding request. Plausible Groq answers are learned as new aliases.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class GeocodingService {
+
+    // Rough bounding box of India; Groq answers outside it are not trusted enough to learn
+    private static final double MIN_LAT = 6.0;
+    private static final double MAX_LAT = 37.5;
+    private static final double MIN_LNG = 68.0;
+    private static final double MAX_LNG = 97.5;
+
+    private final Gazetteer gazetteer;
+    private final GeocodeCache geocodeCache;
+    private final GroqService groqService;
+
+    /**
+     * A Groq answer this close to a bundled place is taken to mean that place
+     */
+    @Value("${app.geo.snap.km:15}")
+    private double snapKm;
+
+    private final LongAdder gazetteerHits = new LongAdder();
+    private final LongAdder fuzzyHits = new LongAdder();
+    private final LongAdder learnedHits = new LongAdder();
+    private final LongAdder cacheLookups = new LongAdder();
+    private final LongAdder groqCalls = new LongAdder();
+    private final LongAdder unresolved = new LongAdder();
+    private final LongAdder aliasesLearned = new LongAdder();
+
+    /**
+     * @param source gazetteer, learned, groq or unresolved
+     */
+    public record GeoLocation(String location, double latitude, double longitude, String source) {}
+
+    public GeoLocation geocode(String location) {
+        return geocode(location, null);
+    }
+
+    /**
+     * The gazetteer is tried under the spoken name and then under the suggested one; a miss is
+     * geocoded under the suggested name, which is the better query when the caller's spelling is odd.
+     *
+     * @param suggestedName the place as call-details extraction spelled it, or null
+     */
+    public GeoLocation geocode(String location, String suggestedName) {
+        if (isBlank(location)) {
+            unresolved.increment();
+            return new GeoLocation(location, 0.0, 0.0, "unresolved");
+        }
+        boolean suggested = suggestedName != null && !suggestedName.isBlank();
+
+        GeoLocation offline = lookupOffline(location);
+        if (offline == null && suggested) {
+            offline = lookupOffline(suggestedName);
+        }
+        if (offline != null) {
+            return offline;
+        }
+
+        String query = suggested ? suggestedName : location;
+        cacheLookups.increment();
+        AtomicBoolean resolved = new AtomicBoolean();
+        double[] coordinates = geocodeCache.getOrResolve(query, () -> {
+            groqCalls.increment();
+            resolved.set(true);
+            return groqService.getCoordinates(query);
+        });
+        return accept(location, query, coordinates[0], coordinates[1], resolved.get());
+    }
+
+    private GeoLocation lookupOffline(String location) {
+        Gazetteer.Match match = gazetteer.lookup(location);
+        if (match == null) {
+            return null;
+        }
+        if (match.learned()) {
+            learnedHits.increment();
+        } else if (match.distance() > 0) {
+            fuzzyHits.increment();
+        } else {
+            gazetteerHits.increment();
+        }
+        Gazetteer.Place place = match.place();
+        log.info("📍 '{}' resolved offline to {} ({})", location, place.name(), match.alias());
+        return new GeoLocation(place.name(), place.latitude(), place.longitude(),
+                match.learned() ? "learned" : "gazetteer");
+    }
+
+    /**
+     * Accepts a Groq answer for the spoken location, snapped to a nearby bundled place, and learns it
+     * when it is plausible and was just resolved. A cached answer was learned when Groq gave it, and
+     * a request that waited on another's Groq call leaves the learning to that request.
+     */
+    private GeoLocation accept(String location, String name, double lat, double lng, boolean fresh) {
+        if (lat == 0.0 && lng == 0.0) {
+            unresolved.increment();
+            return new GeoLocation(location, 0.0, 0.0, "unresolved");
+        }
+        if (lat < MIN_LAT || lat > MAX_LAT || lng < MIN_LNG || lng > MAX_LNG) {
+            log.warn("Groq placed '{}' outside India ({}, {}), not learning it", location, lat, lng);
+            return new GeoLocation(location, lat, lng, "groq");
+        }
+
+        Gazetteer.Place nearby = gazetteer.nearest(lat, lng, snapKm);
+        Gazetteer.Place place = nearby != null ? nearby : new Gazetteer.Place(name, lat, lng);
+        if (fresh) {
+            gazetteer.learn(location, place);
+            aliasesLearned.increment();
+        }
+        return new GeoLocation(place.name(), place.latitude(), place.longitude(), "groq");
+    }
+
+    private static boolean isBlank(String location) {
+        return location == null || location.isBlank() || TranscriptionService.UNKNOWN.equals(location)
+                || TranscriptionService.UNTRANSCRIBED.equals(location);
+    }
+
+    public GeocodingStats getStats() {
+        long offline = gazetteerHits.sum() + fuzzyHits.sum() + learnedHits.sum();
+        long total = offline + cacheLookups.sum();
+        return new GeocodingStats(
+                gazetteer.placeCount(),
+                gazetteer.learnedCount(),
+                gazetteerHits.sum(),
+                fuzzyHits.sum(),
+                learnedHits.sum(),
+                cacheLookups.sum(),
+                groqCalls.sum(),
+                unresolved.sum(),
+                aliasesLearned.sum(),
+                total > 0 ? (double) offline / total : 0.0
+        );
+    }
+
+    public record GeocodingStats(
+            int places,
+            int learnedAliases,
+            long exactHits,
+            long fuzzyHits,
+            long learnedHits,
+            long cacheLookups,
+            long groqCalls,
+            long unresolved,
+            long aliasesLearned,
+            double offlineRate
+    ) {}
+}
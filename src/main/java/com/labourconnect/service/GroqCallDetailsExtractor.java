@@ -0,0 +1,230 @@
+package com.labourconnect.service;
+
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.labourconnect.dto.SessionField;
+import com.labourconnect.dto.Skill;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * One Groq request per finished call: all transcripts in, a strict JSON object out
+ * (skill, city, wage). The answer is read with a streaming parser that rejects
+ * wrong types and out-of-range values; any failure falls back to {@link LocalCallDetailsExtractor}.
+ *
+ * Calls with nothing to clean up (the skill was picked from the keypad menu and the {@link Gazetteer}
+ * knows the place) are answered locally without a request. Coordinates come from
+ * {@link GeocodingService}, so unknown places go through the geocode cache and are learned.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "app.extraction.mode", havingValue = "groq", matchIfMissing = true)
+public class GroqCallDetailsExtractor implements CallDetailsExtractor {
+
+    private static final int MAX_SKILL_LENGTH = 50;
+    private static final int MAX_CITY_LENGTH = 100;
+
+    private static final String SYSTEM_PROMPT = "You clean up answers given on an Indian job-matching phone line. "
+            + "Reply with exactly one JSON object with these keys: "
+            + "\"skill\" (string: one of " + Arrays.stream(Skill.values()).map(Skill::getId)
+            .collect(Collectors.joining(", "))
+            + " if the trade is one of them, otherwise the trade in one to three English words), "
+            + "\"city\" (string or null: the town or city in its usual English spelling), "
+            + "\"wage\" (integer or null: rupees per day, only if a number was spoken). "
+            + "Answers may be in English, Hindi or Kannada. Do not add any other keys or text.";
+
+    private final GroqService groqService;
+    private final GeocodingService geocodingService;
+    private final Gazetteer gazetteer;
+    private final LocalCallDetailsExtractor fallback;
+
+    private final LongAdder extractions = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder totalLatencyMs = new LongAdder();
+
+    public GroqCallDetailsExtractor(GroqService groqService, GeocodingService geocodingService, Gazetteer gazetteer) {
+        this.groqService = groqService;
+        this.geocodingService = geocodingService;
+        this.gazetteer = gazetteer;
+        this.fallback = new LocalCallDetailsExtractor(gazetteer);
+    }
+
+    /**
+     * Fields of Groq's answer that passed validation; null where the model gave none
+     */
+    record Answer(String skill, String city, Integer wage) {}
+
+    @Override
+    public CallDetails extract(String callSid, Map<SessionField, String> transcripts) {
+        extractions.increment();
+        String skillTranscript = CallDetailsExtractor.skillTranscript(transcripts);
+        String location = transcripts.get(SessionField.LOCATION);
+        if (answeredOffline(skillTranscript, location)) {
+            return fallback.extract(callSid, transcripts);
+        }
+
+        requests.increment();
+        long start = System.currentTimeMillis();
+        Answer answer;
+        try {
+            answer = parse(groqService.completeJson(SYSTEM_PROMPT, userPrompt(transcripts)));
+        } catch (Exception e) {
+            fallbacks.increment();
+            log.warn("⚠️ Groq extraction failed, using local extraction - CallSid: {}: {}", callSid, e.getMessage());
+            return fallback.extract(callSid, transcripts);
+        } finally {
+            totalLatencyMs.add(System.currentTimeMillis() - start);
+        }
+
+        String skill = skillTranscript;
+        String skillId = null;
+        if (!CallDetailsExtractor.isPlaceholder(skillTranscript)) {
+            Skill trade = Skill.fromTranscript(answer.skill());
+            if (trade == null) {
+                trade = LocalCallDetailsExtractor.findSkill(skillTranscript);
+            }
+            if (trade != null) {
+                skill = trade.getDisplayName();
+                skillId = trade.getId();
+            } else if (answer.skill() != null && !answer.skill().isBlank()) {
+                skill = answer.skill().trim();
+            }
+        }
+
+        double latitude = 0.0;
+        double longitude = 0.0;
+        if (!CallDetailsExtractor.isPlaceholder(location)) {
+            GeocodingService.GeoLocation geo = geocodingService.geocode(location, answer.city());
+            location = geo.location();
+            latitude = geo.latitude();
+            longitude = geo.longitude();
+        }
+
+        log.info("🧠 Extracted skill '{}', location '{}', wage {} - CallSid: {}", skill, location, answer.wage(), callSid);
+        return new CallDetails(skill, skillId, location, latitude, longitude, answer.wage(), "groq");
+    }
+
+    /**
+     * Nothing for Groq to clean up: the skill is missing or already a menu trade id (a keypad choice
+     * carries no spoken wage), and the place is missing or known to the gazetteer
+     */
+    private boolean answeredOffline(String skillTranscript, String location) {
+        boolean skillKnown = CallDetailsExtractor.isPlaceholder(skillTranscript)
+                || Skill.fromTranscript(skillTranscript) != null;
+        return skillKnown && (CallDetailsExtractor.isPlaceholder(location) || gazetteer.lookup(location) != null);
+    }
+
+    /**
+     * The transcripts as a JSON object, so nothing a caller says can break out of the prompt
+     */
+    private static String userPrompt(Map<SessionField, String> transcripts) {
+        JsonObject answers = new JsonObject();
+        transcripts.forEach((field, transcript) -> {
+            if (!CallDetailsExtractor.isPlaceholder(transcript)) {
+                String key = switch (field) {
+                    case WORK_EXPERTISE -> "skill";
+                    case TYPE_OF_WORK -> "skill_needed";
+                    default -> field.getKey();
+                };
+                answers.addProperty(key, transcript);
+            }
+        });
+        return answers.toString();
+    }
+
+    /**
+     * Streams through Groq's JSON answer, checking each known key's type and range and skipping unknown keys
+     *
+     * @throws IOException if the content is not a JSON object or a field has the wrong type or an impossible value
+     */
+    static Answer parse(String content) throws IOException {
+        String skill = null;
+        String city = null;
+        Integer wage = null;
+        boolean sawSkill = false;
+
+        try (JsonReader reader = new JsonReader(new StringReader(content))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                switch (name) {
+                    case "skill" -> {
+                        skill = nextString(reader, name, MAX_SKILL_LENGTH);
+                        sawSkill = true;
+                    }
+                    case "city" -> city = nextString(reader, name, MAX_CITY_LENGTH);
+                    case "wage" -> {
+                        double value = nextNumber(reader, name, 0.0, Double.MAX_VALUE);
+                        wage = value > 0 ? CallDetailsExtractor.validWage(Math.round(value)) : null;
+                    }
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IllegalStateException e) {
+            throw new IOException("Groq answer is not a JSON object: " + e.getMessage(), e);
+        }
+
+        if (!sawSkill) {
+            throw new IOException("Groq answer has no skill");
+        }
+        return new Answer(skill, city, wage);
+    }
+
+    private static String nextString(JsonReader reader, String name, int maxLength) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (token != JsonToken.STRING) {
+            throw new IOException("'" + name + "' must be a string, got " + token);
+        }
+        String value = reader.nextString().trim();
+        if (value.length() > maxLength) {
+            throw new IOException("'" + name + "' is longer than " + maxLength + " characters");
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * @return the number, or 0.0 for null
+     */
+    private static double nextNumber(JsonReader reader, String name, double min, double max) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return 0.0;
+        }
+        if (token != JsonToken.NUMBER) {
+            throw new IOException("'" + name + "' must be a number, got " + token);
+        }
+        double value = reader.nextDouble();
+        if (Double.isNaN(value) || value < min || value > max) {
+            throw new IOException("'" + name + "' is out of range: " + value);
+        }
+        return value;
+    }
+
+    @Override
+    public ExtractionStats getStats() {
+        long sent = requests.sum();
+        return new ExtractionStats(
+                "groq",
+                extractions.sum(),
+                sent,
+                fallbacks.sum(),
+                sent > 0 ? (double) totalLatencyMs.sum() / sent : 0.0
+        );
+    }
+}
@@ -1,15 +1,16 @@
 package com.labourconnect.service;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
+import java.io.Reader;
+import java.io.StringReader;
 
 @Service
 @Slf4j
@@ -24,99 +25,179 @@ public class GroqService {
     @Value("${groq.api.model}")
     private String model;
 
-    private final OkHttpClient httpClient;
-    private final Gson gson;
+    private static final String GEOCODE_PROMPT = "You geocode places named on an Indian job-matching phone line. "
+            + "Reply with exactly one JSON object {\"lat\": number, \"lng\": number} for the town or city given "
+            + "as \"place\", or {\"lat\": 0, \"lng\": 0} if it is unknown. Do not add any other keys or text.";
 
-    public GroqService() {
-        this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .build();
-        this.gson = new Gson();
+    private final OutboundHttpClient httpClient;
+    private final BulkheadRegistry bulkheads;
+    private final ConcurrencyLimiterRegistry limiters;
+
+    /**
+     * Thrown when Groq answers 429 Too Many Requests
+     */
+    public static class RateLimitedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public RateLimitedException(String message) {
+            super(message);
+        }
     }
 
+    public GroqService(OutboundHttpClient httpClient, BulkheadRegistry bulkheads, ConcurrencyLimiterRegistry limiters) {
+        this.httpClient = httpClient;
+        this.bulkheads = bulkheads;
+        this.limiters = limiters;
+    }
+
+    /**
+     * Asks Groq for the coordinates of a place; {0.0, 0.0} if it does not know or the request fails.
+     * Not cached here: {@link GeocodingService} puts the {@link GeocodeCache} in front of it.
+     */
     public double[] getCoordinates(String location) {
         log.info("Getting coordinates for location: {}", location);
-        
+
         if (location == null || location.trim().isEmpty()) {
             return new double[]{0.0, 0.0};
         }
 
-        String prompt = String.format(
-                "Extract latitude and longitude for the location '%s'. " +
-                "Return ONLY a JSON object with 'lat' and 'lng' fields. " +
-                "Example: {\"lat\": 12.9716, \"lng\": 77.5946}. " +
-                "If location is unknown or invalid, return {\"lat\": 0.0, \"lng\": 0.0}.",
-                location
-        );
-
+        JsonObject place = new JsonObject();
+        place.addProperty("place", location);
         try {
-            String response = callGroqApi(prompt);
-            return parseCoordinates(response);
+            return parseCoordinates(completeJson(GEOCODE_PROMPT, place.toString()));
         } catch (Exception e) {
             log.error("Error getting coordinates from Groq: {}", e.getMessage());
             return new double[]{0.0, 0.0};
         }
     }
 
-    private String callGroqApi(String prompt) throws IOException {
-        JsonObject message = new JsonObject();
-        message.addProperty("role", "user");
-        message.addProperty("content", prompt);
-
+    /**
+     * One chat completion in JSON mode. Returns the message content, read from the response
+     * stream without building a tree of the whole response.
+     */
+    public String completeJson(String systemPrompt, String userPrompt) throws IOException {
         com.google.gson.JsonArray messages = new com.google.gson.JsonArray();
-        messages.add(message);
+        messages.add(message("system", systemPrompt));
+        messages.add(message("user", userPrompt));
+
+        JsonObject responseFormat = new JsonObject();
+        responseFormat.addProperty("type", "json_object");
 
         JsonObject requestBody = new JsonObject();
         requestBody.addProperty("model", model);
         requestBody.add("messages", messages);
-        requestBody.addProperty("temperature", 0.1);
+        requestBody.add("response_format", responseFormat);
+        requestBody.addProperty("temperature", 0.0);
 
+        return send(request(requestBody), response -> readMessageContent(response.body().charStream()));
+    }
+
+    private static JsonObject message(String role, String content) {
+        JsonObject message = new JsonObject();
+        message.addProperty("role", role);
+        message.addProperty("content", content);
+        return message;
+    }
+
+    /**
+     * Walks to choices[0].message.content, skipping everything else
+     */
+    private static String readMessageContent(Reader body) throws IOException {
+        try (JsonReader reader = new JsonReader(body)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!"choices".equals(reader.nextName())) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginArray();
+                if (!reader.hasNext()) {
+                    break;
+                }
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (!"message".equals(reader.nextName())) {
+                        reader.skipValue();
+                        continue;
+                    }
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        if ("content".equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+                            return reader.nextString();
+                        }
+                        reader.skipValue();
+                    }
+                    reader.endObject();
+                }
+                break;
+            }
+        } catch (IllegalStateException e) {
+            throw new IOException("Malformed Groq response: " + e.getMessage(), e);
+        }
+        throw new IOException("Groq response has no message content");
+    }
+
+    private Request request(JsonObject requestBody) {
         RequestBody body = RequestBody.create(
                 requestBody.toString(),
                 MediaType.parse("application/json; charset=utf-8")
         );
 
-        Request request = new Request.Builder()
+        return new Request.Builder()
                 .url(apiUrl)
                 .addHeader("Authorization", "Bearer " + apiKey)
                 .addHeader("Content-Type", "application/json")
                 .post(body)
                 .build();
+    }
 
-        try (Response response = httpClient.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                throw new IOException("Unexpected code " + response);
-            }
-            return response.body().string();
-        }
+    private <T> T send(Request request, OutboundHttpClient.ResponseHandler<T> parser) throws IOException {
+        return limiters.execute(BulkheadRegistry.Dependency.GROQ, () ->
+                bulkheads.execute(BulkheadRegistry.Dependency.GROQ, () ->
+                        httpClient.execute(OutboundHttpClient.Target.GROQ, request, response -> {
+                            if (response.code() == 429) {
+                                throw new RateLimitedException("Groq rate limit hit: " + response);
+                            }
+                            if (!response.isSuccessful()) {
+                                throw new IOException("Unexpected code " + response);
+                            }
+                            return parser.handle(response);
+                        })));
     }
 
-    private double[] parseCoordinates(String jsonResponse) {
-        try {
-            JsonObject responseObj = JsonParser.parseString(jsonResponse).getAsJsonObject();
-            String content = responseObj.getAsJsonArray("choices")
-                    .get(0).getAsJsonObject()
-                    .getAsJsonObject("message")
-                    .get("content").getAsString();
-
-            // Extract JSON from content (in case there's extra text)
-            int startIndex = content.indexOf("{");
-            int endIndex = content.lastIndexOf("}") + 1;
-            
-            if (startIndex >= 0 && endIndex > startIndex) {
-                String jsonStr = content.substring(startIndex, endIndex);
-                JsonObject coords = JsonParser.parseString(jsonStr).getAsJsonObject();
-                
-                double lat = coords.has("lat") ? coords.get("lat").getAsDouble() : 0.0;
-                double lng = coords.has("lng") ? coords.get("lng").getAsDouble() : 0.0;
-                
-                return new double[]{lat, lng};
+    /**
+     * Reads lat and lng from Groq's JSON answer, skipping other keys
+     *
+     * @return {0.0, 0.0} if either is missing or out of range
+     * @throws IOException if the content is not a JSON object
+     */
+    static double[] parseCoordinates(String content) throws IOException {
+        Double latitude = null;
+        Double longitude = null;
+        try (JsonReader reader = new JsonReader(new StringReader(content))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (("lat".equals(name) || "lng".equals(name)) && reader.peek() == JsonToken.NUMBER) {
+                    double value = reader.nextDouble();
+                    if ("lat".equals(name)) {
+                        latitude = value;
+                    } else {
+                        longitude = value;
+                    }
+                } else {
+                    reader.skipValue();
+                }
             }
-        } catch (Exception e) {
-            log.error("Error parsing Groq response: {}", e.getMessage());
+            reader.endObject();
+        } catch (IllegalStateException e) {
+            throw new IOException("Groq answer is not a JSON object: " + e.getMessage(), e);
+        }
+
+        if (latitude == null || longitude == null || Double.isNaN(latitude) || Double.isNaN(longitude)
+                || Math.abs(latitude) > 90.0 || Math.abs(longitude) > 180.0) {
+            return new double[]{0.0, 0.0};
         }
-        return new double[]{0.0, 0.0};
+        return new double[]{latitude, longitude};
     }
 }
\ No newline at end of file
@@ -0,0 +1,193 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.IVRSessionDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process session store with idle TTL and a hard entry limit.
+ * Sessions are kept in access order, so the least recently used one is evicted at capacity
+ * and the sweep stops at the first session that is still live.
+ * Eviction listeners write to the database, so evictions seen on a webhook thread are only queued
+ * and the listeners run from the scheduled sweep.
+ * Only suitable for a single replica; see {@link JdbcSessionStore} for multi-node deployments.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "app.ivr.session.store", havingValue = "memory", matchIfMissing = true)
+public class InMemorySessionStore implements SessionStore {
+
+    // Access-ordered; guarded by its own monitor
+    private final LinkedHashMap<String, IVRSessionDTO> sessions = new LinkedHashMap<>(16, 0.75f, true);
+    private final ObjectProvider<EvictionListener> evictionListeners;
+    // Evictions from put and get, reported by the next sweep
+    private final Queue<Eviction> pendingEvictions = new ConcurrentLinkedQueue<>();
+
+    @Value("${app.ivr.session.idle.ttl.seconds:300}")
+    private long idleTtlSeconds;
+
+    @Value("${app.ivr.session.max.entries:50000}")
+    private int maxEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictedIdle = new LongAdder();
+    private final LongAdder evictedCapacity = new LongAdder();
+
+    public InMemorySessionStore(ObjectProvider<EvictionListener> evictionListeners) {
+        this.evictionListeners = evictionListeners;
+    }
+
+    @Override
+    public void put(IVRSessionDTO session) {
+        IVRSessionDTO evicted = null;
+        synchronized (sessions) {
+            session.touch();
+            if (sessions.size() >= maxEntries && !sessions.containsKey(session.getCallSid())) {
+                evicted = evictEldest();
+            }
+            sessions.put(session.getCallSid(), session);
+        }
+        if (evicted != null) {
+            evictedCapacity.increment();
+            log.warn("Session store full ({} entries), evicted CallSid: {}", maxEntries, evicted.getCallSid());
+            pendingEvictions.add(new Eviction(evicted, EvictionReason.CAPACITY));
+        }
+    }
+
+    @Override
+    public void save(IVRSessionDTO session) {
+        // Sessions are shared by reference, so changes are already visible; the get moves it to the young end
+        synchronized (sessions) {
+            session.touch();
+            sessions.get(session.getCallSid());
+        }
+    }
+
+    @Override
+    public IVRSessionDTO get(String callSid) {
+        IVRSessionDTO expired;
+        synchronized (sessions) {
+            IVRSessionDTO session = sessions.get(callSid);
+            if (session != null && !isExpired(session, System.currentTimeMillis())) {
+                hits.increment();
+                session.touch();
+                return session;
+            }
+            // The get just moved an expired session to the young end, where the sweep would not reach it
+            expired = session != null ? sessions.remove(callSid) : null;
+        }
+        misses.increment();
+        if (expired != null) {
+            evictedIdle.increment();
+            pendingEvictions.add(new Eviction(expired, EvictionReason.IDLE_TIMEOUT));
+        }
+        return null;
+    }
+
+    @Override
+    public IVRSessionDTO remove(String callSid) {
+        synchronized (sessions) {
+            return sessions.remove(callSid);
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    /**
+     * Removes sessions whose caller hung up or dropped mid-flow, and reports the evictions
+     * queued by put and get since the last sweep
+     */
+    @Scheduled(fixedDelayString = "${app.ivr.session.sweep.interval.ms:30000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        List<IVRSessionDTO> evicted = new ArrayList<>();
+        int remaining;
+
+        synchronized (sessions) {
+            // Eldest first, so everything after the first live session is live too
+            Iterator<IVRSessionDTO> it = sessions.values().iterator();
+            while (it.hasNext()) {
+                IVRSessionDTO session = it.next();
+                if (!isExpired(session, now)) {
+                    break;
+                }
+                it.remove();
+                evicted.add(session);
+            }
+            remaining = sessions.size();
+        }
+
+        Eviction pending;
+        while ((pending = pendingEvictions.poll()) != null) {
+            notifyEvicted(pending.session(), pending.reason());
+        }
+        for (IVRSessionDTO session : evicted) {
+            evictedIdle.increment();
+            notifyEvicted(session, EvictionReason.IDLE_TIMEOUT);
+        }
+        if (!evicted.isEmpty()) {
+            log.info("Evicted {} idle IVR sessions, {} remaining", evicted.size(), remaining);
+        }
+    }
+
+    /**
+     * Caller holds the sessions monitor
+     */
+    private IVRSessionDTO evictEldest() {
+        Iterator<IVRSessionDTO> it = sessions.values().iterator();
+        if (!it.hasNext()) {
+            return null;
+        }
+        IVRSessionDTO eldest = it.next();
+        it.remove();
+        return eldest;
+    }
+
+    private boolean isExpired(IVRSessionDTO session, long now) {
+        return now - session.getLastAccessTime() > TimeUnit.SECONDS.toMillis(idleTtlSeconds);
+    }
+
+    private void notifyEvicted(IVRSessionDTO session, EvictionReason reason) {
+        evictionListeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onEvicted(session, reason);
+            } catch (Exception e) {
+                log.error("Eviction listener failed for CallSid {}: {}", session.getCallSid(), e.getMessage());
+            }
+        });
+    }
+
+    private record Eviction(IVRSessionDTO session, EvictionReason reason) {}
+
+    @Override
+    public SessionStoreStats getStats() {
+        return new SessionStoreStats(
+                size(),
+                maxEntries,
+                idleTtlSeconds,
+                hits.sum(),
+                misses.sum(),
+                evictedIdle.sum(),
+                evictedCapacity.sum()
+        );
+    }
+}
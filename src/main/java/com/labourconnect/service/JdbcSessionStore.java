@@ -0,0 +1,248 @@
+package com.labourconnect.service;
+
+import com.google.gson.Gson;
+import com.labourconnect.dto.IVRSessionDTO;
+import com.labourconnect.dto.SessionField;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.labourconnect.service.BulkheadRegistry.Dependency.POSTGRES;
+
+/**
+ * Session store backed by an UNLOGGED Postgres table so any replica can serve
+ * the next webhook of a call. Writes use optimistic versioning.
+ *
+ * In-flight transcription futures cannot be shared between nodes; they are kept
+ * in a local near-cache and re-attached when the same node sees the call again.
+ *
+ * Webhook reads and writes take a POSTGRES bulkhead permit like the post-call saves, so a slow database
+ * fails a webhook after the bulkhead's max wait instead of pinning request threads on the pool.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "app.ivr.session.store", havingValue = "jdbc")
+public class JdbcSessionStore implements SessionStore {
+
+    private static final String COLUMNS = "call_sid, phone_no, language_preference, call_purpose, current_step, " +
+            "start_time, last_access_time, recording_urls, recording_statuses, transcripts, version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<EvictionListener> evictionListeners;
+    private final BulkheadRegistry bulkheads;
+    private final Gson gson = new Gson();
+    private final Map<String, IVRSessionDTO> localSessions = new ConcurrentHashMap<>();
+
+    @Value("${app.ivr.session.idle.ttl.seconds:300}")
+    private long idleTtlSeconds;
+
+    @Value("${app.ivr.session.max.entries:50000}")
+    private int maxEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictedIdle = new LongAdder();
+    private final LongAdder evictedCapacity = new LongAdder();
+
+    public JdbcSessionStore(JdbcTemplate jdbcTemplate, ObjectProvider<EvictionListener> evictionListeners,
+                            BulkheadRegistry bulkheads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.evictionListeners = evictionListeners;
+        this.bulkheads = bulkheads;
+    }
+
+    @PostConstruct
+    public void init() {
+        // The table is created by schema.sql
+        log.info("✅ Shared IVR session store initialized (table ivr_sessions)");
+    }
+
+    @Override
+    public void put(IVRSessionDTO session) {
+        session.touch();
+        session.setVersion(0);
+
+        bulkheads.execute(POSTGRES, () -> jdbcTemplate.update("INSERT INTO ivr_sessions (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0) " +
+                        "ON CONFLICT (call_sid) DO UPDATE SET phone_no = EXCLUDED.phone_no, " +
+                        "language_preference = EXCLUDED.language_preference, call_purpose = EXCLUDED.call_purpose, " +
+                        "current_step = EXCLUDED.current_step, start_time = EXCLUDED.start_time, " +
+                        "last_access_time = EXCLUDED.last_access_time, recording_urls = EXCLUDED.recording_urls, " +
+                        "recording_statuses = EXCLUDED.recording_statuses, transcripts = EXCLUDED.transcripts, version = 0",
+                session.getCallSid(),
+                session.getPhoneNo(),
+                session.getLanguagePreference(),
+                session.getCallPurpose(),
+                session.getCurrentStep(),
+                session.getStartTime(),
+                session.getLastAccessTime(),
+                gson.toJson(session.getRecordingUrls()),
+                gson.toJson(session.getRecordingStatuses()),
+                gson.toJson(session.getTranscripts())));
+
+        localSessions.put(session.getCallSid(), session);
+    }
+
+    @Override
+    public void save(IVRSessionDTO session) {
+        session.touch();
+
+        int updated = bulkheads.execute(POSTGRES, () -> jdbcTemplate.update("UPDATE ivr_sessions SET language_preference = ?, call_purpose = ?, " +
+                        "current_step = ?, last_access_time = ?, recording_urls = ?, recording_statuses = ?, transcripts = ?, " +
+                        "version = version + 1 WHERE call_sid = ? AND version = ?",
+                session.getLanguagePreference(),
+                session.getCallPurpose(),
+                session.getCurrentStep(),
+                session.getLastAccessTime(),
+                gson.toJson(session.getRecordingUrls()),
+                gson.toJson(session.getRecordingStatuses()),
+                gson.toJson(session.getTranscripts()),
+                session.getCallSid(),
+                session.getVersion()));
+
+        if (updated == 0) {
+            throw new OptimisticLockingFailureException(
+                    "IVR session " + session.getCallSid() + " was modified or evicted concurrently");
+        }
+        session.setVersion(session.getVersion() + 1);
+    }
+
+    @Override
+    public IVRSessionDTO get(String callSid) {
+        long now = System.currentTimeMillis();
+
+        List<IVRSessionDTO> rows = bulkheads.execute(POSTGRES, () -> jdbcTemplate.query(
+                "UPDATE ivr_sessions SET last_access_time = ? WHERE call_sid = ? AND last_access_time > ? RETURNING " + COLUMNS,
+                sessionRowMapper(), now, callSid, now - TimeUnit.SECONDS.toMillis(idleTtlSeconds)));
+
+        if (rows.isEmpty()) {
+            misses.increment();
+            localSessions.remove(callSid);
+            return null;
+        }
+
+        hits.increment();
+        IVRSessionDTO session = rows.get(0);
+        IVRSessionDTO local = localSessions.get(callSid);
+        if (local != null) {
+            session.setTranscriptions(local.getTranscriptions());
+        }
+        localSessions.put(callSid, session);
+        return session;
+    }
+
+    @Override
+    public IVRSessionDTO remove(String callSid) {
+        localSessions.remove(callSid);
+        List<IVRSessionDTO> rows = bulkheads.execute(POSTGRES, () -> jdbcTemplate.query(
+                "DELETE FROM ivr_sessions WHERE call_sid = ? RETURNING " + COLUMNS, sessionRowMapper(), callSid));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public int size() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ivr_sessions", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Removes idle sessions and enforces the entry limit. DELETE ... RETURNING ensures
+     * that only one replica reports each evicted call. The sweep runs on the scheduler thread,
+     * off the webhook path, so it takes no bulkhead permit; the dropped-call listeners take their own.
+     */
+    @Scheduled(fixedDelayString = "${app.ivr.session.sweep.interval.ms:30000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(idleTtlSeconds);
+
+        List<IVRSessionDTO> expired = jdbcTemplate.query(
+                "DELETE FROM ivr_sessions WHERE last_access_time < ? RETURNING " + COLUMNS, sessionRowMapper(), cutoff);
+        expired.forEach(session -> {
+            evictedIdle.increment();
+            notifyEvicted(session, EvictionReason.IDLE_TIMEOUT);
+        });
+
+        int excess = size() - maxEntries;
+        if (excess > 0) {
+            List<IVRSessionDTO> overflow = jdbcTemplate.query("DELETE FROM ivr_sessions WHERE call_sid IN (" +
+                            "SELECT call_sid FROM ivr_sessions ORDER BY last_access_time ASC LIMIT ?) RETURNING " + COLUMNS,
+                    sessionRowMapper(), excess);
+            overflow.forEach(session -> {
+                evictedCapacity.increment();
+                notifyEvicted(session, EvictionReason.CAPACITY);
+            });
+        }
+
+        localSessions.values().removeIf(session -> session.getLastAccessTime() < cutoff);
+
+        if (!expired.isEmpty() || excess > 0) {
+            log.info("Evicted {} idle and {} overflow IVR sessions", expired.size(), Math.max(excess, 0));
+        }
+    }
+
+    private void notifyEvicted(IVRSessionDTO session, EvictionReason reason) {
+        localSessions.remove(session.getCallSid());
+        evictionListeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onEvicted(session, reason);
+            } catch (Exception e) {
+                log.error("Eviction listener failed for CallSid {}: {}", session.getCallSid(), e.getMessage());
+            }
+        });
+    }
+
+    private RowMapper<IVRSessionDTO> sessionRowMapper() {
+        return (rs, rowNum) -> {
+            String[] recordingUrls = readSlots(rs.getString("recording_urls"));
+            String[] recordingStatuses = readSlots(rs.getString("recording_statuses"));
+            String[] transcripts = readSlots(rs.getString("transcripts"));
+
+            return IVRSessionDTO.builder()
+                    .callSid(rs.getString("call_sid"))
+                    .phoneNo(rs.getString("phone_no"))
+                    .languagePreference(rs.getString("language_preference"))
+                    .callPurpose(rs.getString("call_purpose"))
+                    .currentStep(rs.getInt("current_step"))
+                    .startTime(rs.getLong("start_time"))
+                    .lastAccessTime(rs.getLong("last_access_time"))
+                    .recordingUrls(recordingUrls)
+                    .recordingStatuses(recordingStatuses)
+                    .transcripts(transcripts)
+                    .version(rs.getInt("version"))
+                    .build();
+        };
+    }
+
+    private String[] readSlots(String json) {
+        String[] slots = json != null ? gson.fromJson(json, String[].class) : null;
+        if (slots == null) {
+            return new String[SessionField.COUNT];
+        }
+        return slots.length == SessionField.COUNT ? slots : Arrays.copyOf(slots, SessionField.COUNT);
+    }
+
+    @Override
+    public SessionStoreStats getStats() {
+        return new SessionStoreStats(
+                size(),
+                maxEntries,
+                idleTtlSeconds,
+                hits.sum(),
+                misses.sum(),
+                evictedIdle.sum(),
+                evictedCapacity.sum()
+        );
+    }
+}
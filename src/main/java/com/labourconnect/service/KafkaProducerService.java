@@ -15,12 +15,15 @@ import java.util.concurrent.CompletableFuture;
 public class KafkaProducerService {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final BulkheadRegistry bulkheads;
     private static final String TOPIC = "whatsapp-bot-job-requests";
 
     public void sendJobEvent(WhatsAppBotJobEvent event) {
         log.info("Attempting to send job event to Kafka topic '{}'. Provider: {}", TOPIC, event.providerId());
         
-        CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(TOPIC, event);
+        // send() can block on metadata fetch when the broker is slow, so it runs inside the bulkhead
+        CompletableFuture<SendResult<String, Object>> future = bulkheads.execute(
+                BulkheadRegistry.Dependency.KAFKA, () -> kafkaTemplate.send(TOPIC, event));
 
         future.whenComplete((result, ex) -> {
             if (ex == null) {
@@ -23,6 +23,8 @@ import java.util.Optional;
 public class LabourService {
 
     private final LabourRepository labourRepository;
+    private final CallerRegistry callerRegistry;
+    private final MatchIndex matchIndex;
 
     /**
      * Registers a new worker
@@ -36,6 +38,7 @@ public class LabourService {
                 .name(labourDTO.getName())
                 .experience(labourDTO.getExperience())
                 .workExpertise(labourDTO.getWorkExpertise())
+                .skillId(labourDTO.getSkillId())
                 .location(labourDTO.getLocation())
                 .preferredWage(labourDTO.getPreferredWage())
                 .bio(labourDTO.getBio())
@@ -43,6 +46,9 @@ public class LabourService {
                 .build();
 
         Labour saved = labourRepository.save(labour);
+        AfterCommit.run(() -> callerRegistry.register(saved.getPhoneNo(), saved.getLanguagePreference(),
+                CallerRegistry.ROLE_WORKER));
+        AfterCommit.run(() -> matchIndex.index(saved));
         log.info("Worker registered successfully with ID: {}", saved.getLabourId());
 
         return saved;
@@ -68,23 +74,32 @@ public class LabourService {
         if (labourDTO.getName() != null) labour.setName(labourDTO.getName());
         if (labourDTO.getExperience() != null) labour.setExperience(labourDTO.getExperience());
         if (labourDTO.getWorkExpertise() != null) labour.setWorkExpertise(labourDTO.getWorkExpertise());
+        if (labourDTO.getSkillId() != null) labour.setSkillId(labourDTO.getSkillId());
         if (labourDTO.getLocation() != null) labour.setLocation(labourDTO.getLocation());
         if (labourDTO.getPreferredWage() != null) labour.setPreferredWage(labourDTO.getPreferredWage());
         if (labourDTO.getBio() != null) labour.setBio(labourDTO.getBio());
         if (labourDTO.getLanguagePreference() != null) labour.setLanguagePreference(labourDTO.getLanguagePreference());
 
         Labour updated = labourRepository.save(labour);
+        AfterCommit.run(() -> matchIndex.index(updated));
         log.info("Worker updated successfully");
 
         return updated;
     }
 
+    /**
+     * Finds worker by ID
+     */
+    public Labour findById(Long labourId) {
+        return labourRepository.findById(labourId).orElse(null);
+    }
+
     /**
      * Finds worker by phone number (most recent registration)
      */
     public Labour findByPhoneNo(String phoneNo) {
         log.info("Finding worker by phone: {}", phoneNo);
-        return labourRepository.findByPhoneNo(phoneNo).orElse(null);
+        return labourRepository.findFirstByPhoneNoOrderByRegistrationDateDesc(phoneNo).orElse(null);
     }
 
     /**
@@ -142,8 +157,12 @@ public class LabourService {
     public boolean deleteLabour(Long labourId) {
         log.info("Deleting worker with ID: {}", labourId);
 
-        if (labourRepository.existsById(labourId)) {
-            labourRepository.deleteById(labourId);
+        Optional<Labour> existing = labourRepository.findById(labourId);
+        if (existing.isPresent()) {
+            labourRepository.delete(existing.get());
+            String phoneNo = existing.get().getPhoneNo();
+            AfterCommit.run(() -> callerRegistry.unregister(phoneNo, CallerRegistry.ROLE_WORKER, labourId));
+            AfterCommit.run(() -> matchIndex.remove(MatchIndex.Side.WORKERS, labourId));
             log.info("Worker deleted successfully");
             return true;
         }
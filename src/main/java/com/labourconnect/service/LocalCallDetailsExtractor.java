@@ -0,0 +1,102 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.SessionField;
+import com.labourconnect.dto.Skill;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic, offline extraction: menu trades by keyword, places from the {@link Gazetteer},
+ * and the first plausible number in the skill answer as the wage.
+ * Used in tests and local runs, and by {@link GroqCallDetailsExtractor} when Groq fails.
+ */
+@Service
+@ConditionalOnProperty(name = "app.extraction.mode", havingValue = "local")
+public class LocalCallDetailsExtractor implements CallDetailsExtractor {
+
+    private static final Pattern NUMBER = Pattern.compile("\\d[\\d,]*");
+
+    private final Gazetteer gazetteer;
+
+    private final LongAdder extractions = new LongAdder();
+
+    public LocalCallDetailsExtractor(Gazetteer gazetteer) {
+        this.gazetteer = gazetteer;
+    }
+
+    @Override
+    public CallDetails extract(String callSid, Map<SessionField, String> transcripts) {
+        extractions.increment();
+        String skillTranscript = CallDetailsExtractor.skillTranscript(transcripts);
+        String location = transcripts.get(SessionField.LOCATION);
+
+        String skill = skillTranscript;
+        Skill trade = CallDetailsExtractor.isPlaceholder(skillTranscript) ? null : findSkill(skillTranscript);
+        if (trade != null) {
+            skill = trade.getDisplayName();
+        } else if (!CallDetailsExtractor.isPlaceholder(skillTranscript)) {
+            skill = skillTranscript.trim();
+        }
+
+        double latitude = 0.0;
+        double longitude = 0.0;
+        if (!CallDetailsExtractor.isPlaceholder(location)) {
+            Gazetteer.Match match = gazetteer.lookup(location);
+            if (match != null) {
+                location = match.place().name();
+                latitude = match.place().latitude();
+                longitude = match.place().longitude();
+            }
+        }
+
+        Integer wage = CallDetailsExtractor.isPlaceholder(skillTranscript) ? null : findWage(skillTranscript);
+        return new CallDetails(skill, trade != null ? trade.getId() : null, location, latitude, longitude, wage,
+                "local");
+    }
+
+    @Override
+    public ExtractionStats getStats() {
+        return new ExtractionStats("local", extractions.sum(), 0, 0, 0.0);
+    }
+
+    /**
+     * The single menu trade named in the answer ("I am a plumber", "plumbers needed"), or null if none or several
+     */
+    static Skill findSkill(String transcript) {
+        Skill exact = Skill.fromTranscript(transcript);
+        if (exact != null) {
+            return exact;
+        }
+        List<String> words = Gazetteer.words(transcript);
+        Skill found = null;
+        for (Skill skill : Skill.values()) {
+            if (words.contains(skill.getId()) || words.contains(skill.getId() + "s")) {
+                if (found != null) {
+                    return null;
+                }
+                found = skill;
+            }
+        }
+        return found;
+    }
+
+    static Integer findWage(String transcript) {
+        Matcher matcher = NUMBER.matcher(transcript);
+        while (matcher.find()) {
+            String digits = matcher.group().replace(",", "");
+            if (digits.length() <= 6) {
+                Integer wage = CallDetailsExtractor.validWage(Long.parseLong(digits));
+                if (wage != null) {
+                    return wage;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,607 @@
+package com.labourconnect.service;
+
+import com.labourconnect.model.Labour;
+import com.labourconnect.model.Work;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory inverted index over worker expertise/bio and job type/description, so matching on a
+ * free-form skill does not scan the tables with LIKE '%skill%'.
+ *
+ * Each token maps to a sorted long[] of row ids, replaced copy-on-write so lookups take no lock.
+ * A rebuild instead collects each token's ids in a growable buffer, sorts them once and publishes
+ * the finished side, so a full load costs O(N log N) rather than one array copy per row and token.
+ * A query token matches every indexed token it is a prefix of ("electric" finds "electrician"),
+ * and all query tokens must match. Each row also keeps its location and experience/posted date, so
+ * candidates come back in the order of the SQL it replaces: location score, then expertise/type hits
+ * above bio/description hits, then most experienced worker or newest job.
+ *
+ * Kept current by LabourService and WorkService on this node after their transactions commit.
+ * Every app.matching.index.sync.ms, rows with a higher id or a last_updated within
+ * app.matching.index.sync.lag.ms of the newest one seen are re-read, which picks up inserts and edits
+ * from other replicas (the lag covers clock skew between them and transactions committing late).
+ * Row count and id sum are compared with the database at the same time and the side is rebuilt
+ * if they differ, which catches deletes.
+ */
+@Service
+@Slf4j
+public class MatchIndex {
+
+    public static final int RELEVANCE_PRIMARY = 3;
+    public static final int RELEVANCE_SECONDARY = 2;
+
+    // Shorter query tokens only match exactly; as prefixes they would pull in most of the index
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final long[] EMPTY = new long[0];
+
+    public enum Side {
+        WORKERS("labour", "labour_id", "work_expertise", "bio", "experience"),
+        JOBS("work", "work_id", "type_of_work", "description", "posted_date");
+
+        private final String table;
+        private final String idColumn;
+        private final String primaryColumn;
+        private final String secondaryColumn;
+        private final String rankColumn;
+
+        Side(String table, String idColumn, String primaryColumn, String secondaryColumn, String rankColumn) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.primaryColumn = primaryColumn;
+            this.secondaryColumn = secondaryColumn;
+            this.rankColumn = rankColumn;
+        }
+    }
+
+    /**
+     * Matching row ids in the order of the repository's scored queries
+     *
+     * @param relevance     {@link #RELEVANCE_PRIMARY} or {@link #RELEVANCE_SECONDARY}, parallel to ids
+     * @param locationScore see {@link #locationScore}, parallel to ids
+     */
+    public record Candidates(long[] ids, int[] relevance, int[] locationScore) {}
+
+    private record Hit(long id, int relevance, int locationScore, long rank) {}
+
+    private static final Comparator<Hit> SQL_ORDER = Comparator.comparingInt(Hit::locationScore).reversed()
+            .thenComparing(Comparator.comparingInt(Hit::relevance).reversed())
+            .thenComparing(Comparator.comparingLong(Hit::rank).reversed())
+            .thenComparing(Comparator.comparingLong(Hit::id).reversed());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.matching.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.matching.index.sync.lag.ms:120000}")
+    private long syncLagMs;
+
+    private final Map<Side, Postings> sides = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder totalQueryNanos = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder inconsistencies = new LongAdder();
+
+    public MatchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        for (Side side : Side.values()) {
+            rebuild(side);
+            if (!isConsistent(side)) {
+                // A row landed between the load and the check; one more pass usually settles it
+                rebuild(side);
+                if (!isConsistent(side)) {
+                    inconsistencies.increment();
+                    log.warn("⚠️ Match index for {} still differs from the database, retrying at the next sync",
+                            side.table);
+                }
+            }
+        }
+        ready = true;
+    }
+
+    /**
+     * False while disabled or before the startup load, in which case matching falls back to SQL
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds or replaces a worker; call once the row is committed
+     */
+    public void index(Labour labour) {
+        if (labour.getLabourId() != null) {
+            index(Side.WORKERS, labour.getLabourId(), labour.getWorkExpertise(), labour.getBio(),
+                    labour.getLocation(), rank(labour.getExperience()));
+        }
+    }
+
+    /**
+     * Adds or replaces a job; call once the row is committed
+     */
+    public void index(Work work) {
+        if (work.getWorkId() != null) {
+            index(Side.JOBS, work.getWorkId(), work.getTypeOfWork(), work.getDescription(),
+                    work.getLocation(), rank(work.getPostedDate()));
+        }
+    }
+
+    void index(Side side, long id, String primaryText, String secondaryText, String location, long rank) {
+        if (enabled) {
+            postings(side).put(id, new Row(tokens(primaryText), tokens(secondaryText), lower(location), rank));
+        }
+    }
+
+    public void remove(Side side, Long id) {
+        if (enabled && id != null) {
+            postings(side).remove(id);
+        }
+    }
+
+    /**
+     * Rows whose primary or secondary text matches every token of the skill, ranked over all matches
+     * and then cut to the first limit
+     */
+    public Candidates find(Side side, String skill, String location, int limit) {
+        long start = System.nanoTime();
+        String[] query = tokens(skill);
+        Postings postings = postings(side);
+
+        long[] primary = query.length > 0 ? postings.match(postings.primary, query) : EMPTY;
+        long[] secondary = query.length > 0 ? subtract(postings.match(postings.secondary, query), primary) : EMPTY;
+
+        String place = lower(location);
+        List<Hit> hits = new ArrayList<>(primary.length + secondary.length);
+        addHits(hits, postings, primary, RELEVANCE_PRIMARY, place);
+        addHits(hits, postings, secondary, RELEVANCE_SECONDARY, place);
+        hits.sort(SQL_ORDER);
+
+        int count = Math.min(hits.size(), Math.max(limit, 0));
+        long[] ids = new long[count];
+        int[] relevance = new int[count];
+        int[] locationScore = new int[count];
+        for (int i = 0; i < count; i++) {
+            Hit hit = hits.get(i);
+            ids[i] = hit.id();
+            relevance[i] = hit.relevance();
+            locationScore[i] = hit.locationScore();
+        }
+
+        queries.increment();
+        totalQueryNanos.add(System.nanoTime() - start);
+        return new Candidates(ids, relevance, locationScore);
+    }
+
+    private static void addHits(List<Hit> hits, Postings postings, long[] ids, int relevance, String place) {
+        for (long id : ids) {
+            Row row = postings.rows.get(id);
+            // Removed since the posting lists were read
+            if (row != null) {
+                hits.add(new Hit(id, relevance, locationScore(row.location(), place), row.rank()));
+            }
+        }
+    }
+
+    /**
+     * Same rule as the repository queries: exact place 100, contains it 50, otherwise 0.
+     * Both arguments are lower-cased.
+     */
+    static int locationScore(String candidate, String location) {
+        if (candidate == null || location == null) {
+            return 0;
+        }
+        if (candidate.equals(location)) {
+            return 100;
+        }
+        return candidate.contains(location) ? 50 : 0;
+    }
+
+    /**
+     * Experience or posted date as a descending sort key. PostgreSQL puts NULLs first in DESC order,
+     * so a missing value ranks highest here too.
+     */
+    static long rank(Integer experience) {
+        return experience != null ? experience : Long.MAX_VALUE;
+    }
+
+    static long rank(LocalDateTime postedDate) {
+        return postedDate != null ? Timestamp.valueOf(postedDate).getTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Picks up rows inserted or edited by other replicas and rebuilds a side whose row count or id sum drifted
+     */
+    @Scheduled(fixedDelayString = "${app.matching.index.sync.ms:60000}",
+            initialDelayString = "${app.matching.index.sync.ms:60000}")
+    public void sync() {
+        if (!ready) {
+            return;
+        }
+        for (Side side : Side.values()) {
+            Postings postings = postings(side);
+            load(side, postings, postings.maxId, postings.maxUpdated - syncLagMs);
+            if (!isConsistent(side)) {
+                inconsistencies.increment();
+                log.warn("⚠️ Match index for {} out of sync with the database, rebuilding", side.table);
+                rebuild(side);
+            }
+        }
+    }
+
+    private void rebuild(Side side) {
+        long start = System.currentTimeMillis();
+        PostingsBuilder builder = new PostingsBuilder();
+        load(side, builder, 0, 0);
+        Postings postings = builder.build();
+        sides.put(side, postings);
+        rebuilds.increment();
+        log.info("✅ Match index for {} built: {} rows, {} tokens in {} ms", side.table, postings.rows.size(),
+                postings.primary.size() + postings.secondary.size(), System.currentTimeMillis() - start);
+    }
+
+    private void load(Side side, RowSink postings, long afterId, long updatedAfterMillis) {
+        jdbcTemplate.query("SELECT " + side.idColumn + ", " + side.primaryColumn + ", " + side.secondaryColumn
+                        + ", location, " + side.rankColumn + ", last_updated FROM " + side.table
+                        + " WHERE " + side.idColumn + " > ? OR last_updated > ?",
+                rs -> {
+                    Object rankValue = rs.getObject(5);
+                    long rank = rankValue instanceof Timestamp postedDate ? postedDate.getTime()
+                            : rankValue instanceof Number experience ? experience.longValue() : Long.MAX_VALUE;
+                    postings.put(rs.getLong(1), new Row(tokens(rs.getString(2)), tokens(rs.getString(3)),
+                            lower(rs.getString(4)), rank));
+                    Timestamp updated = rs.getTimestamp(6);
+                    if (updated != null) {
+                        postings.seenUpdate(updated.getTime());
+                    }
+                },
+                afterId, new Timestamp(Math.max(updatedAfterMillis, 0)));
+    }
+
+    private boolean isConsistent(Side side) {
+        Postings postings = postings(side);
+        long[] counts = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*), COALESCE(SUM(" + side.idColumn + "), 0) FROM " + side.table,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        long[] indexed = postings.countAndIdSum();
+        boolean consistent = counts != null && counts[0] == indexed[0] && counts[1] == indexed[1];
+        if (!consistent) {
+            log.debug("Match index for {}: database {} rows, index {} rows", side.table,
+                    counts != null ? counts[0] : -1, indexed[0]);
+        }
+        return consistent;
+    }
+
+    private Postings postings(Side side) {
+        Postings postings = sides.get(side);
+        return postings != null ? postings : new Postings();
+    }
+
+    private static String lower(String text) {
+        return text != null ? text.toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Lower-cased letter/digit runs; combining marks are kept so Kannada and Devanagari words stay whole
+     */
+    static String[] tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            int type = Character.getType(c);
+            if (Character.isLetterOrDigit(c) || type == Character.NON_SPACING_MARK
+                    || type == Character.COMBINING_SPACING_MARK) {
+                token.append(c);
+            } else if (!token.isEmpty()) {
+                String t = token.toString();
+                if (!tokens.contains(t)) {
+                    tokens.add(t);
+                }
+                token.setLength(0);
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    /**
+     * Sorted union of two sorted arrays
+     */
+    static long[] union(long[] a, long[] b) {
+        long[] out = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                out[n++] = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                out[n++] = b[j++];
+            } else {
+                out[n++] = a[i++];
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (b[j] < a[i]) {
+                j++;
+            } else {
+                out[n++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    static long[] subtract(long[] a, long[] b) {
+        long[] out = new long[a.length];
+        int j = 0;
+        int n = 0;
+        for (long id : a) {
+            while (j < b.length && b[j] < id) {
+                j++;
+            }
+            if (j == b.length || b[j] != id) {
+                out[n++] = id;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * A row's tokens plus what the ranking needs: lower-cased location and experience or posted date
+     */
+    private record Row(String[] primary, String[] secondary, String location, long rank) {}
+
+    /**
+     * Where {@link #load} puts the rows it reads
+     */
+    private interface RowSink {
+        void put(long id, Row row);
+
+        void seenUpdate(long updatedMillis);
+    }
+
+    /**
+     * One side's token dictionaries. Writers serialize on the instance; readers see whole arrays only.
+     */
+    private static final class Postings implements RowSink {
+        private final NavigableMap<String, long[]> primary;
+        private final NavigableMap<String, long[]> secondary;
+        private final Map<Long, Row> rows;
+        private volatile long maxId;
+        // Newest last_updated read from the database; local writes don't move it, their clock may differ
+        private volatile long maxUpdated;
+
+        Postings() {
+            this(new ConcurrentSkipListMap<>(), new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>(), 0, 0);
+        }
+
+        private Postings(NavigableMap<String, long[]> primary, NavigableMap<String, long[]> secondary,
+                         Map<Long, Row> rows, long maxId, long maxUpdated) {
+            this.primary = primary;
+            this.secondary = secondary;
+            this.rows = rows;
+            this.maxId = maxId;
+            this.maxUpdated = maxUpdated;
+        }
+
+        @Override
+        public synchronized void put(long id, Row row) {
+            remove(id);
+            for (String token : row.primary()) {
+                primary.merge(token, new long[]{id}, MatchIndex::union);
+            }
+            for (String token : row.secondary()) {
+                secondary.merge(token, new long[]{id}, MatchIndex::union);
+            }
+            rows.put(id, row);
+            maxId = Math.max(maxId, id);
+        }
+
+        @Override
+        public synchronized void seenUpdate(long updatedMillis) {
+            maxUpdated = Math.max(maxUpdated, updatedMillis);
+        }
+
+        synchronized void remove(long id) {
+            Row previous = rows.remove(id);
+            if (previous == null) {
+                return;
+            }
+            long[] single = {id};
+            for (String token : previous.primary()) {
+                primary.computeIfPresent(token, (t, ids) -> emptyToNull(subtract(ids, single)));
+            }
+            for (String token : previous.secondary()) {
+                secondary.computeIfPresent(token, (t, ids) -> emptyToNull(subtract(ids, single)));
+            }
+        }
+
+        /**
+         * Ids matching every query token, each as an exact token or (if long enough) as a prefix
+         */
+        long[] match(NavigableMap<String, long[]> dictionary, String[] query) {
+            long[] result = null;
+            for (String token : query) {
+                long[] hits = EMPTY;
+                if (token.length() < MIN_PREFIX_LENGTH) {
+                    hits = dictionary.getOrDefault(token, EMPTY);
+                } else {
+                    for (long[] ids : dictionary.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                        hits = union(hits, ids);
+                    }
+                }
+                result = result == null ? hits : intersect(result, hits);
+                if (result.length == 0) {
+                    break;
+                }
+            }
+            return result != null ? result : EMPTY;
+        }
+
+        long[] countAndIdSum() {
+            long sum = 0;
+            long count = 0;
+            for (Long id : rows.keySet()) {
+                sum += id;
+                count++;
+            }
+            return new long[]{count, sum};
+        }
+
+        int postingCount(NavigableMap<String, long[]> dictionary) {
+            int total = 0;
+            for (long[] ids : dictionary.values()) {
+                total += ids.length;
+            }
+            return total;
+        }
+
+        private static long[] emptyToNull(long[] ids) {
+            return ids.length == 0 ? null : ids;
+        }
+    }
+
+    /**
+     * Collects a full load privately, then sorts each token's ids once and hands over a finished
+     * {@link Postings}. Used by one thread only; nothing is visible to readers until build().
+     */
+    private static final class PostingsBuilder implements RowSink {
+        private final Map<String, IdBuffer> primary = new HashMap<>();
+        private final Map<String, IdBuffer> secondary = new HashMap<>();
+        private final Map<Long, Row> rows = new HashMap<>();
+        private long maxId;
+        private long maxUpdated;
+
+        @Override
+        public void put(long id, Row row) {
+            // Ids are the table's primary key, so each arrives once
+            rows.put(id, row);
+            for (String token : row.primary()) {
+                primary.computeIfAbsent(token, t -> new IdBuffer()).add(id);
+            }
+            for (String token : row.secondary()) {
+                secondary.computeIfAbsent(token, t -> new IdBuffer()).add(id);
+            }
+            maxId = Math.max(maxId, id);
+        }
+
+        @Override
+        public void seenUpdate(long updatedMillis) {
+            maxUpdated = Math.max(maxUpdated, updatedMillis);
+        }
+
+        Postings build() {
+            return new Postings(sorted(primary), sorted(secondary), new ConcurrentHashMap<>(rows), maxId, maxUpdated);
+        }
+
+        private static NavigableMap<String, long[]> sorted(Map<String, IdBuffer> buffers) {
+            TreeMap<String, long[]> dictionary = new TreeMap<>();
+            buffers.forEach((token, buffer) -> dictionary.put(token, buffer.toSortedArray()));
+            // Built from a sorted map in one pass
+            return new ConcurrentSkipListMap<>(dictionary);
+        }
+    }
+
+    /**
+     * Growable long[] of one token's row ids during a rebuild
+     */
+    private static final class IdBuffer {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        long[] toSortedArray() {
+            long[] sorted = Arrays.copyOf(ids, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    public Map<String, MatchIndexStats> getStats() {
+        Map<String, MatchIndexStats> stats = new LinkedHashMap<>();
+        long count = queries.sum();
+        double averageMicros = count > 0 ? TimeUnit.NANOSECONDS.toMicros(totalQueryNanos.sum()) / (double) count : 0.0;
+        for (Side side : Side.values()) {
+            Postings postings = postings(side);
+            stats.put(side.table, new MatchIndexStats(
+                    ready,
+                    postings.rows.size(),
+                    postings.primary.size(),
+                    postings.secondary.size(),
+                    postings.postingCount(postings.primary) + postings.postingCount(postings.secondary),
+                    count,
+                    averageMicros,
+                    rebuilds.sum(),
+                    inconsistencies.sum()
+            ));
+        }
+        return stats;
+    }
+
+    /**
+     * Query count, latency, rebuilds and inconsistencies are shared by both sides
+     */
+    public record MatchIndexStats(
+            boolean ready,
+            int rows,
+            int primaryTokens,
+            int secondaryTokens,
+            int postings,
+            long queries,
+            double averageQueryMicros,
+            long rebuilds,
+            long inconsistenciesFound
+    ) {}
+}
@@ -14,7 +14,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -27,6 +29,7 @@ public class MatchingService {
 
     private final LabourRepository labourRepository;
     private final WorkRepository workRepository;
+    private final MatchIndex matchIndex;
 
     @Value("${app.matching.weight.location:0.4}")
     private double locationWeight;
@@ -40,15 +43,28 @@ public class MatchingService {
     @Value("${app.sms.max.matches:2}")
     private int maxMatches;
 
+    /**
+     * Most relevant, newest index candidates loaded for scoring
+     */
+    @Value("${app.matching.index.max.candidates:1000}")
+    private int maxCandidates;
+
     /**
      * Finds matching jobs for a job seeker
      */
     public MatchResultDTO findMatchingJobs(String skill, String location, Integer preferredWage) {
-        log.info("Finding jobs for skill: {}, location: {}, wage: {}", skill, location, preferredWage);
+        return findMatchingJobs(skill, null, location, preferredWage);
+    }
+
+    /**
+     * Finds matching jobs for a job seeker, comparing canonical skill ids exactly when one is known
+     */
+    public MatchResultDTO findMatchingJobs(String skill, String skillId, String location, Integer preferredWage) {
+        log.info("Finding jobs for skill: {} ({}), location: {}, wage: {}", skill, skillId, location, preferredWage);
 
         try {
             // Get jobs with weighted scoring
-            List<Object[]> results = workRepository.findMatchingJobsWithScore(skill, location);
+            List<Object[]> results = candidates(MatchIndex.Side.JOBS, skill, skillId, location);
 
             List<MatchResultDTO.JobMatch> jobMatches = new ArrayList<>();
 
@@ -107,11 +123,20 @@ public class MatchingService {
      * Finds matching workers for an employer
      */
     public MatchResultDTO findMatchingWorkers(String requiredSkill, String location, Integer offeredWage) {
-        log.info("Finding workers for skill: {}, location: {}, wage: {}", requiredSkill, location, offeredWage);
+        return findMatchingWorkers(requiredSkill, null, location, offeredWage);
+    }
+
+    /**
+     * Finds matching workers for an employer, comparing canonical skill ids exactly when one is known
+     */
+    public MatchResultDTO findMatchingWorkers(String requiredSkill, String skillId, String location,
+                                              Integer offeredWage) {
+        log.info("Finding workers for skill: {} ({}), location: {}, wage: {}",
+                requiredSkill, skillId, location, offeredWage);
 
         try {
             // Get workers with weighted scoring
-            List<Object[]> results = labourRepository.findMatchingWorkersWithScore(requiredSkill, location);
+            List<Object[]> results = candidates(MatchIndex.Side.WORKERS, requiredSkill, skillId, location);
 
             List<MatchResultDTO.WorkerMatch> workerMatches = new ArrayList<>();
 
@@ -167,6 +192,70 @@ public class MatchingService {
         }
     }
 
+    /**
+     * Scored candidates {entity, relevance, locationScore}. With a skill id, rows of that trade match exactly
+     * and rows without a skill id (free-form answers, rows saved before skill ids) are still found by text;
+     * rows of another menu trade are left out.
+     */
+    private List<Object[]> candidates(MatchIndex.Side side, String skill, String skillId, String location) {
+        List<Object[]> freeText = matchIndex.isReady()
+                ? indexedCandidates(side, skill, location)
+                : side == MatchIndex.Side.WORKERS
+                        ? labourRepository.findMatchingWorkersWithScore(skill, location)
+                        : workRepository.findMatchingJobsWithScore(skill, location);
+        if (skillId == null) {
+            return freeText;
+        }
+
+        List<Object[]> results = new ArrayList<>(side == MatchIndex.Side.WORKERS
+                ? labourRepository.findMatchingWorkersBySkillId(skillId, location)
+                : workRepository.findMatchingJobsBySkillId(skillId, location));
+        for (Object[] result : freeText) {
+            String rowSkillId = result[0] instanceof Labour labour
+                    ? labour.getSkillId()
+                    : ((Work) result[0]).getSkillId();
+            if (rowSkillId == null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Candidates from the in-memory index, ranked over every match, loaded by primary key and shaped like
+     * the repository's scored queries: {entity, relevance, locationScore}
+     */
+    private List<Object[]> indexedCandidates(MatchIndex.Side side, String skill, String location) {
+        MatchIndex.Candidates candidates = matchIndex.find(side, skill, location, maxCandidates);
+        Map<Long, Integer> position = new HashMap<>();
+        for (int i = 0; i < candidates.ids().length; i++) {
+            position.put(candidates.ids()[i], i);
+        }
+
+        // Keep the index's order, which is the SQL's: location, relevance, then experience or posted date
+        Object[][] ordered = new Object[candidates.ids().length][];
+        if (side == MatchIndex.Side.WORKERS) {
+            for (Labour labour : labourRepository.findAllById(position.keySet())) {
+                int i = position.get(labour.getLabourId());
+                ordered[i] = new Object[]{labour, candidates.relevance()[i], candidates.locationScore()[i]};
+            }
+        } else {
+            for (Work work : workRepository.findAllById(position.keySet())) {
+                int i = position.get(work.getWorkId());
+                ordered[i] = new Object[]{work, candidates.relevance()[i], candidates.locationScore()[i]};
+            }
+        }
+
+        List<Object[]> results = new ArrayList<>(ordered.length);
+        for (Object[] result : ordered) {
+            // Deleted since the index was read
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
     /**
      * Calculates match score for a job
      * Score range: 0-100
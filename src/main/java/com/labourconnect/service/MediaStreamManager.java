@@ -0,0 +1,320 @@
+package com.labourconnect.service;
+
+import com.google.api.gax.rpc.ClientStream;
+import com.google.api.gax.rpc.ResponseObserver;
+import com.google.api.gax.rpc.StreamController;
+import com.google.cloud.speech.v1.StreamingRecognitionResult;
+import com.google.cloud.speech.v1.StreamingRecognizeRequest;
+import com.google.cloud.speech.v1.StreamingRecognizeResponse;
+import com.google.protobuf.UnsafeByteOperations;
+import com.labourconnect.dto.CaptureStrategy;
+import com.labourconnect.dto.SessionField;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bridges Twilio Media Streams to Google streamingRecognize, one stream per prompted field.
+ *
+ * Frames arriving on the WebSocket are decoded from μ-law and put on a bounded queue; a virtual
+ * thread per stream drains it into the gRPC call. When the queue is full the WebSocket thread waits
+ * briefly and then drops the frame, so a slow STT stream cannot stall other calls' sockets.
+ * On the final result the transcript is written to the session and the socket is closed,
+ * which makes Twilio continue with the Connect action. Both happen on a virtual thread, since
+ * the final result arrives on a gRPC thread that must not block on the session store.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MediaStreamManager {
+
+    private static final long POLL_MS = 50;
+
+    private final SpeechToTextService speechToTextService;
+    private final SessionStore sessionStore;
+    private final WebSocketLogService webSocketLogService;
+    private final CaptureStatsService captureStats;
+
+    @Value("${app.ivr.stream.queue.frames:100}") // Twilio sends 20 ms frames, so 2 s of audio
+    private int queueFrames;
+
+    @Value("${app.ivr.stream.offer.timeout.ms:20}")
+    private long offerTimeoutMs;
+
+    @Value("${app.ivr.max.recording.duration:30}")
+    private int maxDurationSeconds;
+
+    private final Map<String, MediaStream> streams = new ConcurrentHashMap<>(); // by Twilio streamSid
+    private final TtlLruCache<String, CompletableFuture<String>> results =
+            new TtlLruCache<>(10_000, TimeUnit.MINUTES.toMillis(5)); // by callSid:field, until the action webhook takes it
+
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder transcribed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder framesReceived = new LongAdder();
+    private final LongAdder framesDropped = new LongAdder();
+    private final LongAdder finalizeCount = new LongAdder();
+    private final LongAdder totalFinalizeMs = new LongAdder();
+
+    /**
+     * Starts recognition for a stream announced by Twilio's "start" event
+     */
+    public void open(WebSocketSession socket, String streamSid, String callSid, SessionField field) {
+        MediaStream stream = new MediaStream(socket, streamSid, callSid, field);
+        streams.put(streamSid, stream);
+        results.put(resultKey(callSid, field), stream.result);
+        opened.increment();
+
+        log.info("🎧 Media stream {} opened for {} - CallSid: {}", streamSid, field.getKey(), callSid);
+        Thread.ofVirtual().name("media-stream-" + streamSid).start(stream::run);
+    }
+
+    /**
+     * Queues one μ-law frame. Returns once the frame is queued or dropped.
+     */
+    public void onAudio(String streamSid, byte[] mulaw) {
+        MediaStream stream = streams.get(streamSid);
+        if (stream == null) {
+            return; // already finished; Twilio keeps sending until the socket closes
+        }
+        framesReceived.increment();
+        try {
+            if (!stream.queue.offer(MuLawDecoder.toLinear16(mulaw), offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                framesDropped.increment();
+            } else {
+                stream.lastFrameNanos = System.nanoTime();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Twilio stopped sending audio (stop event or socket closed); the queued audio is still recognized
+     */
+    public void onStop(String streamSid) {
+        MediaStream stream = streams.get(streamSid);
+        if (stream != null) {
+            stream.inputEnded = true;
+        }
+    }
+
+    /**
+     * Hands over the transcript future of a streamed field, or null if it was not streamed through this node
+     */
+    public CompletableFuture<String> takeTranscript(String callSid, SessionField field) {
+        String key = resultKey(callSid, field);
+        CompletableFuture<String> result = results.get(key);
+        results.remove(key);
+        return result;
+    }
+
+    private static String resultKey(String callSid, SessionField field) {
+        return callSid + ":" + field.getKey();
+    }
+
+    private final class MediaStream implements ResponseObserver<StreamingRecognizeResponse> {
+
+        private final WebSocketSession socket;
+        private final String streamSid;
+        private final String callSid;
+        private final SessionField field;
+        private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(queueFrames);
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final StringBuilder transcript = new StringBuilder();
+        private volatile double confidence = -1;
+        private final long startedAt = System.currentTimeMillis();
+
+        private volatile SpeechToTextService.StreamingPermit permit;
+        private volatile Throwable error;
+        private volatile boolean started;
+        private volatile boolean inputEnded;
+        private volatile boolean utteranceEnded;
+        private volatile long lastFrameNanos;
+
+        private MediaStream(WebSocketSession socket, String streamSid, String callSid, SessionField field) {
+            this.socket = socket;
+            this.streamSid = streamSid;
+            this.callSid = callSid;
+            this.field = field;
+        }
+
+        private void run() {
+            permit = speechToTextService.acquireStreamingPermit();
+            if (permit == null) {
+                log.warn("⚠️ Google STT at capacity, media stream {} left untranscribed", streamSid);
+                finish(null, false);
+                return;
+            }
+
+            ClientStream<StreamingRecognizeRequest> call;
+            try {
+                call = speechToTextService.startStreaming(this);
+            } catch (CircuitBreaker.CircuitOpenException e) {
+                log.warn("⚠️ STT unavailable, media stream {} left untranscribed", streamSid);
+                finish(null, false);
+                return;
+            } catch (RuntimeException e) {
+                log.error("❌ Could not open streaming recognition for media stream {}: {}", streamSid, e.getMessage());
+                error = e;
+                finish(null, false);
+                return;
+            }
+            if (call == null) {
+                log.warn("⚠️ Google Cloud STT not configured, media stream {} cannot be transcribed", streamSid);
+                finish(null, false);
+                return;
+            }
+            started = true;
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(maxDurationSeconds);
+            try {
+                while (!finished.get() && !utteranceEnded) {
+                    byte[] pcm = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                    if (pcm != null) {
+                        call.send(StreamingRecognizeRequest.newBuilder()
+                                .setAudioContent(UnsafeByteOperations.unsafeWrap(pcm))
+                                .build());
+                    } else if (inputEnded || System.nanoTime() > deadline) {
+                        break;
+                    }
+                }
+                call.closeSend();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                call.closeSendWithError(e);
+            } catch (RuntimeException e) {
+                log.error("❌ Error sending audio of media stream {}: {}", streamSid, e.getMessage());
+                call.closeSendWithError(e);
+            }
+        }
+
+        @Override
+        public void onStart(StreamController controller) {
+        }
+
+        @Override
+        public void onResponse(StreamingRecognizeResponse response) {
+            if (response.getSpeechEventType()
+                    == StreamingRecognizeResponse.SpeechEventType.END_OF_SINGLE_UTTERANCE) {
+                utteranceEnded = true;
+            }
+            for (StreamingRecognitionResult recognitionResult : response.getResultsList()) {
+                if (recognitionResult.getIsFinal() && recognitionResult.getAlternativesCount() > 0) {
+                    transcript.append(recognitionResult.getAlternatives(0).getTranscript());
+                    confidence = recognitionResult.getAlternatives(0).getConfidence();
+                    // Single-utterance mode yields one final result; no need to wait for the stream to close
+                    finish(transcript.toString(), true);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            log.error("❌ Streaming recognition failed for media stream {}: {}", streamSid, t.getMessage());
+            error = t;
+            finish(null, false);
+        }
+
+        @Override
+        public void onComplete() {
+            finish(transcript.isEmpty() ? null : transcript.toString(), true);
+        }
+
+        private void finish(String raw, boolean success) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            streams.remove(streamSid);
+            if (started) {
+                speechToTextService.recordStreamingOutcome(success);
+            }
+            if (permit != null) {
+                permit.release(error);
+            }
+            if (success) {
+                transcribed.increment();
+            } else {
+                failed.increment();
+            }
+            long afterLastFrameMs = lastFrameNanos != 0
+                    ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastFrameNanos)
+                    : 0;
+            if (lastFrameNanos != 0) {
+                finalizeCount.increment();
+                totalFinalizeMs.add(afterLastFrameMs);
+            }
+
+            String text = speechToTextService.isValidTranscription(raw)
+                    ? speechToTextService.cleanTranscription(raw)
+                    : TranscriptionService.UNKNOWN;
+            long elapsed = System.currentTimeMillis() - startedAt;
+            log.info("Streamed {} transcribed in {} ms: '{}' - CallSid: {}", field.getKey(), elapsed, text, callSid);
+            webSocketLogService.logTranscriptionTiming(callSid, field.getKey(), elapsed, false);
+            captureStats.record(callSid, field.getKey(), CaptureStrategy.STREAM, text, afterLastFrameMs, confidence);
+
+            result.complete(text);
+            Thread.ofVirtual().name("media-stream-store-" + streamSid).start(() -> {
+                store(text);
+                // Closing the socket ends <Connect>; Twilio then requests the action URL
+                try {
+                    socket.close(CloseStatus.NORMAL);
+                } catch (IOException e) {
+                    log.debug("Media stream {} socket already closed", streamSid);
+                }
+            });
+        }
+
+        /**
+         * Written before the socket closes, so the action webhook finds it on any node
+         */
+        private void store(String text) {
+            try {
+                sessionStore.update(callSid, session -> session.setTranscript(field, text));
+            } catch (OptimisticLockingFailureException e) {
+                log.warn("Could not store streamed transcript after {} attempts - CallSid: {}",
+                        SessionStore.MAX_UPDATE_ATTEMPTS, callSid);
+            } catch (RuntimeException e) {
+                log.error("❌ Could not store streamed transcript - CallSid: {}: {}", callSid, e.getMessage());
+            }
+        }
+    }
+
+    public MediaStreamStats getStats() {
+        long finalized = finalizeCount.sum();
+        return new MediaStreamStats(
+                streams.size(),
+                opened.sum(),
+                transcribed.sum(),
+                failed.sum(),
+                framesReceived.sum(),
+                framesDropped.sum(),
+                finalized > 0 ? (double) totalFinalizeMs.sum() / finalized : 0.0
+        );
+    }
+
+    public record MediaStreamStats(
+            int active,
+            long opened,
+            long transcribed,
+            long failed,
+            long framesReceived,
+            long framesDropped,
+            double averageMsAfterLastFrame
+    ) {}
+}
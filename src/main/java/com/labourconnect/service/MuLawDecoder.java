@@ -0,0 +1,43 @@
+package com.labourconnect.service;
+
+/**
+ * G.711 μ-law to 16-bit linear PCM, as sent by Twilio Media Streams (8 kHz mono).
+ * Decoding is a lookup in a 256-entry table built once.
+ */
+public final class MuLawDecoder {
+
+    private static final short[] TABLE = new short[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int mulaw = ~i & 0xFF;
+            int sign = mulaw & 0x80;
+            int exponent = (mulaw >> 4) & 0x07;
+            int mantissa = mulaw & 0x0F;
+            int magnitude = ((mantissa << 3) + 0x84) << exponent;
+            TABLE[i] = (short) (sign != 0 ? 0x84 - magnitude : magnitude - 0x84);
+        }
+    }
+
+    private MuLawDecoder() {
+    }
+
+    public static short decode(byte mulaw) {
+        return TABLE[mulaw & 0xFF];
+    }
+
+    /**
+     * Decodes μ-law bytes into little-endian LINEAR16, the encoding the STT requests are configured for
+     *
+     * @return a new array twice the input length
+     */
+    public static byte[] toLinear16(byte[] mulaw) {
+        byte[] pcm = new byte[mulaw.length * 2];
+        for (int i = 0; i < mulaw.length; i++) {
+            short sample = TABLE[mulaw[i] & 0xFF];
+            pcm[2 * i] = (byte) sample;
+            pcm[2 * i + 1] = (byte) (sample >> 8);
+        }
+        return pcm;
+    }
+}
@@ -0,0 +1,315 @@
+package com.labourconnect.service;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The one OkHttp stack for outbound HTTP (Groq, Twilio recording downloads).
+ *
+ * All targets share a dispatcher running callbacks on virtual threads; each target has its own
+ * connection pool, timeouts and retry budget, so a slow download cannot hold Groq's connections.
+ * Transport failures and 502/503/504 are retried with jittered exponential backoff; other
+ * statuses are handed to the caller. Per-host call, latency and connection reuse counts come
+ * from an OkHttp EventListener.
+ *
+ * Per target: app.http.{key}.connect-timeout-ms, .read-timeout-ms, .call-timeout-ms,
+ * .max-retries, .pool.max-idle
+ */
+@Service
+@Slf4j
+public class OutboundHttpClient {
+
+    private static final Set<Integer> RETRY_STATUSES = Set.of(502, 503, 504);
+    private static final long BACKOFF_BASE_MS = 200;
+
+    public enum Target {
+        GROQ("groq", 5_000, 20_000, 30_000, 1),
+        TWILIO_MEDIA("twilio-media", 5_000, 30_000, 60_000, 2);
+
+        private final String key;
+        private final long connectTimeoutMs;
+        private final long readTimeoutMs;
+        private final long callTimeoutMs;
+        private final int maxRetries;
+
+        Target(String key, long connectTimeoutMs, long readTimeoutMs, long callTimeoutMs, int maxRetries) {
+            this.key = key;
+            this.connectTimeoutMs = connectTimeoutMs;
+            this.readTimeoutMs = readTimeoutMs;
+            this.callTimeoutMs = callTimeoutMs;
+            this.maxRetries = maxRetries;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * Reads the final response; it is closed afterwards, so the result must not hold on to the body
+     */
+    @FunctionalInterface
+    public interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+
+    private final ExecutorService callbackExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-", 0).factory());
+    private final Dispatcher dispatcher = new Dispatcher(callbackExecutor);
+    private final Map<Target, OkHttpClient> clients = new EnumMap<>(Target.class);
+    private final Map<Target, Integer> maxRetries = new EnumMap<>(Target.class);
+    private final Map<String, HostMetrics> hosts = new ConcurrentHashMap<>();
+    private final LongAdder retries = new LongAdder();
+
+    public OutboundHttpClient(Environment environment) {
+        dispatcher.setMaxRequests(environment.getProperty("app.http.max-requests", Integer.class, 128));
+        dispatcher.setMaxRequestsPerHost(environment.getProperty("app.http.max-requests-per-host", Integer.class, 32));
+
+        OkHttpClient base = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .eventListenerFactory(call -> new MetricsListener())
+                .build();
+
+        for (Target target : Target.values()) {
+            String prefix = "app.http." + target.getKey() + ".";
+            long connectTimeoutMs = environment.getProperty(prefix + "connect-timeout-ms", Long.class,
+                    target.connectTimeoutMs);
+            long readTimeoutMs = environment.getProperty(prefix + "read-timeout-ms", Long.class, target.readTimeoutMs);
+            long callTimeoutMs = environment.getProperty(prefix + "call-timeout-ms", Long.class, target.callTimeoutMs);
+            int retriesAllowed = environment.getProperty(prefix + "max-retries", Integer.class, target.maxRetries);
+            int maxIdle = environment.getProperty(prefix + "pool.max-idle", Integer.class, 8);
+
+            clients.put(target, base.newBuilder()
+                    .connectionPool(new ConnectionPool(maxIdle, 5, TimeUnit.MINUTES))
+                    .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                    .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+                    .writeTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+                    .callTimeout(callTimeoutMs, TimeUnit.MILLISECONDS)
+                    // Retries are ours, with backoff and metrics
+                    .retryOnConnectionFailure(false)
+                    .build());
+            maxRetries.put(target, retriesAllowed);
+            log.info("HTTP target {}: connect {} ms, read {} ms, call {} ms, {} retries, {} idle connections",
+                    target.getKey(), connectTimeoutMs, readTimeoutMs, callTimeoutMs, retriesAllowed, maxIdle);
+        }
+    }
+
+    /**
+     * Sends the request without blocking the calling thread. The handler runs on a virtual thread
+     * once the final attempt's response arrives.
+     */
+    public <T> CompletableFuture<T> send(Target target, Request request, ResponseHandler<T> handler) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(target, request, handler, result, 0);
+        return result;
+    }
+
+    /**
+     * Blocking form of {@link #send}, for callers already on a virtual thread or holding a bulkhead permit
+     */
+    public <T> T execute(Target target, Request request, ResponseHandler<T> handler) throws IOException {
+        try {
+            return send(target, request, handler).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private <T> void attempt(Target target, Request request, ResponseHandler<T> handler,
+                             CompletableFuture<T> result, int attempt) {
+        clients.get(target).newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (!call.isCanceled() && retry(target, request, handler, result, attempt, e.getMessage())) {
+                    return;
+                }
+                result.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    if (RETRY_STATUSES.contains(response.code())
+                            && retry(target, request, handler, result, attempt, "HTTP " + response.code())) {
+                        return;
+                    }
+                    result.complete(handler.handle(response));
+                } catch (IOException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    private <T> boolean retry(Target target, Request request, ResponseHandler<T> handler,
+                              CompletableFuture<T> result, int attempt, String reason) {
+        if (attempt >= maxRetries.get(target)) {
+            return false;
+        }
+        long backoffMs = (BACKOFF_BASE_MS << attempt) + ThreadLocalRandom.current().nextLong(BACKOFF_BASE_MS);
+        retries.increment();
+        log.warn("⚠️ {} {} failed ({}), retry {} in {} ms", target.getKey(), request.url().host(), reason,
+                attempt + 1, backoffMs);
+        CompletableFuture.delayedExecutor(backoffMs, TimeUnit.MILLISECONDS, callbackExecutor)
+                .execute(() -> attempt(target, request, handler, result, attempt + 1));
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.cancelAll();
+        callbackExecutor.shutdown();
+        clients.values().forEach(client -> client.connectionPool().evictAll());
+    }
+
+    /**
+     * One instance per call. A connection acquired without a connect just before it was reused from the pool.
+     * Connections are counted against the host they lead to, which differs from the call's host after a redirect.
+     */
+    private final class MetricsListener extends EventListener {
+        private long callStartNanos;
+        private long connectStartNanos;
+        private boolean connecting;
+
+        @Override
+        public void callStart(Call call) {
+            callStartNanos = System.nanoTime();
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+            connectStartNanos = System.nanoTime();
+            connecting = true;
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            HostMetrics metrics = metrics(connection.route().address().url().host());
+            if (connecting) {
+                connecting = false;
+                metrics.connectionsOpened.increment();
+                metrics.totalConnectMs.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStartNanos));
+            } else {
+                metrics.connectionsReused.increment();
+            }
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            finish(call, false);
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            finish(call, !(ioe instanceof InterruptedIOException && call.isCanceled()));
+        }
+
+        private void finish(Call call, boolean failed) {
+            HostMetrics metrics = metrics(call.request().url().host());
+            metrics.calls.increment();
+            if (failed) {
+                metrics.failures.increment();
+            }
+            metrics.totalLatencyMs.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - callStartNanos));
+        }
+
+        private HostMetrics metrics(String host) {
+            return hosts.computeIfAbsent(host, h -> new HostMetrics());
+        }
+    }
+
+    private static final class HostMetrics {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder connectionsOpened = new LongAdder();
+        private final LongAdder connectionsReused = new LongAdder();
+        private final LongAdder totalLatencyMs = new LongAdder();
+        private final LongAdder totalConnectMs = new LongAdder();
+
+        HostStats stats() {
+            long count = calls.sum();
+            long opened = connectionsOpened.sum();
+            long acquired = opened + connectionsReused.sum();
+            return new HostStats(
+                    count,
+                    failures.sum(),
+                    opened,
+                    connectionsReused.sum(),
+                    acquired > 0 ? (double) connectionsReused.sum() / acquired : 0.0,
+                    count > 0 ? (double) totalLatencyMs.sum() / count : 0.0,
+                    opened > 0 ? (double) totalConnectMs.sum() / opened : 0.0
+            );
+        }
+    }
+
+    public OutboundHttpStats getStats() {
+        Map<String, Integer> idleConnections = new LinkedHashMap<>();
+        clients.forEach((target, client) ->
+                idleConnections.put(target.getKey(), client.connectionPool().idleConnectionCount()));
+        Map<String, HostStats> perHost = new LinkedHashMap<>();
+        hosts.forEach((host, metrics) -> perHost.put(host, metrics.stats()));
+        return new OutboundHttpStats(
+                dispatcher.runningCallsCount(),
+                dispatcher.queuedCallsCount(),
+                retries.sum(),
+                idleConnections,
+                perHost
+        );
+    }
+
+    public record OutboundHttpStats(
+            int running,
+            int queued,
+            long retries,
+            Map<String, Integer> idleConnections,
+            Map<String, HostStats> hosts
+    ) {}
+
+    /**
+     * @param calls each attempt counts, so retries show up here too
+     */
+    public record HostStats(
+            long calls,
+            long failures,
+            long connectionsOpened,
+            long connectionsReused,
+            double reuseRate,
+            double averageLatencyMs,
+            double averageConnectMs
+    ) {}
+}
@@ -0,0 +1,160 @@
+package com.labourconnect.service;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Raw PCM samples of a downloaded WAV recording, held in a (possibly pooled) buffer.
+ * The RIFF header is parsed and skipped, so only sample data is sent to STT.
+ * Close to hand the buffer back to the pool; the buffer must not be used afterwards.
+ */
+public final class PcmAudio implements AutoCloseable {
+
+    private static final int RIFF_HEADER_SIZE = 12;
+    private static final int CHUNK_HEADER_SIZE = 8;
+
+    private final byte[] buffer;
+    private final int offset;
+    private final int length;
+    private final int sampleRate;
+    private final AudioBufferPool pool;
+
+    private PcmAudio(byte[] buffer, int offset, int length, int sampleRate, AudioBufferPool pool) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.sampleRate = sampleRate;
+        this.pool = pool;
+    }
+
+    /**
+     * Streams a WAV body into a pooled buffer, growing into a one-off array only for oversized recordings.
+     * Reads in to the end and closes it.
+     *
+     * @param contentLength expected size in bytes, or -1 if unknown
+     */
+    public static PcmAudio read(InputStream in, long contentLength, AudioBufferPool pool) throws IOException {
+        byte[] buffer = pool.acquire(contentLength > 0 ? (int) contentLength : 0);
+        int size = 0;
+
+        try (in) {
+            while (true) {
+                if (size == buffer.length) {
+                    // Full: probe for one more byte before growing, so an exact fit does not reallocate
+                    int next = in.read();
+                    if (next == -1) {
+                        break;
+                    }
+                    byte[] larger = Arrays.copyOf(buffer, buffer.length * 2);
+                    pool.release(buffer);
+                    buffer = larger;
+                    buffer[size++] = (byte) next;
+                }
+                int read = in.read(buffer, size, buffer.length - size);
+                if (read == -1) {
+                    break;
+                }
+                size += read;
+            }
+            return fromWav(buffer, size, pool);
+        } catch (IOException | RuntimeException e) {
+            pool.release(buffer);
+            throw e;
+        }
+    }
+
+    /**
+     * Locates the "data" chunk of a RIFF/WAVE file held in buffer[0, size).
+     * Chunks are walked rather than assuming the canonical 44-byte header, since
+     * encoders may add LIST or fact chunks.
+     */
+    public static PcmAudio fromWav(byte[] buffer, int size, AudioBufferPool pool) throws IOException {
+        if (size < RIFF_HEADER_SIZE
+                || !tagEquals(buffer, 0, "RIFF")
+                || !tagEquals(buffer, 8, "WAVE")) {
+            throw new IOException("Not a RIFF/WAVE recording");
+        }
+
+        int sampleRate = 0;
+        int position = RIFF_HEADER_SIZE;
+        while (position + CHUNK_HEADER_SIZE <= size) {
+            long chunkSize = readIntLE(buffer, position + 4) & 0xFFFFFFFFL;
+            int body = position + CHUNK_HEADER_SIZE;
+
+            if (tagEquals(buffer, position, "fmt ") && body + 8 <= size) {
+                sampleRate = readIntLE(buffer, body + 4);
+            } else if (tagEquals(buffer, position, "data")) {
+                // Streamed WAVs may carry a placeholder size; trust the bytes actually received
+                int dataLength = (int) Math.min(chunkSize, size - body);
+                return new PcmAudio(buffer, body, dataLength, sampleRate, pool);
+            }
+
+            // Chunks are padded to an even size
+            position = (int) Math.min((long) body + chunkSize + (chunkSize & 1), Integer.MAX_VALUE);
+        }
+        throw new IOException("WAV recording has no data chunk");
+    }
+
+    /**
+     * Wraps the samples without copying. Valid only until this audio is closed.
+     */
+    public ByteString toByteString() {
+        return UnsafeByteOperations.unsafeWrap(buffer, offset, length);
+    }
+
+    /**
+     * View of part of the samples, sharing this audio's buffer. The view does not own the buffer:
+     * closing it is a no-op, and it is only valid until this audio is closed.
+     */
+    public PcmAudio slice(int from, int sliceLength) {
+        if (from < 0 || sliceLength < 0 || from + sliceLength > length) {
+            throw new IndexOutOfBoundsException("Slice [" + from + ", " + (from + sliceLength) + ") of " + length);
+        }
+        return new PcmAudio(buffer, offset + from, sliceLength, sampleRate, null);
+    }
+
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int sampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.release(buffer);
+        }
+    }
+
+    private static boolean tagEquals(byte[] buffer, int position, String tag) {
+        byte[] expected = tag.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer[position + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readIntLE(byte[] buffer, int position) {
+        return (buffer[position] & 0xFF)
+                | (buffer[position + 1] & 0xFF) << 8
+                | (buffer[position + 2] & 0xFF) << 16
+                | (buffer[position + 3] & 0xFF) << 24;
+    }
+}
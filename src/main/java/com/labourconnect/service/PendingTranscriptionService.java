@@ -0,0 +1,211 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.SessionField;
+import com.labourconnect.model.PendingTranscription;
+import com.labourconnect.repository.LabourRepository;
+import com.labourconnect.repository.PendingTranscriptionRepository;
+import com.labourconnect.repository.WorkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stores recordings that could not be transcribed while STT was unavailable and
+ * retries them in the background, filling in the labour/work field once a transcript comes back.
+ * Once no field of a row is pending any more, {@link TranscribedListener}s finish the row the way
+ * a fresh call would (extraction, matching, SMS).
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PendingTranscriptionService {
+
+    public static final String TARGET_LABOUR = "labour";
+    public static final String TARGET_WORK = "work";
+
+    private final PendingTranscriptionRepository pendingTranscriptionRepository;
+    private final LabourRepository labourRepository;
+    private final WorkRepository workRepository;
+    private final TranscriptionService transcriptionService;
+    private final ObjectProvider<TranscribedListener> transcribedListeners;
+
+    @Value("${app.stt.retry.max.attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.stt.retry.backoff.seconds:60}")
+    private long backoffSeconds;
+
+    // Retries block on downloads and STT, so they run here rather than on the shared scheduler thread
+    private final ExecutorService retryExecutor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("stt-retry").factory());
+    private final AtomicBoolean retryRunning = new AtomicBoolean();
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder resolved = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+
+    /**
+     * Notified when the last pending field of a labour/work row has been filled in (or given up on)
+     */
+    public interface TranscribedListener {
+        void onTranscribed(String callSid, String targetType, Long targetId);
+    }
+
+    /**
+     * Queues a recording whose transcript is stored as "Pending transcription"
+     */
+    public void enqueue(String callSid, String targetType, Long targetId, SessionField field,
+                        String recordingUrl, String language) {
+        if (recordingUrl == null) {
+            return;
+        }
+        pendingTranscriptionRepository.save(PendingTranscription.builder()
+                .callSid(callSid)
+                .recordingUrl(recordingUrl)
+                .targetType(targetType)
+                .targetId(targetId)
+                .field(field.getKey())
+                .language(language)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds))
+                .build());
+        enqueued.increment();
+        log.info("Queued {} of {} {} for transcription retry - CallSid: {}", field.getKey(), targetType, targetId, callSid);
+    }
+
+    @Scheduled(fixedDelayString = "${app.stt.retry.interval.ms:60000}")
+    public void scheduleRetry() {
+        if (!retryRunning.compareAndSet(false, true)) {
+            return; // the previous batch is still running
+        }
+        try {
+            retryExecutor.execute(() -> {
+                try {
+                    retryPending();
+                } catch (Exception e) {
+                    log.error("Transcription retry batch failed: {}", e.getMessage(), e);
+                } finally {
+                    retryRunning.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            retryRunning.set(false);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryExecutor.shutdownNow();
+    }
+
+    void retryPending() {
+        List<PendingTranscription> due =
+                pendingTranscriptionRepository.findTop50ByNextAttemptAtBeforeOrderByNextAttemptAtAsc(LocalDateTime.now());
+
+        for (PendingTranscription pending : due) {
+            String transcript = transcriptionService.transcribeNow(pending.getRecordingUrl(), pending.getLanguage());
+
+            if (!TranscriptionService.UNTRANSCRIBED.equals(transcript)) {
+                apply(pending, transcript);
+                pendingTranscriptionRepository.delete(pending);
+                resolved.increment();
+                notifyIfComplete(pending);
+                continue;
+            }
+
+            int attempts = pending.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                log.error("Giving up on transcription of {} for {} {} after {} attempts",
+                        pending.getField(), pending.getTargetType(), pending.getTargetId(), attempts);
+                apply(pending, TranscriptionService.UNKNOWN);
+                pendingTranscriptionRepository.delete(pending);
+                abandoned.increment();
+                notifyIfComplete(pending);
+                continue;
+            }
+
+            // STT is still unavailable; the rest of the batch would fail the same way
+            pending.setAttempts(attempts);
+            pending.setLastError("STT unavailable");
+            pending.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds << Math.min(attempts, 6)));
+            pendingTranscriptionRepository.save(pending);
+            break;
+        }
+    }
+
+    /**
+     * Stores the raw transcript in place of the placeholder; canonicalizing it is left to the listeners,
+     * which see all of the row's answers together
+     */
+    private void apply(PendingTranscription pending, String transcript) {
+        SessionField field = SessionField.fromKey(pending.getField());
+        if (field == null) {
+            return;
+        }
+
+        if (TARGET_LABOUR.equals(pending.getTargetType())) {
+            labourRepository.findById(pending.getTargetId()).ifPresent(labour -> {
+                switch (field) {
+                    case NAME -> labour.setName(transcript);
+                    case WORK_EXPERTISE -> labour.setWorkExpertise(transcript);
+                    case LOCATION -> labour.setLocation(transcript);
+                    default -> { }
+                }
+                labourRepository.save(labour);
+            });
+        } else {
+            workRepository.findById(pending.getTargetId()).ifPresent(work -> {
+                switch (field) {
+                    case TYPE_OF_WORK -> work.setTypeOfWork(transcript);
+                    case LOCATION -> work.setLocation(transcript);
+                    default -> { }
+                }
+                workRepository.save(work);
+            });
+        }
+        log.info("✅ Filled in {} of {} {} from retried transcription: '{}'",
+                pending.getField(), pending.getTargetType(), pending.getTargetId(), transcript);
+    }
+
+    private void notifyIfComplete(PendingTranscription pending) {
+        if (pendingTranscriptionRepository.existsByTargetTypeAndTargetId(pending.getTargetType(), pending.getTargetId())) {
+            return;
+        }
+        transcribedListeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onTranscribed(pending.getCallSid(), pending.getTargetType(), pending.getTargetId());
+            } catch (Exception e) {
+                log.error("Transcribed listener failed for {} {}: {}",
+                        pending.getTargetType(), pending.getTargetId(), e.getMessage());
+            }
+        });
+    }
+
+    public PendingTranscriptionStats getStats() {
+        return new PendingTranscriptionStats(
+                pendingTranscriptionRepository.count(),
+                enqueued.sum(),
+                resolved.sum(),
+                abandoned.sum()
+        );
+    }
+
+    public record PendingTranscriptionStats(
+            long pending,
+            long enqueued,
+            long resolved,
+            long abandoned
+    ) {}
+}
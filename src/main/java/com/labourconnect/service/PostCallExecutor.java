@@ -0,0 +1,135 @@
+package com.labourconnect.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for post-call work that counts its own backlog, so admission control and the stats
+ * read the same figures whether tasks run on a bounded platform pool or on virtual threads.
+ *
+ * On virtual threads every accepted call gets its own thread at once; there is no worker limit
+ * and no queue, and the per-dependency bulkheads are what make calls wait. The backlog is then
+ * every call in flight, and submissions beyond maxInFlight are rejected.
+ */
+@Slf4j
+public class PostCallExecutor implements TaskExecutor, DisposableBean {
+
+    private static final long SHUTDOWN_WAIT_SECONDS = 30;
+
+    private final ThreadPoolTaskExecutor pool; // null on virtual threads
+    private final ExecutorService virtualThreads; // null on the platform pool
+    private final int capacity;
+
+    private final AtomicInteger inFlight = new AtomicInteger(); // accepted, not yet finished
+    private final AtomicInteger running = new AtomicInteger();
+
+    private PostCallExecutor(ThreadPoolTaskExecutor pool, ExecutorService virtualThreads, int capacity) {
+        this.pool = pool;
+        this.virtualThreads = virtualThreads;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Runs tasks on an initialized platform pool; its queue holds the backlog
+     */
+    public static PostCallExecutor pooled(ThreadPoolTaskExecutor pool) {
+        return new PostCallExecutor(pool, null, pool.getQueueCapacity());
+    }
+
+    /**
+     * Runs each task on its own virtual thread, with at most maxInFlight tasks accepted at a time
+     */
+    public static PostCallExecutor virtual(int maxInFlight) {
+        return new PostCallExecutor(null,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("post-call-", 0).factory()), maxInFlight);
+    }
+
+    /**
+     * @throws TaskRejectedException if the pool queue is full, or maxInFlight calls are already in flight
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (inFlight.incrementAndGet() > capacity && virtualThreads != null) {
+            inFlight.decrementAndGet();
+            throw new TaskRejectedException("Post-call backlog full: " + capacity + " calls in flight");
+        }
+
+        Runnable counted = () -> {
+            running.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                running.decrementAndGet();
+                inFlight.decrementAndGet();
+            }
+        };
+        try {
+            if (pool != null) {
+                pool.execute(counted);
+            } else {
+                virtualThreads.execute(counted);
+            }
+        } catch (TaskRejectedException e) {
+            inFlight.decrementAndGet();
+            throw e;
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            throw new TaskRejectedException("Post-call executor is shut down", e);
+        }
+    }
+
+    /**
+     * Calls waiting for a pool worker, or on virtual threads every call in flight
+     */
+    public int queueDepth() {
+        int accepted = inFlight.get();
+        return virtualThreads != null ? accepted : Math.max(accepted - running.get(), 0);
+    }
+
+    /**
+     * Queue capacity of the pool, or maxInFlight on virtual threads
+     */
+    public int queueCapacity() {
+        return capacity;
+    }
+
+    public int running() {
+        return running.get();
+    }
+
+    public int poolSize() {
+        return pool != null ? pool.getPoolSize() : running.get();
+    }
+
+    /**
+     * Maximum pool size; 0 on virtual threads, which have no worker limit
+     */
+    public int maxPoolSize() {
+        return pool != null ? pool.getMaxPoolSize() : 0;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads != null;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (pool != null) {
+            pool.shutdown(); // waits for queued calls as configured on the pool
+            return;
+        }
+        virtualThreads.shutdown();
+        if (!virtualThreads.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("{} post-call tasks still running at shutdown", running.get());
+        }
+    }
+}
@@ -0,0 +1,543 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.*;
+import com.labourconnect.model.Labour;
+import com.labourconnect.model.Work;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.labourconnect.service.BulkheadRegistry.Dependency.POSTGRES;
+
+/**
+ * Runs the post-call pipeline (transcription, geocoding, DB save, matching, SMS)
+ * on a dedicated bounded executor so the IVR webhooks can return TwiML immediately.
+ * Calls saved with untranscribed fields are finished the same way once the retry has filled them in.
+ */
+@Service
+@Slf4j
+public class PostCallProcessingService implements PendingTranscriptionService.TranscribedListener {
+
+    private final PostCallExecutor executor;
+    private final LabourService labourService;
+    private final WorkService workService;
+    private final MatchingService matchingService;
+    private final TwilioService twilioService;
+    private final TranscriptionService transcriptionService;
+    private final CallLogService callLogService;
+    private final WebSocketLogService webSocketLogService;
+    private final CallDetailsExtractor callDetailsExtractor;
+    private final KafkaProducerService kafkaProducerService;
+    private final BulkheadRegistry bulkheads;
+    private final PendingTranscriptionService pendingTranscriptionService;
+
+    // Guards against re-enqueueing a call whose webhook was retried after the dedupe window or on another path
+    private final TtlLruCache<String, Boolean> submittedCalls = new TtlLruCache<>(20_000, TimeUnit.HOURS.toMillis(1));
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalQueueWaitMs = new LongAdder();
+    private final LongAdder totalLatencyMs = new LongAdder();
+    private final AtomicLong maxLatencyMs = new AtomicLong();
+
+    public PostCallProcessingService(@Qualifier("postCallExecutor") PostCallExecutor executor,
+                                     LabourService labourService,
+                                     WorkService workService,
+                                     MatchingService matchingService,
+                                     TwilioService twilioService,
+                                     TranscriptionService transcriptionService,
+                                     CallLogService callLogService,
+                                     WebSocketLogService webSocketLogService,
+                                     CallDetailsExtractor callDetailsExtractor,
+                                     KafkaProducerService kafkaProducerService,
+                                     BulkheadRegistry bulkheads,
+                                     PendingTranscriptionService pendingTranscriptionService) {
+        this.executor = executor;
+        this.labourService = labourService;
+        this.workService = workService;
+        this.matchingService = matchingService;
+        this.twilioService = twilioService;
+        this.transcriptionService = transcriptionService;
+        this.callLogService = callLogService;
+        this.webSocketLogService = webSocketLogService;
+        this.callDetailsExtractor = callDetailsExtractor;
+        this.kafkaProducerService = kafkaProducerService;
+        this.bulkheads = bulkheads;
+        this.pendingTranscriptionService = pendingTranscriptionService;
+    }
+
+    /**
+     * Queues job seeker processing. The returned future completes when processing finishes.
+     */
+    public CompletableFuture<Void> submitJobSeeker(IVRSessionDTO session) {
+        return submit(session, "job_seeker", () -> processJobSeeker(session));
+    }
+
+    /**
+     * Queues employer processing. The returned future completes when processing finishes.
+     */
+    public CompletableFuture<Void> submitEmployer(IVRSessionDTO session) {
+        return submit(session, "employer", () -> processEmployer(session));
+    }
+
+    /**
+     * Queues a re-match for a returning caller: matches for their latest registration or job, sent by SMS.
+     * Nothing is recorded or transcribed.
+     */
+    public CompletableFuture<Void> submitFreshMatches(IVRSessionDTO session) {
+        return submit(session, session.getCallPurpose(), () -> processFreshMatches(session));
+    }
+
+    private CompletableFuture<Void> submit(IVRSessionDTO session, String purpose, Runnable task) {
+        long enqueuedAt = System.currentTimeMillis();
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        synchronized (submittedCalls) {
+            if (submittedCalls.get(session.getCallSid()) != null) {
+                duplicates.increment();
+                log.warn("Post-call work already queued, ignoring duplicate - CallSid: {}", session.getCallSid());
+                future.complete(null);
+                return future;
+            }
+            submittedCalls.put(session.getCallSid(), Boolean.TRUE);
+        }
+
+        try {
+            executor.execute(() -> {
+                long startedAt = System.currentTimeMillis();
+                totalQueueWaitMs.add(startedAt - enqueuedAt);
+                try {
+                    task.run();
+                    completed.increment();
+                    future.complete(null);
+                } catch (Exception e) {
+                    failed.increment();
+                    future.completeExceptionally(e);
+                } finally {
+                    recordLatency(enqueuedAt);
+                }
+            });
+            submitted.increment();
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            // Not queued, so a Twilio retry of the final webhook may submit it again
+            synchronized (submittedCalls) {
+                submittedCalls.remove(session.getCallSid());
+            }
+            log.error("Post-call queue full, rejecting {} processing - CallSid: {}", purpose, session.getCallSid());
+            webSocketLogService.logError(session.getCallSid(), "Post-call queue full, call not processed");
+            // Rejection happens on the webhook thread; keep the DB write off it
+            int duration = callDurationSeconds(session);
+            Thread.ofVirtual().name("rejected-call-log").start(() -> {
+                try {
+                    bulkheads.execute(POSTGRES, () -> callLogService.logCall(session.getPhoneNo(), purpose,
+                            session.getLanguagePreference(), duration, "failed"));
+                } catch (Exception logError) {
+                    log.error("Failed to log rejected call {}: {}", session.getCallSid(), logError.getMessage());
+                }
+            });
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    private void processJobSeeker(IVRSessionDTO session) {
+        log.info("Async processing for job seeker started - CallSid: {}", session.getCallSid());
+
+        try {
+            // 1. Transcribe all audio files in parallel
+            Map<SessionField, String> transcripts = transcriptionService.transcribeAll(session,
+                    SessionField.NAME, SessionField.WORK_EXPERTISE, SessionField.LOCATION);
+            String name = transcripts.get(SessionField.NAME);
+            String expertise = transcripts.get(SessionField.WORK_EXPERTISE);
+            String location = transcripts.get(SessionField.LOCATION);
+
+            // Update session with transcribed data
+            session.setTranscript(SessionField.NAME, name);
+            session.setTranscript(SessionField.WORK_EXPERTISE, expertise);
+            session.setTranscript(SessionField.LOCATION, location);
+
+            // Log collected data
+            webSocketLogService.logDataCollected(session.getCallSid(), "name", name);
+            webSocketLogService.logDataCollected(session.getCallSid(), "work_expertise", expertise);
+            webSocketLogService.logDataCollected(session.getCallSid(), "location", location);
+
+            // 2. Canonical skill, place and wage from all answers at once
+            CallDetailsExtractor.CallDetails details = callDetailsExtractor.extract(session.getCallSid(), transcripts);
+            expertise = details.skill();
+            location = details.location();
+
+            // 3. Save to database
+            LabourDTO labourDTO = LabourDTO.builder()
+                    .phoneNo(session.getPhoneNo())
+                    .name(name)
+                    .workExpertise(expertise)
+                    .skillId(details.skillId())
+                    .location(location)
+                    .preferredWage(details.wage())
+                    .languagePreference(session.getLanguagePreference())
+                    .build();
+
+            Labour labour = bulkheads.execute(POSTGRES, () -> labourService.registerLabour(labourDTO));
+            webSocketLogService.logDatabaseSaved(session.getCallSid(), "Labour", labour.getLabourId());
+            queueUntranscribed(session, transcripts, PendingTranscriptionService.TARGET_LABOUR, labour.getLabourId());
+
+            if (isUntranscribed(expertise) || isUntranscribed(location)) {
+                // Matching on a placeholder is meaningless; the worker is still saved and will be filled in later
+                log.warn("Skipping matching and SMS until transcription is retried - CallSid: {}", session.getCallSid());
+                logCompleted(session, "job_seeker");
+                return;
+            }
+
+            // 4. Find matches and send them by SMS
+            sendJobMatches(session.getCallSid(), labour);
+
+            // 5. Log call completion
+            logCompleted(session, "job_seeker");
+
+        } catch (Exception e) {
+            log.error("Error in async job seeker processing: {}", e.getMessage(), e);
+            webSocketLogService.logError(session.getCallSid(), e.getMessage());
+            throw e;
+        }
+    }
+
+    private void processEmployer(IVRSessionDTO session) {
+        log.info("Async processing for employer started - CallSid: {}", session.getCallSid());
+
+        try {
+            // 1. Transcribe all audio files in parallel
+            Map<SessionField, String> transcripts = transcriptionService.transcribeAll(session,
+                    SessionField.TYPE_OF_WORK, SessionField.LOCATION);
+            String typeOfWork = transcripts.get(SessionField.TYPE_OF_WORK);
+            String location = transcripts.get(SessionField.LOCATION);
+
+            // Update session with transcribed data
+            session.setTranscript(SessionField.TYPE_OF_WORK, typeOfWork);
+            session.setTranscript(SessionField.LOCATION, location);
+
+            // Log collected data
+            webSocketLogService.logDataCollected(session.getCallSid(), "type_of_work", typeOfWork);
+            webSocketLogService.logDataCollected(session.getCallSid(), "location", location);
+
+            // 2. Canonical skill, place, coordinates and wage in one extraction call
+            CallDetailsExtractor.CallDetails details = callDetailsExtractor.extract(session.getCallSid(), transcripts);
+            typeOfWork = details.skill();
+            location = details.location();
+            double latitude = details.latitude();
+            double longitude = details.longitude();
+            log.info("Coordinates for {} ({}): lat={}, lng={}", location, details.source(), latitude, longitude);
+
+            // 3. Save to database
+            WorkDTO workDTO = WorkDTO.builder()
+                    .phoneNo(session.getPhoneNo())
+                    .typeOfWork(typeOfWork)
+                    .skillId(details.skillId())
+                    .location(location)
+                    .wagesOffered(details.wage())
+                    .languagePreference(session.getLanguagePreference())
+                    .build();
+
+            Work work = bulkheads.execute(POSTGRES, () -> workService.postWork(workDTO));
+            webSocketLogService.logDatabaseSaved(session.getCallSid(), "Work", work.getWorkId());
+            queueUntranscribed(session, transcripts, PendingTranscriptionService.TARGET_WORK, work.getWorkId());
+
+            if (isUntranscribed(typeOfWork) || isUntranscribed(location)) {
+                // The job is saved and will be filled in later; don't publish or match a placeholder
+                log.warn("Skipping job event, matching and SMS until transcription is retried - CallSid: {}",
+                        session.getCallSid());
+                logCompleted(session, "employer");
+                return;
+            }
+
+            // 4. Publish Kafka event, find matches and send them by SMS
+            publishAndSendWorkerMatches(session.getCallSid(), work, latitude, longitude);
+
+            // 5. Log call completion
+            logCompleted(session, "employer");
+
+        } catch (Exception e) {
+            log.error("Error in async employer processing: {}", e.getMessage(), e);
+            webSocketLogService.logError(session.getCallSid(), e.getMessage());
+            throw e;
+        }
+    }
+
+    private void processFreshMatches(IVRSessionDTO session) {
+        log.info("Async fresh matches for returning {} started - CallSid: {}",
+                session.getCallPurpose(), session.getCallSid());
+
+        try {
+            if ("employer".equals(session.getCallPurpose())) {
+                Work work = bulkheads.execute(POSTGRES, () -> workService.findLatestByPhoneNo(session.getPhoneNo()));
+                if (work == null) {
+                    log.warn("No job found for returning employer - CallSid: {}", session.getCallSid());
+                    logCompleted(session, "employer");
+                    return;
+                }
+                MatchResultDTO matches = bulkheads.execute(POSTGRES, () -> matchingService.findMatchingWorkers(
+                        work.getTypeOfWork(), work.getSkillId(), work.getLocation(), work.getWagesOffered()));
+                int matchCount = matches.getWorkers() != null ? matches.getWorkers().size() : 0;
+                webSocketLogService.logMatchingStarted(session.getCallSid(), matchCount);
+                twilioService.sendWorkerMatchesSMS(session.getPhoneNo(), matches.getWorkers(),
+                        session.getLanguagePreference());
+            } else {
+                Labour labour = bulkheads.execute(POSTGRES, () -> labourService.findByPhoneNo(session.getPhoneNo()));
+                if (labour == null) {
+                    log.warn("No registration found for returning worker - CallSid: {}", session.getCallSid());
+                    logCompleted(session, "job_seeker");
+                    return;
+                }
+                MatchResultDTO matches = bulkheads.execute(POSTGRES, () -> matchingService.findMatchingJobs(
+                        labour.getWorkExpertise(), labour.getSkillId(), labour.getLocation(), labour.getPreferredWage()));
+                int matchCount = matches.getJobs() != null ? matches.getJobs().size() : 0;
+                webSocketLogService.logMatchingStarted(session.getCallSid(), matchCount);
+                twilioService.sendJobMatchesSMS(session.getPhoneNo(), matches.getJobs(),
+                        session.getLanguagePreference());
+            }
+            webSocketLogService.logSmsSent(session.getCallSid(), session.getPhoneNo());
+            logCompleted(session, session.getCallPurpose());
+
+        } catch (Exception e) {
+            log.error("Error in async fresh matches processing: {}", e.getMessage(), e);
+            webSocketLogService.logError(session.getCallSid(), e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * The retry has filled in every untranscribed field of a saved worker or job: canonicalize the answers
+     * like a fresh call and send the matches the caller did not get
+     */
+    @Override
+    public void onTranscribed(String callSid, String targetType, Long targetId) {
+        long enqueuedAt = System.currentTimeMillis();
+        try {
+            executor.execute(() -> {
+                totalQueueWaitMs.add(System.currentTimeMillis() - enqueuedAt);
+                try {
+                    if (PendingTranscriptionService.TARGET_LABOUR.equals(targetType)) {
+                        completeJobSeeker(callSid, targetId);
+                    } else {
+                        completeEmployer(callSid, targetId);
+                    }
+                    completed.increment();
+                } catch (Exception e) {
+                    failed.increment();
+                    log.error("Error finishing retried {} {}: {}", targetType, targetId, e.getMessage(), e);
+                    webSocketLogService.logError(callSid, e.getMessage());
+                } finally {
+                    recordLatency(enqueuedAt);
+                }
+            });
+            submitted.increment();
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            log.error("Post-call queue full, not finishing retried {} {} - CallSid: {}", targetType, targetId, callSid);
+        }
+    }
+
+    private void completeJobSeeker(String callSid, Long labourId) {
+        Labour saved = bulkheads.execute(POSTGRES, () -> labourService.findById(labourId));
+        if (saved == null) {
+            return;
+        }
+        Map<SessionField, String> transcripts = new EnumMap<>(SessionField.class);
+        transcripts.put(SessionField.NAME, saved.getName());
+        transcripts.put(SessionField.WORK_EXPERTISE, saved.getWorkExpertise());
+        transcripts.put(SessionField.LOCATION, saved.getLocation());
+        CallDetailsExtractor.CallDetails details = callDetailsExtractor.extract(callSid, transcripts);
+
+        LabourDTO update = LabourDTO.builder()
+                .workExpertise(details.skill())
+                .skillId(details.skillId())
+                .location(details.location())
+                .preferredWage(saved.getPreferredWage() == null ? details.wage() : null)
+                .build();
+        Labour labour = bulkheads.execute(POSTGRES, () -> labourService.updateLabour(labourId, update));
+        if (labour != null) {
+            log.info("Sending matches for worker {} after transcription retry - CallSid: {}", labourId, callSid);
+            sendJobMatches(callSid, labour);
+        }
+    }
+
+    private void completeEmployer(String callSid, Long workId) {
+        Work saved = bulkheads.execute(POSTGRES, () -> workService.findById(workId));
+        if (saved == null) {
+            return;
+        }
+        Map<SessionField, String> transcripts = new EnumMap<>(SessionField.class);
+        transcripts.put(SessionField.TYPE_OF_WORK, saved.getTypeOfWork());
+        transcripts.put(SessionField.LOCATION, saved.getLocation());
+        CallDetailsExtractor.CallDetails details = callDetailsExtractor.extract(callSid, transcripts);
+
+        WorkDTO update = WorkDTO.builder()
+                .typeOfWork(details.skill())
+                .skillId(details.skillId())
+                .location(details.location())
+                .wagesOffered(saved.getWagesOffered() == null ? details.wage() : null)
+                .build();
+        Work work = bulkheads.execute(POSTGRES, () -> workService.updateWork(workId, update));
+        if (work != null) {
+            log.info("Sending matches for job {} after transcription retry - CallSid: {}", workId, callSid);
+            publishAndSendWorkerMatches(callSid, work, details.latitude(), details.longitude());
+        }
+    }
+
+    private void sendJobMatches(String callSid, Labour labour) {
+        MatchResultDTO matches = bulkheads.execute(POSTGRES, () -> matchingService.findMatchingJobs(
+                labour.getWorkExpertise(),
+                labour.getSkillId(),
+                labour.getLocation(),
+                labour.getPreferredWage()
+        ));
+
+        int matchCount = matches.getJobs() != null ? matches.getJobs().size() : 0;
+        webSocketLogService.logMatchingStarted(callSid, matchCount);
+
+        twilioService.sendJobMatchesSMS(
+                labour.getPhoneNo(),
+                matches.getJobs(),
+                labour.getLanguagePreference()
+        );
+        webSocketLogService.logSmsSent(callSid, labour.getPhoneNo());
+    }
+
+    private void publishAndSendWorkerMatches(String callSid, Work work, double latitude, double longitude) {
+        WhatsAppBotJobEvent jobEvent = new WhatsAppBotJobEvent(
+                work.getPhoneNo(), // providerId (mobile number)
+                "Employer", // providerName (we don't collect name, using generic)
+                work.getTypeOfWork(), // title
+                "Job posted via IVR", // description
+                work.getWagesOffered() != null ? work.getWagesOffered().doubleValue() : 0.0, // wage
+                latitude,
+                longitude,
+                Collections.singletonList(work.getTypeOfWork()), // requiredSkills
+                1 // numberOfEmployees
+        );
+        kafkaProducerService.sendJobEvent(jobEvent);
+
+        // Local matching - kept for SMS fallback
+        MatchResultDTO matches = bulkheads.execute(POSTGRES, () -> matchingService.findMatchingWorkers(
+                work.getTypeOfWork(),
+                work.getSkillId(),
+                work.getLocation(),
+                work.getWagesOffered()
+        ));
+
+        int matchCount = matches.getWorkers() != null ? matches.getWorkers().size() : 0;
+        webSocketLogService.logMatchingStarted(callSid, matchCount);
+
+        twilioService.sendWorkerMatchesSMS(
+                work.getPhoneNo(),
+                matches.getWorkers(),
+                work.getLanguagePreference()
+        );
+        webSocketLogService.logSmsSent(callSid, work.getPhoneNo());
+    }
+
+    private static boolean isUntranscribed(String transcript) {
+        return TranscriptionService.UNTRANSCRIBED.equals(transcript);
+    }
+
+    /**
+     * Stores every field STT could not handle for a background retry against the saved row
+     */
+    private void queueUntranscribed(IVRSessionDTO session, Map<SessionField, String> transcripts,
+                                    String targetType, Long targetId) {
+        transcripts.forEach((field, transcript) -> {
+            if (isUntranscribed(transcript)) {
+                bulkheads.execute(POSTGRES, () -> {
+                    pendingTranscriptionService.enqueue(session.getCallSid(), targetType, targetId, field,
+                            session.getRecordingUrl(field), session.getLanguagePreference());
+                    return null;
+                });
+            }
+        });
+    }
+
+    private void logCompleted(IVRSessionDTO session, String purpose) {
+        int duration = callDurationSeconds(session);
+        bulkheads.execute(POSTGRES, () -> callLogService.logCall(
+                session.getPhoneNo(),
+                purpose,
+                session.getLanguagePreference(),
+                duration,
+                "completed"
+        ));
+        webSocketLogService.logCallCompleted(session.getCallSid(), duration);
+    }
+
+    /**
+     * Every task counted as completed or failed records its latency, so the averages divide like for like
+     */
+    private void recordLatency(long enqueuedAt) {
+        long latency = System.currentTimeMillis() - enqueuedAt;
+        totalLatencyMs.add(latency);
+        maxLatencyMs.accumulateAndGet(latency, Math::max);
+    }
+
+    private int callDurationSeconds(IVRSessionDTO session) {
+        return (int) ((System.currentTimeMillis() - session.getStartTime()) / 1000);
+    }
+
+    /**
+     * Number of calls waiting for a post-call worker, or in flight when running on virtual threads
+     */
+    public int queueDepth() {
+        return executor.queueDepth();
+    }
+
+    /**
+     * Current executor and latency figures, used to size the pool
+     */
+    public PostCallStats getStats() {
+        long finished = completed.sum() + failed.sum();
+        return new PostCallStats(
+                executor.isVirtualThreads(),
+                executor.queueDepth(),
+                executor.queueCapacity(),
+                executor.running(),
+                executor.poolSize(),
+                executor.maxPoolSize(),
+                submitted.sum(),
+                duplicates.sum(),
+                completed.sum(),
+                failed.sum(),
+                rejected.sum(),
+                finished > 0 ? (double) totalQueueWaitMs.sum() / finished : 0.0,
+                finished > 0 ? (double) totalLatencyMs.sum() / finished : 0.0,
+                maxLatencyMs.get()
+        );
+    }
+
+    public record PostCallStats(
+            boolean virtualThreads,
+            int queueDepth,
+            int queueCapacity,
+            int activeWorkers,
+            int poolSize,
+            int maxPoolSize,
+            long submitted,
+            long duplicates,
+            long completed,
+            long failed,
+            long rejected,
+            double averageQueueWaitMs,
+            double averageLatencyMs,
+            long maxLatencyMs
+    ) {}
+}
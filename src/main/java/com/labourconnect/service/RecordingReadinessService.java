@@ -0,0 +1,106 @@
+package com.labourconnect.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks Twilio recording-status callbacks so transcription downloads a recording
+ * only once Twilio reports it as finalized.
+ *
+ * Signals are node-local: if the callback lands on another replica, the waiter
+ * falls through after the grace delay and the download retries with backoff.
+ */
+@Service
+@Slf4j
+public class RecordingReadinessService {
+
+    public static final String COMPLETED = "completed";
+
+    private static final long SIGNAL_RETENTION_MS = TimeUnit.MINUTES.toMillis(10);
+
+    private final Map<String, Signal> signals = new ConcurrentHashMap<>();
+
+    private final LongAdder callbacks = new LongAdder();
+    private final LongAdder readyBeforeWait = new LongAdder();
+    private final LongAdder readyAfterWait = new LongAdder();
+    private final LongAdder lateCallbacks = new LongAdder();
+
+    /**
+     * Records the final status Twilio reported for a recording (completed, absent or failed)
+     * and releases anyone waiting on it
+     */
+    public void markStatus(String recordingUrl, String status) {
+        callbacks.increment();
+        signal(recordingUrl).status.complete(status);
+        log.info("Recording {} - {}", status, recordingUrl);
+    }
+
+    /**
+     * Waits up to maxWaitMs for the status callback of a recording
+     *
+     * @return the reported status, or null if the callback did not arrive in time
+     */
+    public String awaitStatus(String recordingUrl, long maxWaitMs) {
+        CompletableFuture<String> status = signal(recordingUrl).status;
+        if (status.isDone()) {
+            readyBeforeWait.increment();
+            return status.getNow(null);
+        }
+
+        try {
+            String result = status.get(maxWaitMs, TimeUnit.MILLISECONDS);
+            readyAfterWait.increment();
+            return result;
+        } catch (TimeoutException e) {
+            lateCallbacks.increment();
+            log.warn("No recording-status callback after {} ms, downloading anyway - {}", maxWaitMs, recordingUrl);
+        } catch (ExecutionException e) {
+            log.error("Recording status wait failed for {}: {}", recordingUrl, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.ivr.session.sweep.interval.ms:30000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - SIGNAL_RETENTION_MS;
+        signals.values().removeIf(signal -> signal.createdAt < cutoff);
+    }
+
+    private Signal signal(String recordingUrl) {
+        return signals.computeIfAbsent(recordingUrl, url -> new Signal());
+    }
+
+    public RecordingReadinessStats getStats() {
+        return new RecordingReadinessStats(
+                signals.size(),
+                callbacks.sum(),
+                readyBeforeWait.sum(),
+                readyAfterWait.sum(),
+                lateCallbacks.sum()
+        );
+    }
+
+    public record RecordingReadinessStats(
+            int tracked,
+            long callbacks,
+            long readyBeforeWait,
+            long readyAfterWait,
+            long lateCallbacks
+    ) {}
+
+    private static class Signal {
+        private final CompletableFuture<String> status = new CompletableFuture<>();
+        private final long createdAt = System.currentTimeMillis();
+    }
+}
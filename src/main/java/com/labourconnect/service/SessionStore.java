@@ -0,0 +1,84 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.IVRSessionDTO;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.function.Consumer;
+
+/**
+ * Holds IVR sessions between Twilio webhooks.
+ * Implementations evict idle sessions and enforce a hard entry limit.
+ * Select the implementation with app.ivr.session.store=memory|jdbc.
+ */
+public interface SessionStore {
+
+    int MAX_UPDATE_ATTEMPTS = 5;
+
+    void put(IVRSessionDTO session);
+
+    /**
+     * Persists changes made to a session obtained from {@link #get(String)}.
+     *
+     * @throws org.springframework.dao.OptimisticLockingFailureException if another node updated it first
+     */
+    void save(IVRSessionDTO session);
+
+    /**
+     * Returns the session and refreshes its idle timer, or null if unknown/expired
+     */
+    IVRSessionDTO get(String callSid);
+
+    /**
+     * Applies a change to the current session and saves it. When another webhook or the recording-status
+     * callback saved the session in between, the session is re-read and the change applied again.
+     *
+     * @param change sets session fields only; it may run more than once
+     * @return the saved session, or null if unknown/expired
+     * @throws OptimisticLockingFailureException if every attempt lost the race
+     */
+    default IVRSessionDTO update(String callSid, Consumer<IVRSessionDTO> change) {
+        OptimisticLockingFailureException conflict = null;
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            IVRSessionDTO session = get(callSid);
+            if (session == null) {
+                return null;
+            }
+            change.accept(session);
+            try {
+                save(session);
+                return session;
+            } catch (OptimisticLockingFailureException e) {
+                conflict = e;
+            }
+        }
+        throw conflict;
+    }
+
+    IVRSessionDTO remove(String callSid);
+
+    int size();
+
+    SessionStoreStats getStats();
+
+    enum EvictionReason {
+        IDLE_TIMEOUT,
+        CAPACITY
+    }
+
+    /**
+     * Notified when a session is evicted before the call finished normally
+     */
+    interface EvictionListener {
+        void onEvicted(IVRSessionDTO session, EvictionReason reason);
+    }
+
+    record SessionStoreStats(
+            int size,
+            int maxEntries,
+            long idleTtlSeconds,
+            long hits,
+            long misses,
+            long evictedIdle,
+            long evictedCapacity
+    ) {}
+}
@@ -1,20 +1,34 @@
 package com.labourconnect.service;
 
-import com.google.api.gax.core.FixedCredentialsProvider;
-import com.google.auth.oauth2.GoogleCredentials;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.gax.grpc.GrpcCallContext;
+import com.google.api.gax.rpc.ClientStream;
+import com.google.api.gax.rpc.DeadlineExceededException;
+import com.google.api.gax.rpc.ResponseObserver;
 import com.google.cloud.speech.v1.*;
 import com.google.protobuf.ByteString;
+import com.google.common.util.concurrent.MoreExecutors;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Service for converting speech audio to text using Google Cloud Speech-to-Text API
@@ -36,46 +50,108 @@ public class SpeechToTextService {
     @Value("${twilio.auth.token}")
     private String twilioAuthToken;
 
-    private final OkHttpClient httpClient;
+    @Value("${app.stt.download.max.attempts:4}")
+    private int downloadMaxAttempts;
+
+    @Value("${app.stt.download.backoff.ms:500}")
+    private long downloadBackoffMs;
+
+    @Value("${app.stt.emulator.host:}")
+    private String emulatorHost;
+
+    @Value("${app.stt.warmup.enabled:true}")
+    private boolean warmupEnabled;
+
+    @Value("${app.stt.channel.pool.size:4}")
+    private int channelPoolSize;
+
+    @Value("${app.stt.rpc.deadline.ms:15000}")
+    private long rpcDeadlineMs;
+
+    @Value("${app.stt.breaker.failure.threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${app.stt.breaker.open.seconds:30}")
+    private long breakerOpenSeconds;
+
+    @Value("${app.stt.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    /**
+     * Lower bound on the hedge delay so a fast p95 does not double every request
+     */
+    @Value("${app.stt.hedge.min.delay.ms:500}")
+    private long hedgeMinDelayMs;
+
+    private final OutboundHttpClient httpClient;
+    private final BulkheadRegistry bulkheads;
+    private final ConcurrencyLimiterRegistry limiters;
+    private final TranscriptionCache transcriptionCache;
+    private final AudioBufferPool audioBufferPool;
+    private final VoiceActivityTrimmer voiceActivityTrimmer;
+    private final ObjectProvider<SpeechSettings> speechSettings;
     private SpeechClient speechClient;
     private boolean googleCloudEnabled = false;
 
-    public SpeechToTextService() {
-        this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .build();
+    private CircuitBreaker circuitBreaker;
+    private final LatencyWindow latencies = new LatencyWindow(200);
+    private final LongAdder hedgesSent = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder hedgesSkipped = new LongAdder();
+    private final LongAdder deadlinesExceeded = new LongAdder();
+
+    // ✅ ALWAYS use en-IN (English - India)
+    // This handles Indian English accents properly
+    private static final RecognitionConfig RECOGNITION_CONFIG = RecognitionConfig.newBuilder()
+            .setEncoding(RecognitionConfig.AudioEncoding.LINEAR16)
+            .setSampleRateHertz(8000) // Twilio uses 8kHz for phone calls
+            .setLanguageCode("en-IN") // ✅ HARDCODED to English (India)
+            .setEnableAutomaticPunctuation(true)
+            .setModel("default") // Use default model for en-IN
+            .build();
+
+    // Part of the transcription cache key, so a config change never serves stale transcripts
+    private static final byte[] CONFIG_FINGERPRINT = RECOGNITION_CONFIG.toByteArray();
+
+    // Not an overload, so the limiter takes the slot back without adjusting the limit
+    private static final CancellationException STREAM_ENDED = new CancellationException("Media stream ended");
+
+    public SpeechToTextService(OutboundHttpClient httpClient, BulkheadRegistry bulkheads,
+                               ConcurrencyLimiterRegistry limiters,
+                               TranscriptionCache transcriptionCache, AudioBufferPool audioBufferPool,
+                               VoiceActivityTrimmer voiceActivityTrimmer,
+                               ObjectProvider<SpeechSettings> speechSettings) {
+        this.bulkheads = bulkheads;
+        this.limiters = limiters;
+        this.transcriptionCache = transcriptionCache;
+        this.audioBufferPool = audioBufferPool;
+        this.voiceActivityTrimmer = voiceActivityTrimmer;
+        this.speechSettings = speechSettings;
+        this.httpClient = httpClient;
     }
 
     @PostConstruct
     public void init() {
-        try {
-            if (credentialsPath != null && !credentialsPath.isEmpty()) {
-                log.info("Initializing Google Cloud Speech-to-Text with credentials: {}", credentialsPath);
-
-                GoogleCredentials credentials = GoogleCredentials.fromStream(
-                        new FileInputStream(credentialsPath)
-                );
-
-                SpeechSettings settings = SpeechSettings.newBuilder()
-                        .setCredentialsProvider(FixedCredentialsProvider.create(credentials))
-                        .build();
+        circuitBreaker = new CircuitBreaker("google-stt", breakerFailureThreshold,
+                TimeUnit.SECONDS.toMillis(breakerOpenSeconds));
 
-                speechClient = SpeechClient.create(settings);
+        try {
+            String envCredentials = System.getenv("GOOGLE_APPLICATION_CREDENTIALS");
+            boolean configured = !emulatorHost.isEmpty()
+                    || (credentialsPath != null && !credentialsPath.isEmpty())
+                    || (envCredentials != null && !envCredentials.isEmpty());
+
+            if (configured) {
+                log.info("Initializing Google Cloud Speech-to-Text");
+                speechClient = SpeechClient.create(speechSettings.getObject());
                 googleCloudEnabled = true;
-
                 log.info("✅ Google Cloud Speech-to-Text initialized successfully");
-            } else {
-                String envCredentials = System.getenv("GOOGLE_APPLICATION_CREDENTIALS");
-                if (envCredentials != null && !envCredentials.isEmpty()) {
-                    log.info("Using GOOGLE_APPLICATION_CREDENTIALS from environment");
-                    speechClient = SpeechClient.create();
-                    googleCloudEnabled = true;
-                    log.info("✅ Google Cloud Speech-to-Text initialized successfully");
-                } else {
-                    log.warn("⚠️ Google Cloud credentials not configured. Will use mock transcription.");
+
+                if (warmupEnabled) {
+                    Thread.ofVirtual().name("stt-warmup").start(this::warmUp);
                 }
+            } else {
+                log.warn("⚠️ Google Cloud credentials not configured. Will use mock transcription.");
             }
         } catch (Exception e) {
             log.error("❌ Failed to initialize Google Cloud Speech-to-Text: {}", e.getMessage(), e);
@@ -90,9 +166,10 @@ public class SpeechToTextService {
      *
      * @param audioUrl URL of the recorded audio (from Twilio)
      * @param language Language code (IGNORED - always uses en-IN)
-     * @return Transcribed text in English
+     * @return Transcribed text in English, or null if nothing was said
+     * @throws SpeechUnavailableException if the recording could not be transcribed now and should be retried later
      */
-    public String transcribeAudioFromUrl(String audioUrl, String language) {
+    public String transcribeAudioFromUrl(String audioUrl, String language) throws SpeechUnavailableException {
         // ⚠️ IMPORTANT: We ignore the language parameter and always use English
         // because users speak English words (like "electrician", "Bangalore")
         // even when the IVR prompts are in Hindi/Kannada
@@ -104,14 +181,61 @@ public class SpeechToTextService {
             return getMockTranscription();
         }
 
-        try {
-            byte[] audioBytes = downloadAudio(audioUrl);
-            return transcribeAudio(audioBytes);
-
+        try (PcmAudio audio = downloadAudioWithRetry(audioUrl)) {
+            return transcribeAudio(audio);
+
+        } catch (SpeechUnavailableException e) {
+            throw e;
+        } catch (RecordingNotReadyException e) {
+            log.error("Recording still not available after {} attempts: {}", downloadMaxAttempts, audioUrl);
+            throw new SpeechUnavailableException("Recording not available", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SpeechUnavailableException("Interrupted", e);
         } catch (Exception e) {
             log.error("Error transcribing audio: {}", e.getMessage(), e);
-            log.warn("Falling back to mock transcription due to error");
-            return getMockTranscription();
+            throw new SpeechUnavailableException("Transcription failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends one short silent recognize per pooled channel at startup, so TLS, HTTP/2 and auth
+     * setup happen before the first caller's recording instead of during it
+     */
+    private void warmUp() {
+        long start = System.currentTimeMillis();
+        RecognizeRequest request = RecognizeRequest.newBuilder()
+                .setConfig(RECOGNITION_CONFIG)
+                .setAudio(RecognitionAudio.newBuilder()
+                        .setContent(ByteString.copyFrom(new byte[RECOGNITION_CONFIG.getSampleRateHertz() / 5]))) // 100 ms
+                .build();
+
+        List<ApiFuture<RecognizeResponse>> calls = new ArrayList<>();
+        for (int i = 0; i < channelPoolSize; i++) {
+            calls.add(speechClient.recognizeCallable().futureCall(request, callContext()));
+        }
+
+        int ok = 0;
+        for (ApiFuture<RecognizeResponse> call : calls) {
+            try {
+                call.get();
+                ok++;
+            } catch (Exception e) {
+                log.warn("STT warm-up call failed: {}", e.getMessage());
+            }
+        }
+        log.info("🔥 STT warm-up: {}/{} channels ready in {} ms", ok, calls.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Thrown when a recording could not be transcribed right now (STT down or slow, breaker open,
+     * download failed). Callers store the recording as untranscribed for a later retry.
+     */
+    public static class SpeechUnavailableException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public SpeechUnavailableException(String message, Throwable cause) {
+            super(message, cause);
         }
     }
 
@@ -119,41 +243,64 @@ public class SpeechToTextService {
      * Transcribes audio bytes to text using Google Speech-to-Text
      * ALWAYS uses en-IN language
      */
-    private String transcribeAudio(byte[] audioBytes) throws IOException {
-        log.info("🎙️ Transcribing {} bytes of audio using Google Cloud STT (en-IN)", audioBytes.length);
+    private String transcribeAudio(PcmAudio recording) throws IOException {
+        PcmAudio audio = voiceActivityTrimmer.trim(recording);
+        if (audio == null) {
+            return null; // all silence: nothing to send
+        }
 
-        try {
-            ByteString audioByteString = ByteString.copyFrom(audioBytes);
+        if (audio.sampleRate() != RECOGNITION_CONFIG.getSampleRateHertz()) {
+            log.warn("Recording sample rate {} Hz differs from configured {} Hz",
+                    audio.sampleRate(), RECOGNITION_CONFIG.getSampleRateHertz());
+        }
 
-            RecognitionAudio audio = RecognitionAudio.newBuilder()
-                    .setContent(audioByteString)
-                    .build();
+        String key = TranscriptionCache.key(CONFIG_FINGERPRINT, audio.buffer(), audio.offset(), audio.length());
+        String transcript = transcriptionCache.getOrRecognize(key, () -> recognize(audio));
+
+        return transcript.isEmpty() ? null : transcript;
+    }
+
+    /**
+     * Sends audio to Google Cloud STT through the circuit breaker, with a per-RPC deadline
+     * and an optional hedged second request
+     *
+     * @return the top transcript, or an empty string when nothing was recognized
+     */
+    private String recognize(PcmAudio pcm) throws IOException {
+        log.info("🎙️ Transcribing {} bytes of audio using Google Cloud STT (en-IN)", pcm.length());
+
+        try {
+            circuitBreaker.acquire();
+        } catch (CircuitBreaker.CircuitOpenException e) {
+            throw new SpeechUnavailableException(e.getMessage(), e);
+        }
 
-            // ✅ ALWAYS use en-IN (English - India)
-            // This handles Indian English accents properly
-            RecognitionConfig config = RecognitionConfig.newBuilder()
-                    .setEncoding(RecognitionConfig.AudioEncoding.LINEAR16)
-                    .setSampleRateHertz(8000) // Twilio uses 8kHz for phone calls
-                    .setLanguageCode("en-IN") // ✅ HARDCODED to English (India)
-                    .setEnableAutomaticPunctuation(true)
-                    .setModel("default") // Use default model for en-IN
+        try {
+            // Wraps the pooled download buffer; the buffer is only released after recognize() returns
+            RecognizeRequest request = RecognizeRequest.newBuilder()
+                    .setConfig(RECOGNITION_CONFIG)
+                    .setAudio(RecognitionAudio.newBuilder().setContent(pcm.toByteString()).build())
                     .build();
 
             log.debug("Sending request to Google Cloud STT with language: en-IN");
-            RecognizeResponse response = speechClient.recognize(config, audio);
+            long start = System.nanoTime();
+            RecognizeResponse response = limiters.execute(BulkheadRegistry.Dependency.GOOGLE_STT,
+                    () -> bulkheads.execute(BulkheadRegistry.Dependency.GOOGLE_STT, () -> hedgedRecognize(request)));
+            latencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            circuitBreaker.onSuccess();
 
             List<SpeechRecognitionResult> results = response.getResultsList();
 
             if (results.isEmpty()) {
                 log.warn("No transcription results returned from Google Cloud STT");
-                return getMockTranscription();
+                return "";
             }
 
             SpeechRecognitionResult result = results.get(0);
 
             if (result.getAlternativesCount() == 0) {
                 log.warn("No alternatives in transcription result");
-                return getMockTranscription();
+                return "";
             }
 
             SpeechRecognitionAlternative alternative = result.getAlternatives(0);
@@ -170,14 +317,147 @@ public class SpeechToTextService {
 
             return transcript;
 
+        } catch (BulkheadRegistry.BulkheadFullException e) {
+            // Turned away locally before reaching Google, which says nothing about its health
+            circuitBreaker.onIgnored();
+            log.warn("⚠️ Google STT bulkhead full, not transcribing: {}", e.getMessage());
+            throw new SpeechUnavailableException("Speech-to-Text capacity exhausted", e);
         } catch (Exception e) {
+            circuitBreaker.onFailure();
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (e instanceof DeadlineExceededException) {
+                deadlinesExceeded.increment();
+            }
             log.error("❌ Error during Google Cloud STT transcription: {}", e.getMessage(), e);
-            throw new IOException("Speech-to-Text transcription failed", e);
+            throw new SpeechUnavailableException("Speech-to-Text transcription failed", e);
+        }
+    }
+
+    /**
+     * Sends the request and, if it has not answered within the recent p95 latency,
+     * a second identical one. The first successful response wins; the other is cancelled.
+     * The hedge takes its own bulkhead permit and limiter slot, and is skipped if either is not free.
+     */
+    private RecognizeResponse hedgedRecognize(RecognizeRequest request) throws Exception {
+        ApiFuture<RecognizeResponse> primary = speechClient.recognizeCallable().futureCall(request, callContext());
+
+        long hedgeDelayMs = latencies.percentile(0.95);
+        if (!hedgeEnabled || hedgeDelayMs <= 0) {
+            return unwrap(primary);
+        }
+
+        try {
+            return primary.get(Math.max(hedgeDelayMs, hedgeMinDelayMs), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Fall through to the hedge
+        } catch (ExecutionException e) {
+            throw unwrapCause(e);
+        }
+
+        ApiFuture<RecognizeResponse> hedge = sendHedge(request);
+        if (hedge == null) {
+            hedgesSkipped.increment();
+            log.debug("STT slower than p95 ({} ms) but at its concurrency limit, not hedging", hedgeDelayMs);
+            return unwrap(primary);
+        }
+        hedgesSent.increment();
+        log.info("STT slower than p95 ({} ms), sending hedged request", hedgeDelayMs);
+
+        CompletableFuture<RecognizeResponse> winner = new CompletableFuture<>();
+        AtomicInteger failuresSeen = new AtomicInteger();
+        race(primary, winner, failuresSeen, false);
+        race(hedge, winner, failuresSeen, true);
+
+        try {
+            return winner.get();
+        } catch (ExecutionException e) {
+            throw unwrapCause(e);
+        } finally {
+            primary.cancel(true);
+            hedge.cancel(true);
+        }
+    }
+
+    /**
+     * Sends the hedge under its own bulkhead permit and limiter slot, held until it completes or is cancelled
+     *
+     * @return the hedge, or null if no permit or slot is free right now
+     */
+    private ApiFuture<RecognizeResponse> sendHedge(RecognizeRequest request) {
+        BulkheadRegistry.Dependency stt = BulkheadRegistry.Dependency.GOOGLE_STT;
+        if (!bulkheads.tryAcquire(stt)) {
+            return null;
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiters.tryAcquire(stt);
+        if (permit == null) {
+            bulkheads.release(stt);
+            return null;
         }
+
+        ApiFuture<RecognizeResponse> hedge;
+        try {
+            hedge = speechClient.recognizeCallable().futureCall(request, callContext());
+        } catch (RuntimeException e) {
+            permit.release(e);
+            bulkheads.release(stt);
+            throw e;
+        }
+        ApiFutures.addCallback(hedge, new ApiFutureCallback<>() {
+            @Override
+            public void onSuccess(RecognizeResponse response) {
+                permit.release(null);
+                bulkheads.release(stt);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                // Includes being cancelled because the primary won, which the limiter treats as a plain release
+                permit.release(t);
+                bulkheads.release(stt);
+            }
+        }, MoreExecutors.directExecutor());
+        return hedge;
+    }
+
+    private void race(ApiFuture<RecognizeResponse> attempt, CompletableFuture<RecognizeResponse> winner,
+                      AtomicInteger failuresSeen, boolean isHedge) {
+        ApiFutures.addCallback(attempt, new ApiFutureCallback<>() {
+            @Override
+            public void onSuccess(RecognizeResponse response) {
+                if (winner.complete(response) && isHedge) {
+                    hedgeWins.increment();
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (failuresSeen.incrementAndGet() == 2) {
+                    winner.completeExceptionally(t);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private GrpcCallContext callContext() {
+        return GrpcCallContext.createDefault().withTimeout(org.threeten.bp.Duration.ofMillis(rpcDeadlineMs));
+    }
+
+    private static RecognizeResponse unwrap(ApiFuture<RecognizeResponse> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrapCause(e);
+        }
+    }
+
+    private static Exception unwrapCause(ExecutionException e) {
+        return e.getCause() instanceof Exception cause ? cause : e;
     }
 
     /**
-     * Mock transcription for demo purposes
+     * Mock transcription for demo purposes, used only when Google Cloud credentials are not configured
      * Returns English words only
      */
     private String getMockTranscription() {
@@ -206,9 +486,40 @@ public class SpeechToTextService {
     }
 
     /**
-     * Downloads audio file from URL with Twilio authentication
+     * Thrown when Twilio has not finalized the recording yet (HTTP 404)
+     */
+    public static class RecordingNotReadyException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public RecordingNotReadyException(String audioUrl) {
+            super("Recording not ready yet: " + audioUrl);
+        }
+    }
+
+    /**
+     * Downloads the recording, retrying with exponential backoff while Twilio still reports it as missing
+     */
+    private PcmAudio downloadAudioWithRetry(String audioUrl) throws IOException, InterruptedException {
+        long backoff = downloadBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return downloadAudio(audioUrl);
+            } catch (RecordingNotReadyException e) {
+                if (attempt >= downloadMaxAttempts) {
+                    throw e;
+                }
+                log.warn("Recording not ready (attempt {}/{}), retrying in {} ms", attempt, downloadMaxAttempts, backoff);
+                Thread.sleep(backoff);
+                backoff *= 2;
+            }
+        }
+    }
+
+    /**
+     * Downloads audio file from URL with Twilio authentication.
+     * The body is streamed into a pooled buffer and the WAV header is skipped in place.
      */
-    private byte[] downloadAudio(String audioUrl) throws IOException {
+    private PcmAudio downloadAudio(String audioUrl) throws IOException {
         log.info("Downloading audio from: {}", audioUrl);
 
         if (twilioAccountSid == null || twilioAccountSid.isEmpty()) {
@@ -230,9 +541,13 @@ public class SpeechToTextService {
                 .get()
                 .build();
 
-        try (Response response = httpClient.newCall(request).execute()) {
+        return httpClient.execute(OutboundHttpClient.Target.TWILIO_MEDIA, request, response -> {
             log.debug("Response code: {}", response.code());
 
+            if (response.code() == 404) {
+                throw new RecordingNotReadyException(audioUrl);
+            }
+
             if (!response.isSuccessful()) {
                 String responseBody = "";
                 if (response.body() != null) {
@@ -257,10 +572,10 @@ public class SpeechToTextService {
                 throw new IOException("Response body is null");
             }
 
-            byte[] audioBytes = response.body().bytes();
-            log.info("Successfully downloaded {} bytes of audio", audioBytes.length);
-            return audioBytes;
-        }
+            PcmAudio audio = PcmAudio.read(response.body().byteStream(), response.body().contentLength(), audioBufferPool);
+            log.info("Successfully downloaded {} bytes of audio", audio.length());
+            return audio;
+        });
     }
 
     private String extractAccountSidFromUrl(String url) {
@@ -277,6 +592,78 @@ public class SpeechToTextService {
         return "unknown";
     }
 
+    /**
+     * Google STT capacity held by one live stream, from before it opens until it ends
+     */
+    @FunctionalInterface
+    public interface StreamingPermit {
+        /**
+         * @param error the stream's failure, or null if it ended normally
+         */
+        void release(Throwable error);
+    }
+
+    /**
+     * Takes a GOOGLE_STT bulkhead permit and limiter slot for a live stream, without waiting: the
+     * caller is already speaking, and audio queued behind other calls would be dropped anyway.
+     * A stream's length is the caller's, not Google's latency, so a stream that ends normally gives
+     * its slot back without moving the limit; an overload error still cuts it.
+     *
+     * @return the permit, or null if no permit or slot is free right now
+     */
+    public StreamingPermit acquireStreamingPermit() {
+        BulkheadRegistry.Dependency stt = BulkheadRegistry.Dependency.GOOGLE_STT;
+        if (!bulkheads.tryAcquire(stt)) {
+            return null;
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiters.tryAcquire(stt);
+        if (permit == null) {
+            bulkheads.release(stt);
+            return null;
+        }
+        return error -> {
+            permit.release(error != null ? error : STREAM_ENDED);
+            bulkheads.release(stt);
+        };
+    }
+
+    /**
+     * Opens a streamingRecognize call for live caller audio and sends its configuration.
+     * The caller then sends LINEAR16 chunks at the same sample rate as recordings and calls closeSend.
+     * Single-utterance mode makes Google end the stream as soon as the caller stops speaking.
+     * Take a {@link #acquireStreamingPermit() streaming permit} first and release it when the stream ends.
+     *
+     * @return null when STT is not configured
+     * @throws CircuitBreaker.CircuitOpenException while Google STT is considered down
+     */
+    public ClientStream<StreamingRecognizeRequest> startStreaming(ResponseObserver<StreamingRecognizeResponse> observer) {
+        if (!googleCloudEnabled) {
+            return null;
+        }
+        circuitBreaker.acquire();
+
+        ClientStream<StreamingRecognizeRequest> stream =
+                speechClient.streamingRecognizeCallable().splitCall(observer);
+        stream.send(StreamingRecognizeRequest.newBuilder()
+                .setStreamingConfig(StreamingRecognitionConfig.newBuilder()
+                        .setConfig(RECOGNITION_CONFIG)
+                        .setSingleUtterance(true)
+                        .setInterimResults(false))
+                .build());
+        return stream;
+    }
+
+    /**
+     * Outcome of a streaming session, fed back into the breaker shared with batch recognition
+     */
+    public void recordStreamingOutcome(boolean success) {
+        if (success) {
+            circuitBreaker.onSuccess();
+        } else {
+            circuitBreaker.onFailure();
+        }
+    }
+
     public boolean isValidTranscription(String transcript) {
         if (transcript == null || transcript.trim().isEmpty()) {
             return false;
@@ -304,6 +691,66 @@ public class SpeechToTextService {
         return cleaned;
     }
 
+    public SttResilienceStats getResilienceStats() {
+        long sent = hedgesSent.sum();
+        return new SttResilienceStats(
+                circuitBreaker.getStats(),
+                rpcDeadlineMs,
+                deadlinesExceeded.sum(),
+                latencies.percentile(0.95),
+                hedgeEnabled,
+                sent,
+                hedgeWins.sum(),
+                hedgesSkipped.sum(),
+                sent > 0 ? (double) hedgeWins.sum() / sent : 0.0
+        );
+    }
+
+    public record SttResilienceStats(
+            CircuitBreaker.CircuitBreakerStats breaker,
+            long rpcDeadlineMs,
+            long deadlinesExceeded,
+            long p95LatencyMs,
+            boolean hedgeEnabled,
+            long hedgesSent,
+            long hedgeWins,
+            long hedgesSkipped,
+            double hedgeWinRate
+    ) {}
+
+    /**
+     * Ring buffer of the most recent successful STT latencies
+     */
+    private static class LatencyWindow {
+        private static final int MIN_SAMPLES = 20;
+
+        private final long[] samples;
+        private int next;
+        private int count;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        /**
+         * @return the percentile in ms, or 0 until enough samples have been seen
+         */
+        synchronized long percentile(double p) {
+            if (count < MIN_SAMPLES) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.min(count - 1, Math.ceil(p * count) - 1)];
+        }
+    }
+
     public void destroy() {
         if (speechClient != null) {
             speechClient.close();
@@ -0,0 +1,214 @@
+package com.labourconnect.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Content-addressed cache of STT results, keyed by SHA-256 of the recognition config and the audio bytes.
+ * Identical recordings (common for short answers from repeat callers) are recognized once.
+ *
+ * Tiers: an in-memory LRU, plus an optional Postgres table shared by all replicas
+ * (app.stt.cache.persistent=true). Entries expire after app.stt.cache.ttl.seconds.
+ */
+@Service
+@Slf4j
+public class TranscriptionCache {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.stt.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.stt.cache.persistent:false}")
+    private boolean persistent;
+
+    @Value("${app.stt.cache.ttl.seconds:604800}")
+    private long ttlSeconds;
+
+    @Value("${app.stt.cache.max.entries:10000}")
+    private int maxEntries;
+
+    private TtlLruCache<String, String> memory;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder persistentHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public TranscriptionCache(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        memory = new TtlLruCache<>(maxEntries, TimeUnit.SECONDS.toMillis(ttlSeconds));
+
+        if (enabled && persistent) {
+            // The table is created by schema.sql
+            log.info("✅ Persistent transcription cache initialized (table transcription_cache)");
+        }
+    }
+
+    /**
+     * Cache key for a recognition request: SHA-256 over the serialized config and the audio
+     */
+    public static String key(byte[] configFingerprint, byte[] audio, int audioOffset, int audioLength) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(configFingerprint);
+            digest.update(audio, audioOffset, audioLength);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Returns the cached transcript for the key, or runs the recognizer once and caches its result.
+     * Concurrent requests for the same key share a single recognizer call.
+     */
+    public String getOrRecognize(String key, BulkheadRegistry.ThrowingSupplier<String, IOException> recognizer)
+            throws IOException {
+        if (!enabled) {
+            return recognizer.get();
+        }
+
+        String cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return running.join();
+            } catch (Exception e) {
+                throw new IOException("Coalesced recognition failed", e.getCause() != null ? e.getCause() : e);
+            }
+        }
+
+        try {
+            // Another request may have stored the transcript and left inFlight since our first lookup
+            String stored = lookup(key);
+            if (stored != null) {
+                mine.complete(stored);
+                return stored;
+            }
+
+            misses.increment();
+            String transcript = recognizer.get();
+            store(key, transcript);
+            mine.complete(transcript);
+            return transcript;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private String lookup(String key) {
+        String cached = memory.get(key);
+        if (cached != null) {
+            memoryHits.increment();
+            log.info("Transcription cache hit (memory) - {}", key);
+            return cached;
+        }
+
+        if (!persistent) {
+            return null;
+        }
+
+        try {
+            List<String> rows = jdbcTemplate.queryForList(
+                    "SELECT transcript FROM transcription_cache WHERE audio_hash = ? AND created_at > ?",
+                    String.class, key, System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(ttlSeconds));
+            if (!rows.isEmpty()) {
+                persistentHits.increment();
+                memory.put(key, rows.get(0));
+                log.info("Transcription cache hit (postgres) - {}", key);
+                return rows.get(0);
+            }
+        } catch (Exception e) {
+            log.warn("Transcription cache lookup failed, recognizing instead: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void store(String key, String transcript) {
+        if (transcript == null) {
+            return;
+        }
+        memory.put(key, transcript);
+
+        if (persistent) {
+            try {
+                jdbcTemplate.update("INSERT INTO transcription_cache (audio_hash, transcript, created_at) " +
+                                "VALUES (?, ?, ?) ON CONFLICT (audio_hash) DO UPDATE SET " +
+                                "transcript = EXCLUDED.transcript, created_at = EXCLUDED.created_at",
+                        key, transcript, System.currentTimeMillis());
+            } catch (Exception e) {
+                log.warn("Failed to persist transcription cache entry: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.stt.cache.purge.interval.ms:3600000}")
+    public void purgeExpired() {
+        if (!enabled || !persistent) {
+            return;
+        }
+        int purged = jdbcTemplate.update("DELETE FROM transcription_cache WHERE created_at < ?",
+                System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(ttlSeconds));
+        if (purged > 0) {
+            log.info("Purged {} expired transcription cache entries", purged);
+        }
+    }
+
+    public TranscriptionCacheStats getStats() {
+        long hits = memoryHits.sum() + persistentHits.sum();
+        long lookups = hits + misses.sum();
+        return new TranscriptionCacheStats(
+                enabled,
+                persistent,
+                ttlSeconds,
+                memoryHits.sum(),
+                persistentHits.sum(),
+                misses.sum(),
+                coalesced.sum(),
+                lookups > 0 ? (double) hits / lookups : 0.0,
+                memory.getStats()
+        );
+    }
+
+    public record TranscriptionCacheStats(
+            boolean enabled,
+            boolean persistent,
+            long ttlSeconds,
+            long memoryHits,
+            long persistentHits,
+            long misses,
+            long coalesced,
+            double hitRate,
+            TtlLruCache.CacheStats memory
+    ) {}
+}
@@ -0,0 +1,164 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.CaptureStrategy;
+import com.labourconnect.dto.IVRSessionDTO;
+import com.labourconnect.dto.SessionField;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Transcribes the recordings of a call concurrently on virtual threads
+ * so post-call latency is bounded by the slowest field, not the sum of all fields
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TranscriptionService {
+
+    public static final String UNKNOWN = "Unknown";
+
+    /**
+     * Stored in place of a transcript when STT was unavailable; the recording is queued for retry
+     */
+    public static final String UNTRANSCRIBED = "Pending transcription";
+
+    private final SpeechToTextService speechToTextService;
+    private final WebSocketLogService webSocketLogService;
+    private final RecordingReadinessService recordingReadiness;
+    private final CaptureStatsService captureStats;
+
+    @Value("${app.stt.call.deadline.seconds:45}")
+    private long callDeadlineSeconds;
+
+    /**
+     * How long to wait for Twilio's recording-status callback before downloading anyway
+     */
+    @Value("${app.stt.recording.ready.wait.ms:5000}")
+    private long recordingReadyWaitMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Starts transcribing a single recording in the background.
+     * Used by the pipelined IVR flow as soon as each recording webhook arrives.
+     */
+    public CompletableFuture<String> transcribeAsync(String callSid, String field, String url, String language) {
+        log.info("Starting early transcription of {} - CallSid: {}", field, callSid);
+        return CompletableFuture.supplyAsync(() -> transcribeTimed(callSid, field, url, language), executor);
+    }
+
+    /**
+     * Transcribes the given fields of a call in parallel.
+     * Transcriptions already started for the session (pipelined mode) are reused as-is.
+     * Fields whose transcription failed or missed the per-call deadline come back as {@link #UNTRANSCRIBED}.
+     *
+     * @return field -> transcript for every requested field
+     */
+    public Map<SessionField, String> transcribeAll(IVRSessionDTO session, SessionField... fields) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(callDeadlineSeconds);
+        String callSid = session.getCallSid();
+
+        Map<SessionField, CompletableFuture<String>> futures = new EnumMap<>(SessionField.class);
+        for (SessionField field : fields) {
+            String streamed = session.getTranscript(field); // set by a media stream, possibly on another node
+            futures.put(field, streamed != null
+                    ? CompletableFuture.completedFuture(streamed)
+                    : session.startTranscription(field, () -> transcribeAsync(
+                            callSid, field.getKey(), session.getRecordingUrl(field), session.getLanguagePreference())));
+        }
+
+        long alreadyDone = futures.values().stream().filter(CompletableFuture::isDone).count();
+        log.info("{}/{} transcriptions already complete at hangup - CallSid: {}", alreadyDone, futures.size(), callSid);
+
+        Map<SessionField, String> results = new EnumMap<>(SessionField.class);
+        futures.forEach((field, future) ->
+                results.put(field, await(callSid, field.getKey(), future, deadline)));
+        return results;
+    }
+
+    /**
+     * Transcribes a single recording, returning "Unknown" when nothing usable comes back.
+     * Waits for the recording-status callback first so the download does not race Twilio's finalization.
+     */
+    public String transcribe(String url, String language) {
+        if (url == null) return UNKNOWN;
+
+        String status = recordingReadiness.awaitStatus(url, recordingReadyWaitMs);
+        if (status != null && !RecordingReadinessService.COMPLETED.equals(status)) {
+            log.warn("Recording {} reported as {}, skipping transcription", url, status);
+            return UNKNOWN;
+        }
+
+        return transcribeNow(url, language);
+    }
+
+    /**
+     * Transcribes a recording known to be finalized, without waiting for its status callback.
+     * Used when retrying untranscribed recordings.
+     *
+     * @return the transcript, "Unknown" if nothing usable was said, or {@link #UNTRANSCRIBED} if STT was unavailable
+     */
+    public String transcribeNow(String url, String language) {
+        String transcript;
+        try {
+            transcript = speechToTextService.transcribeAudioFromUrl(url + ".wav", language);
+        } catch (SpeechToTextService.SpeechUnavailableException e) {
+            log.warn("Recording left untranscribed: {} - {}", url, e.getMessage());
+            return UNTRANSCRIBED;
+        }
+
+        if (transcript != null && speechToTextService.isValidTranscription(transcript)) {
+            return speechToTextService.cleanTranscription(transcript);
+        }
+
+        return UNKNOWN;
+    }
+
+    /**
+     * Applies the same validation and cleanup as STT transcripts to a Twilio Gather SpeechResult
+     */
+    public String fromSpeechResult(String speechResult) {
+        if (speechToTextService.isValidTranscription(speechResult)) {
+            return speechToTextService.cleanTranscription(speechResult);
+        }
+        return UNKNOWN;
+    }
+
+    private String transcribeTimed(String callSid, String field, String url, String language) {
+        long start = System.currentTimeMillis();
+        String transcript = transcribe(url, language);
+        long elapsed = System.currentTimeMillis() - start;
+
+        log.info("Transcribed {} in {} ms - CallSid: {}", field, elapsed, callSid);
+        webSocketLogService.logTranscriptionTiming(callSid, field, elapsed, false);
+        captureStats.record(callSid, field, CaptureStrategy.RECORD, transcript, elapsed, -1);
+        return transcript;
+    }
+
+    private String await(String callSid, String field, CompletableFuture<String> future, long deadline) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Transcription of {} missed the {}s call deadline - CallSid: {}", field, callDeadlineSeconds, callSid);
+            webSocketLogService.logTranscriptionTiming(callSid, field, TimeUnit.SECONDS.toMillis(callDeadlineSeconds), true);
+        } catch (ExecutionException e) {
+            log.error("Transcription of {} failed - CallSid: {}: {}", field, callSid, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return UNTRANSCRIBED;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,96 @@
+package com.labourconnect.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small bounded LRU cache with per-entry expiry.
+ * Thread-safe; intended for hot, size-limited lookups (dedupe keys, transcripts, geocodes).
+ */
+public class TtlLruCache<K, V> {
+
+    private final int maxEntries;
+    private final long defaultTtlMillis;
+    private final Map<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TtlLruCache(int maxEntries, long defaultTtlMillis) {
+        this.maxEntries = maxEntries;
+        this.defaultTtlMillis = defaultTtlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                boolean evict = size() > TtlLruCache.this.maxEntries;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value, or null if absent or expired
+     */
+    public V get(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt < System.currentTimeMillis()) {
+                entries.remove(key);
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+
+    public void put(K key, V value) {
+        put(key, value, defaultTtlMillis);
+    }
+
+    public void put(K key, V value, long ttlMillis) {
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    public void remove(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(size(), maxEntries, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    public record CacheStats(
+            int size,
+            int maxEntries,
+            long hits,
+            long misses,
+            long evictions
+    ) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total > 0 ? (double) hits / total : 0.0;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {}
+}
@@ -4,6 +4,7 @@ import com.labourconnect.dto.MatchResultDTO;
 import com.twilio.Twilio;
 import com.twilio.rest.api.v2010.account.Message;
 import com.twilio.type.PhoneNumber;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -16,8 +17,12 @@ import java.util.List;
  */
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class TwilioService {
 
+    private final BulkheadRegistry bulkheads;
+    private final ConcurrencyLimiterRegistry limiters;
+
     @Value("${twilio.account.sid}")
     private String accountSid;
 
@@ -40,11 +45,12 @@ public class TwilioService {
         try {
             log.info("Sending SMS to: {}", toPhoneNumber);
 
-            Message message = Message.creator(
-                    new PhoneNumber(toPhoneNumber),
-                    new PhoneNumber(fromPhoneNumber),
-                    messageBody
-            ).create();
+            Message message = limiters.execute(BulkheadRegistry.Dependency.TWILIO_SMS, () ->
+                    bulkheads.execute(BulkheadRegistry.Dependency.TWILIO_SMS, () -> Message.creator(
+                            new PhoneNumber(toPhoneNumber),
+                            new PhoneNumber(fromPhoneNumber),
+                            messageBody
+                    ).create()));
 
             log.info("SMS sent successfully. SID: {}, Status: {}",
                     message.getSid(), message.getStatus());
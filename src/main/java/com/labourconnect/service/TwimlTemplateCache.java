@@ -0,0 +1,449 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.CaptureStrategy;
+import com.labourconnect.dto.SessionField;
+import com.labourconnect.dto.Skill;
+import com.twilio.twiml.VoiceResponse;
+import com.twilio.twiml.voice.*;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Pre-renders the TwiML for every static IVR step at startup.
+ * The output depends only on (step, field, language, baseUrl), so webhooks
+ * serve shared byte arrays instead of building and serializing a VoiceResponse per request.
+ * Callers must not modify the returned arrays.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TwimlTemplateCache {
+
+    public static final String[] LANGUAGES = {"en", "kn", "hi"};
+
+    public static final SessionField[] JOB_SEEKER_FIELDS = {
+            SessionField.NAME, SessionField.WORK_EXPERTISE, SessionField.LOCATION
+    };
+
+    public static final SessionField[] EMPLOYER_FIELDS = {
+            SessionField.TYPE_OF_WORK, SessionField.LOCATION
+    };
+
+    private static final Map<SessionField, String> DEFAULT_HINTS = Map.of(
+            SessionField.WORK_EXPERTISE, "plumber, electrician, carpenter, painter, mason, driver, cook, "
+                    + "cleaner, gardener, security guard, welder, tailor, helper, construction",
+            SessionField.TYPE_OF_WORK, "plumber, electrician, carpenter, painter, mason, driver, cook, "
+                    + "cleaner, gardener, security guard, welder, tailor, helper, construction",
+            SessionField.LOCATION, "Bengaluru, Bangalore, Mysuru, Mangaluru, Hubballi, Dharwad, Belagavi, "
+                    + "Kalaburagi, Davanagere, Ballari, Shivamogga, Tumakuru, Udupi, Hassan"
+    );
+
+    /**
+     * Said in the caller's language when a prompt has no recorded audio; indexed like {@link #LANGUAGES}.
+     */
+    private static final Map<String, String[]> SPOKEN_PROMPTS = Map.of(
+            "busy", new String[]{
+                    "All our lines are busy right now. Please call back in a few minutes.",
+                    "ನಮ್ಮ ಎಲ್ಲಾ ಲೈನ್‌ಗಳು ಈಗ ಬ್ಯುಸಿಯಾಗಿವೆ. ದಯವಿಟ್ಟು ಕೆಲವು ನಿಮಿಷಗಳ ನಂತರ ಮತ್ತೆ ಕರೆ ಮಾಡಿ.",
+                    "इस समय हमारी सभी लाइनें व्यस्त हैं। कृपया कुछ मिनट बाद फिर से कॉल करें।"
+            },
+            // %1$s is the key, %2$s the trade's display name
+            "skill_option", new String[]{
+                    "Press %1$s for %2$s. ",
+                    "%2$s ಕೆಲಸಕ್ಕಾಗಿ %1$s ಒತ್ತಿ. ",
+                    "%2$s के लिए %1$s दबाएँ। "
+            },
+            "skill_other", new String[]{
+                    "Press %1$s for any other work.",
+                    "ಬೇರೆ ಯಾವುದೇ ಕೆಲಸಕ್ಕಾಗಿ %1$s ಒತ್ತಿ.",
+                    "किसी और काम के लिए %1$s दबाएँ।"
+            },
+            "returning_caller", new String[]{
+                    "Welcome back to Labour Connect. Press 1 to get fresh matches by SMS. Press 2 for the main menu.",
+                    "ಲೇಬರ್ ಕನೆಕ್ಟ್‌ಗೆ ಮತ್ತೆ ಸ್ವಾಗತ. ಹೊಸ ಹೊಂದಾಣಿಕೆಗಳನ್ನು ಎಸ್‌ಎಂಎಸ್ ಮೂಲಕ ಪಡೆಯಲು 1 ಒತ್ತಿ. "
+                            + "ಮುಖ್ಯ ಮೆನುಗಾಗಿ 2 ಒತ್ತಿ.",
+                    "लेबर कनेक्ट में आपका फिर से स्वागत है। नए मैच एसएमएस पर पाने के लिए 1 दबाएँ। "
+                            + "मुख्य मेनू के लिए 2 दबाएँ।"
+            },
+            "fresh_matches", new String[]{
+                    "We are sending your latest matches by SMS. Thank you for calling.",
+                    "ನಿಮ್ಮ ಹೊಸ ಹೊಂದಾಣಿಕೆಗಳನ್ನು ಎಸ್‌ಎಂಎಸ್ ಮೂಲಕ ಕಳುಹಿಸುತ್ತಿದ್ದೇವೆ. ಕರೆ ಮಾಡಿದ್ದಕ್ಕೆ ಧನ್ಯವಾದಗಳು.",
+                    "हम आपके नए मैच एसएमएस से भेज रहे हैं। कॉल करने के लिए धन्यवाद।"
+            }
+    );
+
+    private static final Say.Language[] SAY_LANGUAGES = {Say.Language.EN_IN, Say.Language.KN_IN, Say.Language.HI_IN};
+    // A voice native to each language; the console default would read Kannada and Hindi with an English voice
+    private static final Say.Voice[] SAY_VOICES = {
+            Say.Voice.GOOGLE_EN_IN_STANDARD_A, Say.Voice.GOOGLE_KN_IN_STANDARD_C, Say.Voice.GOOGLE_HI_IN_STANDARD_A
+    };
+    private static final Gather.Language[] GATHER_LANGUAGES = {
+            Gather.Language.EN_IN, Gather.Language.KN_IN, Gather.Language.HI_IN
+    };
+
+    private final AudioService audioService;
+    private final Environment environment;
+
+    @Value("${twilio.webhook.base.url}")
+    private String baseUrl;
+
+    @Value("${app.ivr.max.recording.duration:30}")
+    private int maxRecordingDuration;
+
+    @Value("${app.ivr.timeout.seconds:5}")
+    private int timeout;
+
+    @Value("${app.ivr.capture.mode:record}") // record | stream | gather, per field via app.ivr.capture.{field}
+    private String captureMode;
+
+    @Value("${app.ivr.media.stream.url:}")
+    private String mediaStreamUrl;
+
+    private byte[] welcome;
+    private byte[] busy;
+    private final byte[][] purposeMenu = new byte[LANGUAGES.length][];
+    private final byte[][][] jobSeekerPrompts = new byte[SessionField.COUNT][LANGUAGES.length][];
+    private final byte[][][] employerPrompts = new byte[SessionField.COUNT][LANGUAGES.length][];
+    private final byte[][] returningCallerMenu = new byte[LANGUAGES.length][];
+    private final byte[][] freshMatches = new byte[LANGUAGES.length][];
+    private final byte[][] jobSeekerSkillMenu = new byte[LANGUAGES.length][];
+    private final byte[][] employerSkillMenu = new byte[LANGUAGES.length][];
+    private final byte[][] jobSeekerCompletion = new byte[LANGUAGES.length][];
+    private final byte[][] employerCompletion = new byte[LANGUAGES.length][];
+    private final Map<String, byte[]> errors = new ConcurrentHashMap<>();
+    private final CaptureStrategy[] captureStrategies = new CaptureStrategy[SessionField.COUNT];
+    private final Set<String> missingAudio = new ConcurrentSkipListSet<>(); // lang/key.mp3, said instead
+
+    @PostConstruct
+    public void init() {
+        if (mediaStreamUrl.isEmpty()) {
+            mediaStreamUrl = baseUrl.replaceFirst("^http", "ws") + "/ivr/media-stream";
+        }
+        for (SessionField field : SessionField.values()) {
+            captureStrategies[field.ordinal()] = CaptureStrategy.fromConfig(
+                    environment.getProperty("app.ivr.capture." + field.getKey(), captureMode));
+        }
+
+        welcome = render(new VoiceResponse.Builder()
+                .gather(menu("welcome", "en", "/ivr/language"))
+                .build());
+
+        // The caller has not picked a language yet, so the busy message is played in all of them
+        VoiceResponse.Builder busyResponse = new VoiceResponse.Builder();
+        for (String language : LANGUAGES) {
+            if (audioService.audioExists("busy", language)) {
+                busyResponse.play(new Play.Builder(audioService.getAudioUrl("busy", language)).build());
+            } else {
+                missingAudio("busy", language);
+                busyResponse.say(say(language, spoken("busy", language)));
+            }
+        }
+        busy = render(busyResponse.hangup(new Hangup.Builder().build()).build());
+
+        for (int lang = 0; lang < LANGUAGES.length; lang++) {
+            String language = LANGUAGES[lang];
+
+            purposeMenu[lang] = render(new VoiceResponse.Builder()
+                    .gather(menu("purpose_selection", language, "/ivr/purpose"))
+                    .build());
+
+            for (SessionField field : JOB_SEEKER_FIELDS) {
+                jobSeekerPrompts[field.ordinal()][lang] = render(fieldPrompt(
+                        "job_seeker_" + field.getKey(), language, "/ivr/process-job-seeker/" + field.getKey(),
+                        "job_seeker", field));
+            }
+            for (SessionField field : EMPLOYER_FIELDS) {
+                employerPrompts[field.ordinal()][lang] = render(fieldPrompt(
+                        "employer_" + field.getKey(), language, "/ivr/process-employer/" + field.getKey(),
+                        "employer", field));
+            }
+
+            returningCallerMenu[lang] = render(returningCallerMenuResponse(language));
+            freshMatches[lang] = render(freshMatchesResponse(language));
+
+            jobSeekerSkillMenu[lang] = render(skillMenuResponse("job_seeker", language));
+            employerSkillMenu[lang] = render(skillMenuResponse("employer", language));
+
+            jobSeekerCompletion[lang] = render(completion("completion_job_seeker", language));
+            employerCompletion[lang] = render(completion("completion_employer", language));
+        }
+
+        log.info("✅ Pre-rendered TwiML templates for {} languages (capture: {})",
+                LANGUAGES.length, Arrays.toString(captureStrategies));
+    }
+
+    public byte[] welcome() {
+        return welcome;
+    }
+
+    /**
+     * "We are busy, please call back" followed by hangup, used when admission control turns a call away
+     */
+    public byte[] busy() {
+        return busy;
+    }
+
+    public byte[] purposeMenu(String language) {
+        return purposeMenu[languageIndex(language)];
+    }
+
+    public byte[] jobSeekerPrompt(SessionField field, String language) {
+        return jobSeekerPrompts[field.ordinal()][languageIndex(language)];
+    }
+
+    public byte[] employerPrompt(SessionField field, String language) {
+        return employerPrompts[field.ordinal()][languageIndex(language)];
+    }
+
+    /**
+     * Welcome for a known number in its stored language: fresh matches or the main menu
+     */
+    public byte[] returningCallerMenu(String language) {
+        return returningCallerMenu[languageIndex(language)];
+    }
+
+    /**
+     * "Your matches are on the way by SMS" followed by hangup
+     */
+    public byte[] freshMatches(String language) {
+        return freshMatches[languageIndex(language)];
+    }
+
+    /**
+     * Keypad menu of common trades, used instead of the work expertise / type of work prompt
+     */
+    public byte[] skillMenu(String flow, String language) {
+        int lang = languageIndex(language);
+        return "employer".equals(flow) ? employerSkillMenu[lang] : jobSeekerSkillMenu[lang];
+    }
+
+    public byte[] jobSeekerCompletion(String language) {
+        return jobSeekerCompletion[languageIndex(language)];
+    }
+
+    public byte[] employerCompletion(String language) {
+        return employerCompletion[languageIndex(language)];
+    }
+
+    /**
+     * Spoken error followed by hangup. Rendered once per distinct message.
+     */
+    public byte[] error(String message) {
+        return errors.computeIfAbsent(message, msg -> render(new VoiceResponse.Builder()
+                .say(new Say.Builder(msg).build())
+                .hangup(new Hangup.Builder().build())
+                .build()));
+    }
+
+    public static int languageIndex(String language) {
+        if (language == null) {
+            return 0;
+        }
+        return switch (language) {
+            case "kn" -> 1;
+            case "hi" -> 2;
+            default -> 0;
+        };
+    }
+
+    private static String spoken(String key, String language) {
+        return SPOKEN_PROMPTS.get(key)[languageIndex(language)];
+    }
+
+    private static Say say(String language, String text) {
+        int lang = languageIndex(language);
+        return new Say.Builder(text).language(SAY_LANGUAGES[lang]).voice(SAY_VOICES[lang]).build();
+    }
+
+    private void missingAudio(String key, String language) {
+        log.warn("⚠️ Audio {}.mp3 missing for {}, falling back to Say", key, language);
+        missingAudio.add(language + "/" + key + ".mp3");
+    }
+
+    private Gather menu(String audioKey, String language, String action) {
+        return new Gather.Builder()
+                .numDigits(1)
+                .timeout(timeout)
+                .action(baseUrl + action)
+                .play(new Play.Builder(audioService.getAudioUrl(audioKey, language)).build())
+                .build();
+    }
+
+    /**
+     * The media-stream URL put in the Stream TwiML, which is what Twilio signs
+     */
+    public String getMediaStreamUrl() {
+        return mediaStreamUrl;
+    }
+
+    /**
+     * Prompts rendered with the Say fallback because static/Audio has no recording for them, as lang/key.mp3
+     */
+    public Set<String> getMissingAudio() {
+        return Set.copyOf(missingAudio);
+    }
+
+    public CaptureStrategy captureStrategy(SessionField field) {
+        return captureStrategies[field.ordinal()];
+    }
+
+    /**
+     * Prompt for a field, rendered for the field's capture strategy
+     */
+    private VoiceResponse fieldPrompt(String audioKey, String language, String action,
+                                      String flow, SessionField field) {
+        return switch (captureStrategy(field)) {
+            case STREAM -> streamPrompt(audioKey, language, action, flow, field);
+            case GATHER -> gatherPrompt(audioKey, language, action, field);
+            case RECORD -> recordPrompt(audioKey, language, action, flow, field);
+        };
+    }
+
+    /**
+     * Press 1 for fresh matches, 2 for the main menu. No input redirects to the webhook as the main menu.
+     */
+    private VoiceResponse returningCallerMenuResponse(String language) {
+        String action = baseUrl + "/ivr/returning";
+        Gather.Builder gather = new Gather.Builder()
+                .numDigits(1)
+                .timeout(timeout)
+                .action(action);
+
+        if (audioService.audioExists("returning_caller", language)) {
+            gather.play(new Play.Builder(audioService.getAudioUrl("returning_caller", language)).build());
+        } else {
+            missingAudio("returning_caller", language);
+            gather.say(say(language, spoken("returning_caller", language)));
+        }
+
+        return new VoiceResponse.Builder()
+                .gather(gather.build())
+                .redirect(new Redirect.Builder(action).build())
+                .build();
+    }
+
+    private VoiceResponse freshMatchesResponse(String language) {
+        VoiceResponse.Builder response = new VoiceResponse.Builder();
+        if (audioService.audioExists("fresh_matches", language)) {
+            response.play(new Play.Builder(audioService.getAudioUrl("fresh_matches", language)).build());
+        } else {
+            missingAudio("fresh_matches", language);
+            response.say(say(language, spoken("fresh_matches", language)));
+        }
+        return response.hangup(new Hangup.Builder().build()).build();
+    }
+
+    /**
+     * One-digit trade menu. Without a keypress Twilio falls through to the redirect,
+     * which the skill-menu webhook treats like "other".
+     */
+    private VoiceResponse skillMenuResponse(String flow, String language) {
+        String action = baseUrl + "/ivr/skill-menu/" + flow;
+        Gather.Builder gather = new Gather.Builder()
+                .numDigits(1)
+                .language(GATHER_LANGUAGES[languageIndex(language)])
+                .timeout(timeout)
+                .action(action);
+
+        if (audioService.audioExists("skill_menu", language)) {
+            gather.play(new Play.Builder(audioService.getAudioUrl("skill_menu", language)).build());
+        } else {
+            missingAudio("skill_menu", language);
+            StringBuilder text = new StringBuilder();
+            for (Skill skill : Skill.values()) {
+                text.append(String.format(spoken("skill_option", language), skill.getDigit(), skill.getDisplayName()));
+            }
+            text.append(String.format(spoken("skill_other", language), Skill.OTHER_DIGIT));
+            gather.say(say(language, text.toString()));
+        }
+
+        return new VoiceResponse.Builder()
+                .gather(gather.build())
+                .redirect(new Redirect.Builder(action).build())
+                .build();
+    }
+
+    /**
+     * Record verb whose status callback tells us which flow and field the recording belongs to
+     */
+    private VoiceResponse recordPrompt(String audioKey, String language, String action,
+                                       String flow, SessionField field) {
+        com.twilio.twiml.voice.Record record = new com.twilio.twiml.voice.Record.Builder()
+                .maxLength(maxRecordingDuration)
+                .timeout(timeout)
+                .action(baseUrl + action)
+                .recordingStatusCallback(baseUrl + "/ivr/recording-status?flow=" + flow + "&field=" + field.getKey())
+                .build();
+
+        return new VoiceResponse.Builder()
+                .play(new Play.Builder(audioService.getAudioUrl(audioKey, language)).build())
+                .record(record)
+                .build();
+    }
+
+    /**
+     * Streams the caller's answer over a WebSocket for live recognition. The socket is closed
+     * by the server once the utterance is transcribed, after which Twilio requests the action URL.
+     */
+    private VoiceResponse streamPrompt(String audioKey, String language, String action,
+                                       String flow, SessionField field) {
+        Stream stream = new Stream.Builder()
+                .url(mediaStreamUrl)
+                .parameter(new Parameter.Builder().name("flow").value(flow).build())
+                .parameter(new Parameter.Builder().name("field").value(field.getKey()).build())
+                .build();
+
+        return new VoiceResponse.Builder()
+                .play(new Play.Builder(audioService.getAudioUrl(audioKey, language)).build())
+                .connect(new Connect.Builder().action(baseUrl + action).stream(stream).build())
+                .build();
+    }
+
+    /**
+     * Twilio's own speech recognition: SpeechResult and Confidence arrive with the action webhook.
+     * actionOnEmptyResult keeps the flow going when nothing was said.
+     */
+    private VoiceResponse gatherPrompt(String audioKey, String language, String action, SessionField field) {
+        Gather.Builder gather = new Gather.Builder()
+                .inputs(Gather.Input.SPEECH)
+                .language(Gather.Language.EN_IN) // same as the Google STT config
+                .speechModel(Gather.SpeechModel.PHONE_CALL)
+                .speechTimeout("auto")
+                .timeout(timeout)
+                .actionOnEmptyResult(true)
+                .action(baseUrl + action)
+                .play(new Play.Builder(audioService.getAudioUrl(audioKey, language)).build());
+
+        String hints = environment.getProperty("app.ivr.gather.hints." + field.getKey(),
+                DEFAULT_HINTS.getOrDefault(field, ""));
+        if (!hints.isEmpty()) {
+            gather.hints(hints);
+        }
+
+        return new VoiceResponse.Builder()
+                .gather(gather.build())
+                .build();
+    }
+
+    private VoiceResponse completion(String audioKey, String language) {
+        return new VoiceResponse.Builder()
+                .play(new Play.Builder(audioService.getAudioUrl(audioKey, language)).build())
+                .hangup(new Hangup.Builder().build())
+                .build();
+    }
+
+    private byte[] render(VoiceResponse response) {
+        return response.toXml().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,123 @@
+package com.labourconnect.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Energy-based voice activity detection on 16-bit little-endian mono PCM.
+ * Cuts leading and trailing silence so we do not upload and pay STT for it;
+ * recordings with no voiced frame at all are reported as silent.
+ */
+@Service
+@Slf4j
+public class VoiceActivityTrimmer {
+
+    private static final int FRAME_MS = 20;
+    private static final int DEFAULT_SAMPLE_RATE = 8000;
+
+    @Value("${app.stt.vad.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * RMS amplitude (0-32767) above which a 20 ms frame counts as speech
+     */
+    @Value("${app.stt.vad.rms.threshold:400}")
+    private int rmsThreshold;
+
+    /**
+     * Audio kept around the detected speech so word onsets and tails are not clipped
+     */
+    @Value("${app.stt.vad.padding.ms:200}")
+    private int paddingMs;
+
+    private final LongAdder recordings = new LongAdder();
+    private final LongAdder silentRecordings = new LongAdder();
+    private final LongAdder inputMs = new LongAdder();
+    private final LongAdder savedMs = new LongAdder();
+
+    /**
+     * @return the voiced part of the audio (sharing its buffer), the audio itself when trimming
+     *         is disabled, or null if the recording is all silence
+     */
+    public PcmAudio trim(PcmAudio audio) {
+        if (!enabled) {
+            return audio;
+        }
+
+        int sampleRate = audio.sampleRate() > 0 ? audio.sampleRate() : DEFAULT_SAMPLE_RATE;
+        int frameBytes = sampleRate * FRAME_MS / 1000 * 2;
+        int frames = audio.length() / frameBytes;
+        long durationMs = bytesToMs(audio.length(), sampleRate);
+
+        recordings.increment();
+        inputMs.add(durationMs);
+
+        int first = -1;
+        int last = -1;
+        long thresholdSquared = (long) rmsThreshold * rmsThreshold;
+        for (int frame = 0; frame < frames; frame++) {
+            if (meanSquare(audio.buffer(), audio.offset() + frame * frameBytes, frameBytes) >= thresholdSquared) {
+                if (first < 0) {
+                    first = frame;
+                }
+                last = frame;
+            }
+        }
+
+        if (first < 0) {
+            silentRecordings.increment();
+            savedMs.add(durationMs);
+            log.info("Recording is silent ({} ms), skipping STT", durationMs);
+            return null;
+        }
+
+        int paddingFrames = paddingMs / FRAME_MS;
+        int start = Math.max(0, first - paddingFrames) * frameBytes;
+        int end = Math.min(audio.length(), (last + 1 + paddingFrames) * frameBytes);
+        if (last + 1 + paddingFrames >= frames) {
+            end = audio.length(); // keep the partial trailing frame
+        }
+
+        long saved = bytesToMs(audio.length() - (end - start), sampleRate);
+        savedMs.add(saved);
+        log.debug("Trimmed {} ms of silence from {} ms recording", saved, durationMs);
+        return audio.slice(start, end - start);
+    }
+
+    private static long meanSquare(byte[] buffer, int offset, int length) {
+        long sum = 0;
+        for (int i = offset; i < offset + length; i += 2) {
+            int sample = (short) ((buffer[i] & 0xFF) | (buffer[i + 1] << 8));
+            sum += (long) sample * sample;
+        }
+        return sum / (length / 2);
+    }
+
+    private static long bytesToMs(int bytes, int sampleRate) {
+        return bytes / 2 * 1000L / sampleRate;
+    }
+
+    public VadStats getStats() {
+        long count = recordings.sum();
+        return new VadStats(
+                enabled,
+                count,
+                silentRecordings.sum(),
+                inputMs.sum() / 1000.0,
+                savedMs.sum() / 1000.0,
+                count > 0 ? savedMs.sum() / 1000.0 / count : 0.0
+        );
+    }
+
+    public record VadStats(
+            boolean enabled,
+            long recordings,
+            long silentRecordings,
+            double inputSeconds,
+            double savedSeconds,
+            double averageSavedSecondsPerRecording
+    ) {}
+}
@@ -91,6 +91,34 @@ public class WebSocketLogService {
                 .build());
     }
 
+    public void logTranscriptionTiming(String callSid, String field, long elapsedMs, boolean timedOut) {
+        broadcastEvent(CallLogEvent.builder()
+                .callSid(callSid)
+                .eventType("TRANSCRIPTION_TIMING")
+                .message((timedOut ? "⏱️ " + field + " transcription timed out after " : "🎙️ " + field + " transcribed in ")
+                        + elapsedMs + " ms")
+                .status(timedOut ? "WARNING" : "INFO")
+                .data("{\"field\": \"" + field + "\", \"elapsedMs\": " + elapsedMs
+                        + ", \"timedOut\": " + timedOut + "}")
+                .build());
+    }
+
+    public void logCaptureResult(String callSid, String field, String strategy, long latencyMs,
+                                 double confidence, boolean recognized) {
+        broadcastEvent(CallLogEvent.builder()
+                .callSid(callSid)
+                .eventType("CAPTURE_RESULT")
+                .message((recognized ? "🗣️ " : "🤷 ") + field + " via " + strategy
+                        + (latencyMs >= 0 ? " in " + latencyMs + " ms" : "")
+                        + (confidence >= 0 ? String.format(" (confidence %.2f)", confidence) : ""))
+                .status(recognized ? "INFO" : "WARNING")
+                .data("{\"field\": \"" + field + "\", \"strategy\": \"" + strategy + "\", \"latencyMs\": "
+                        + (latencyMs >= 0 ? latencyMs : "null")
+                        + ", \"confidence\": " + (confidence >= 0 ? confidence : "null")
+                        + ", \"recognized\": " + recognized + "}")
+                .build());
+    }
+
     public void logDatabaseSaved(String callSid, String type, Long id) {
         broadcastEvent(CallLogEvent.builder()
                 .callSid(callSid)
@@ -128,6 +156,15 @@ public class WebSocketLogService {
                 .build());
     }
 
+    public void logCallDropped(String callSid, String reason) {
+        broadcastEvent(CallLogEvent.builder()
+                .callSid(callSid)
+                .eventType("CALL_DROPPED")
+                .message("📴 Call dropped (" + reason + ")")
+                .status("WARNING")
+                .build());
+    }
+
     public void logError(String callSid, String errorMessage) {
         broadcastEvent(CallLogEvent.builder()
                 .callSid(callSid)
@@ -0,0 +1,82 @@
+package com.labourconnect.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates Twilio webhook retries keyed by (CallSid, step, field).
+ * A retry replays the TwiML rendered for the first attempt instead of running the handler again;
+ * a retry that arrives while the first attempt is still running waits for its result.
+ */
+@Service
+@Slf4j
+public class WebhookIdempotencyService {
+
+    @Value("${app.ivr.idempotency.ttl.seconds:120}")
+    private long ttlSeconds;
+
+    @Value("${app.ivr.idempotency.max.entries:20000}")
+    private int maxEntries;
+
+    private TtlLruCache<String, byte[]> responses;
+    private final Map<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder replays = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        responses = new TtlLruCache<>(maxEntries, TimeUnit.SECONDS.toMillis(ttlSeconds));
+    }
+
+    /**
+     * Runs the handler once per (callSid, step, field) within the TTL and replays its response afterwards
+     */
+    public byte[] handle(String callSid, String step, String field, Supplier<byte[]> handler) {
+        String key = callSid + '|' + step + '|' + (field != null ? field : "");
+
+        byte[] cached = responses.get(key);
+        if (cached != null) {
+            replays.increment();
+            log.info("Replaying TwiML for retried webhook {} {} - CallSid: {}", step, field, callSid);
+            return cached;
+        }
+
+        CompletableFuture<byte[]> mine = new CompletableFuture<>();
+        CompletableFuture<byte[]> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            replays.increment();
+            log.info("Webhook {} {} already in progress, waiting for it - CallSid: {}", step, field, callSid);
+            return running.join();
+        }
+
+        try {
+            byte[] response = handler.get();
+            responses.put(key, response);
+            mine.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public IdempotencyStats getStats() {
+        return new IdempotencyStats(replays.sum(), inFlight.size(), responses.getStats());
+    }
+
+    public record IdempotencyStats(
+            long replays,
+            int inFlight,
+            TtlLruCache.CacheStats cache
+    ) {}
+}
@@ -25,6 +25,8 @@ import java.util.Optional;
 public class WorkService {
 
     private final WorkRepository workRepository;
+    private final CallerRegistry callerRegistry;
+    private final MatchIndex matchIndex;
 
     /**
      * Posts a new job
@@ -36,6 +38,7 @@ public class WorkService {
         Work work = Work.builder()
                 .phoneNo(workDTO.getPhoneNo())
                 .typeOfWork(workDTO.getTypeOfWork())
+                .skillId(workDTO.getSkillId())
                 .location(workDTO.getLocation())
                 .wagesOffered(workDTO.getWagesOffered())
                 .organisationName(workDTO.getOrganisationName())
@@ -44,6 +47,9 @@ public class WorkService {
                 .build();
 
         Work saved = workRepository.save(work);
+        AfterCommit.run(() -> callerRegistry.register(saved.getPhoneNo(), saved.getLanguagePreference(),
+                CallerRegistry.ROLE_EMPLOYER));
+        AfterCommit.run(() -> matchIndex.index(saved));
         log.info("Job posted successfully with ID: {}", saved.getWorkId());
 
         return saved;
@@ -67,6 +73,7 @@ public class WorkService {
 
         // Update fields
         if (workDTO.getTypeOfWork() != null) work.setTypeOfWork(workDTO.getTypeOfWork());
+        if (workDTO.getSkillId() != null) work.setSkillId(workDTO.getSkillId());
         if (workDTO.getLocation() != null) work.setLocation(workDTO.getLocation());
         if (workDTO.getWagesOffered() != null) work.setWagesOffered(workDTO.getWagesOffered());
         if (workDTO.getOrganisationName() != null) work.setOrganisationName(workDTO.getOrganisationName());
@@ -74,11 +81,19 @@ public class WorkService {
         if (workDTO.getLanguagePreference() != null) work.setLanguagePreference(workDTO.getLanguagePreference());
 
         Work updated = workRepository.save(work);
+        AfterCommit.run(() -> matchIndex.index(updated));
         log.info("Job updated successfully");
 
         return updated;
     }
 
+    /**
+     * Finds job by ID
+     */
+    public Work findById(Long workId) {
+        return workRepository.findById(workId).orElse(null);
+    }
+
     /**
      * Finds jobs posted by phone number
      */
@@ -87,6 +102,14 @@ public class WorkService {
         return workRepository.findByPhoneNo(phoneNo);
     }
 
+    /**
+     * Finds the most recent job posted by a phone number
+     */
+    public Work findLatestByPhoneNo(String phoneNo) {
+        log.info("Finding latest job posted by phone: {}", phoneNo);
+        return workRepository.findFirstByPhoneNoOrderByPostedDateDesc(phoneNo).orElse(null);
+    }
+
     /**
      * Gets all job postings
      */
@@ -134,8 +157,12 @@ public class WorkService {
     public boolean deleteWork(Long workId) {
         log.info("Deleting job with ID: {}", workId);
 
-        if (workRepository.existsById(workId)) {
-            workRepository.deleteById(workId);
+        Optional<Work> existing = workRepository.findById(workId);
+        if (existing.isPresent()) {
+            workRepository.delete(existing.get());
+            String phoneNo = existing.get().getPhoneNo();
+            AfterCommit.run(() -> callerRegistry.unregister(phoneNo, CallerRegistry.ROLE_EMPLOYER, workId));
+            AfterCommit.run(() -> matchIndex.remove(MatchIndex.Side.JOBS, workId));
             log.info("Job deleted successfully");
             return true;
         }
@@ -4,6 +4,11 @@
 -- ============================================
 
 -- Drop existing tables if any
+DROP TABLE IF EXISTS geocode_cache CASCADE;
+DROP TABLE IF EXISTS learned_place_aliases CASCADE;
+DROP TABLE IF EXISTS pending_transcriptions CASCADE;
+DROP TABLE IF EXISTS transcription_cache CASCADE;
+DROP TABLE IF EXISTS ivr_sessions CASCADE;
 DROP TABLE IF EXISTS call_logs CASCADE;
 DROP TABLE IF EXISTS work CASCADE;
 DROP TABLE IF EXISTS labour CASCADE;
@@ -17,6 +22,7 @@ CREATE TABLE labour (
     name VARCHAR(100),
     experience INTEGER,
     work_expertise VARCHAR(200),
+    skill_id VARCHAR(30),  -- canonical trade (keypad menu / exact match), NULL for free-form skills
     location VARCHAR(100),
     preferred_wage INTEGER,  -- Minimum expected wage per day
     bio TEXT,
@@ -34,6 +40,7 @@ CREATE TABLE labour (
 CREATE INDEX idx_labour_expertise ON labour(work_expertise);
 CREATE INDEX idx_labour_phone ON labour(phone_no);
 CREATE INDEX idx_labour_location ON labour(location);
+CREATE INDEX idx_labour_skill ON labour(skill_id);
 CREATE INDEX idx_labour_reg_date ON labour(registration_date DESC);
 
 -- ============================================
@@ -43,12 +50,14 @@ CREATE TABLE work (
     work_id SERIAL PRIMARY KEY,
     phone_no VARCHAR(15) NOT NULL,  -- Employer's contact
     type_of_work VARCHAR(150) NOT NULL,
+    skill_id VARCHAR(30),  -- canonical trade (keypad menu / exact match), NULL for free-form jobs
     location VARCHAR(100) NOT NULL,
     wages_offered INTEGER,  -- Per day wage
     organisation_name VARCHAR(150),
     description TEXT,
     language_preference VARCHAR(10) DEFAULT 'en',
     posted_date TIMESTAMP DEFAULT NOW(),
+    last_updated TIMESTAMP DEFAULT NOW(),
 
     -- Constraints
     CONSTRAINT chk_wages CHECK (wages_offered >= 0),
@@ -58,6 +67,7 @@ CREATE TABLE work (
 -- Indexes for faster searching
 CREATE INDEX idx_work_type ON work(type_of_work);
 CREATE INDEX idx_work_location ON work(location);
+CREATE INDEX idx_work_skill ON work(skill_id);
 CREATE INDEX idx_work_phone ON work(phone_no);
 CREATE INDEX idx_work_posted_date ON work(posted_date DESC);
 
@@ -82,6 +92,77 @@ CREATE TABLE call_logs (
 CREATE INDEX idx_call_logs_timestamp ON call_logs(call_timestamp DESC);
 CREATE INDEX idx_call_logs_phone ON call_logs(phone_no);
 
+-- ============================================
+-- 4. IVR SESSIONS (shared between replicas, app.ivr.session.store=jdbc)
+-- ============================================
+-- UNLOGGED: sessions are short-lived, losing them on a crash only drops in-progress calls
+CREATE UNLOGGED TABLE ivr_sessions (
+    call_sid VARCHAR(64) PRIMARY KEY,
+    phone_no VARCHAR(15),
+    language_preference VARCHAR(10),
+    call_purpose VARCHAR(50),
+    current_step INTEGER,
+    start_time BIGINT NOT NULL,  -- epoch millis
+    last_access_time BIGINT NOT NULL,  -- epoch millis, drives idle eviction
+    recording_urls TEXT,  -- JSON array indexed by SessionField
+    recording_statuses TEXT,  -- JSON array indexed by SessionField (recording-status callback)
+    transcripts TEXT,  -- JSON array indexed by SessionField
+    version INTEGER NOT NULL DEFAULT 0  -- optimistic lock
+);
+
+CREATE INDEX idx_ivr_sessions_last_access ON ivr_sessions(last_access_time);
+
+-- ============================================
+-- 5. TRANSCRIPTION CACHE (app.stt.cache.persistent=true)
+-- ============================================
+CREATE TABLE transcription_cache (
+    audio_hash VARCHAR(64) PRIMARY KEY,  -- SHA-256 of recognition config + audio bytes
+    transcript TEXT NOT NULL,
+    created_at BIGINT NOT NULL  -- epoch millis, drives TTL
+);
+
+-- ============================================
+-- 6. PENDING TRANSCRIPTIONS (STT was unavailable, retried in the background)
+-- ============================================
+CREATE TABLE pending_transcriptions (
+    pending_id SERIAL PRIMARY KEY,
+    call_sid VARCHAR(64),
+    recording_url VARCHAR(500) NOT NULL,
+    target_type VARCHAR(20) NOT NULL,  -- 'labour' or 'work'
+    target_id BIGINT NOT NULL,
+    field VARCHAR(50) NOT NULL,  -- e.g. 'work_expertise'
+    language VARCHAR(10),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error TEXT,
+    created_at TIMESTAMP DEFAULT NOW(),
+
+    CONSTRAINT chk_target_type CHECK (target_type IN ('labour', 'work'))
+);
+
+CREATE INDEX idx_pending_transcriptions_next_attempt ON pending_transcriptions(next_attempt_at);
+
+-- ============================================
+-- 7. LEARNED PLACE ALIASES (spoken place names resolved by Groq, app.geo.learned.enabled=true)
+-- ============================================
+CREATE TABLE learned_place_aliases (
+    alias VARCHAR(100) PRIMARY KEY,  -- normalized spoken form
+    name VARCHAR(100) NOT NULL,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    created_at TIMESTAMP DEFAULT NOW()
+);
+
+-- ============================================
+-- 8. GEOCODE CACHE (Groq answers by normalized location, app.geo.cache.persistent=true)
+-- ============================================
+CREATE TABLE geocode_cache (
+    location_key VARCHAR(200) PRIMARY KEY,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    created_at BIGINT NOT NULL  -- epoch millis, drives TTL
+);
+
 -- ============================================
 -- SAMPLE DATA FOR DEMO
 -- ============================================
@@ -110,6 +191,10 @@ INSERT INTO work (phone_no, type_of_work, location, wages_offered, organisation_
 ('+919123456786', 'Electrician', 'Bangalore', 800, 'IT Office', 'Office electrical maintenance work', 'en'),
 ('+919123456787', 'Welder', 'Mangalore', 1000, 'Metal Works Ltd', 'Metal gate and grille fabrication', 'kn');
 
+-- Sample trades are all on the keypad menu
+UPDATE labour SET skill_id = LOWER(work_expertise);
+UPDATE work SET skill_id = LOWER(type_of_work);
+
 -- Insert Sample Call Logs
 INSERT INTO call_logs (phone_no, call_purpose, language_selected, call_duration, call_timestamp, status) VALUES
 ('+919876543210', 'job_seeker', 'en', 180, NOW() - INTERVAL '2 days', 'completed'),
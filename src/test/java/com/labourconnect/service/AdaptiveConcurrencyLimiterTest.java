@@ -0,0 +1,139 @@
+package com.labourconnect.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static class Overloaded extends RuntimeException {}
+
+    private static AdaptiveConcurrencyLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimiter("test", initial, min, max, 1_000, 0.5, e -> e instanceof Overloaded);
+    }
+
+    @Test
+    void fastCallsAtTheLimitRaiseItUpToTheMaximum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 3);
+
+        for (int round = 0; round < 10; round++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            AdaptiveConcurrencyLimiter.Permit permit;
+            while ((permit = limiter.tryAcquire()) != null) {
+                permits.add(permit);
+            }
+            permits.forEach(taken -> taken.release(null));
+        }
+
+        AdaptiveConcurrencyLimiter.LimiterStats stats = limiter.getStats();
+        assertThat(stats.limit()).isEqualTo(3);
+        assertThat(stats.inFlight()).isZero();
+    }
+
+    @Test
+    void fastCallsWithSlotsToSpareLeaveTheLimitAlone() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 3);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.execute(() -> "ok");
+        }
+
+        AdaptiveConcurrencyLimiter.LimiterStats stats = limiter.getStats();
+        assertThat(stats.limit()).isEqualTo(2);
+        assertThat(stats.calls()).isEqualTo(20);
+        assertThat(stats.inFlight()).isZero();
+    }
+
+    @Test
+    void overloadCutsTheLimitButNotBelowTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 2, 16);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> limiter.execute(() -> {
+                throw new Overloaded();
+            })).isInstanceOf(Overloaded.class);
+        }
+
+        AdaptiveConcurrencyLimiter.LimiterStats stats = limiter.getStats();
+        assertThat(stats.limit()).isEqualTo(2);
+        assertThat(stats.overloads()).isEqualTo(3);
+        assertThat(stats.inFlight()).isZero();
+    }
+
+    @Test
+    void otherFailuresLeaveTheLimitAlone() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 8);
+
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            throw new IllegalStateException("bad request");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(limiter.getStats().limit()).isEqualTo(4);
+        assertThat(limiter.getStats().overloads()).isZero();
+    }
+
+    @Test
+    void callersOverTheLimitWaitForASlot() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread first = Thread.ofVirtual().start(() -> limiter.execute(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread second = Thread.ofVirtual().start(() -> limiter.execute(() -> null));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (limiter.getStats().waiting() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        AdaptiveConcurrencyLimiter.LimiterStats blocked = limiter.getStats();
+        assertThat(blocked.inFlight()).isEqualTo(1);
+        assertThat(blocked.waiting()).isEqualTo(1);
+
+        release.countDown();
+        first.join(5_000);
+        second.join(5_000);
+
+        AdaptiveConcurrencyLimiter.LimiterStats done = limiter.getStats();
+        assertThat(done.inFlight()).isZero();
+        assertThat(done.waiting()).isZero();
+        assertThat(done.calls()).isEqualTo(2);
+        assertThat(done.queued()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquireCountsAgainstTheLimitAndNeverWaits() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 2);
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(limiter.tryAcquire()).isNull();
+        assertThat(limiter.getStats().inFlight()).isEqualTo(2);
+
+        first.release(null);
+        first.release(null);
+        second.release(new CancellationException());
+
+        assertThat(limiter.getStats().inFlight()).isZero();
+        assertThat(limiter.getStats().queued()).isZero();
+        assertThat(limiter.tryAcquire()).isNotNull();
+    }
+}
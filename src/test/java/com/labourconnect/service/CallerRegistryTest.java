@@ -0,0 +1,156 @@
+package com.labourconnect.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CallerRegistryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private CallerRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:callers-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE labour (labour_id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "phone_no VARCHAR(15), language_preference VARCHAR(10), "
+                + "registration_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE work (work_id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "phone_no VARCHAR(15), language_preference VARCHAR(10), "
+                + "posted_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+
+        registry = new CallerRegistry(jdbcTemplate);
+        ReflectionTestUtils.setField(registry, "enabled", true);
+        ReflectionTestUtils.setField(registry, "compactThreshold", 1024);
+    }
+
+    @Test
+    void unknownAndMalformedNumbersAreNotRecognized() {
+        insertLabour("+919876543210", "kn");
+        registry.init();
+
+        assertThat(registry.lookup("+919876543211")).isNull();
+        assertThat(registry.lookup("+91 98765 43210")).isNull();
+        assertThat(registry.lookup(null)).isNull();
+        assertThat(registry.lookup("+919876543210")).isEqualTo(new CallerRegistry.Caller("kn", true, false));
+    }
+
+    @Test
+    void bloomFilterAnswersMostUnknownNumbers() {
+        for (int i = 0; i < 100; i++) {
+            insertLabour("+9198765" + String.format("%05d", i), "en");
+        }
+        registry.init();
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(registry.lookup("+9188888" + String.format("%05d", i))).isNull();
+        }
+
+        CallerRegistry.CallerRegistryStats stats = registry.getStats();
+        assertThat(stats.indexedNumbers()).isEqualTo(100);
+        assertThat(stats.knownCallers()).isZero();
+        assertThat(stats.bloomRejections()).isGreaterThan(950);
+    }
+
+    @Test
+    void registeredNumbersSurviveCompaction() {
+        registry.init();
+        for (int i = 0; i < 50; i++) {
+            registry.register("+9198765" + String.format("%05d", i * 7), "hi", CallerRegistry.ROLE_EMPLOYER);
+        }
+
+        assertThat(registry.lookup("+919876500014")).isEqualTo(new CallerRegistry.Caller("hi", false, true));
+        assertThat(registry.getStats().pendingNumbers()).isEqualTo(50);
+
+        registry.compact();
+
+        assertThat(registry.getStats().pendingNumbers()).isZero();
+        assertThat(registry.getStats().indexedNumbers()).isEqualTo(50);
+        for (int i = 0; i < 50; i++) {
+            assertThat(registry.lookup("+9198765" + String.format("%05d", i * 7))).isNotNull();
+            assertThat(registry.lookup("+9198765" + String.format("%05d", i * 7 + 1))).isNull();
+        }
+    }
+
+    @Test
+    void reachingTheThresholdCompactsOnRegister() {
+        ReflectionTestUtils.setField(registry, "compactThreshold", 2);
+        registry.init();
+
+        registry.register("+919876543210", "en", CallerRegistry.ROLE_WORKER);
+        registry.register("+919876543211", "en", CallerRegistry.ROLE_WORKER);
+
+        assertThat(registry.getStats().pendingNumbers()).isZero();
+        assertThat(registry.getStats().indexedNumbers()).isEqualTo(2);
+    }
+
+    @Test
+    void reRegistrationTakesTheNewLanguageAndKeepsEarlierRoles() {
+        insertLabour("+919876543210", "kn");
+        registry.init();
+
+        registry.register("+919876543210", "hi", CallerRegistry.ROLE_EMPLOYER);
+
+        assertThat(registry.lookup("+919876543210")).isEqualTo(new CallerRegistry.Caller("hi", true, true));
+        registry.compact();
+        assertThat(registry.lookup("+919876543210")).isEqualTo(new CallerRegistry.Caller("hi", true, true));
+        assertThat(registry.getStats().indexedNumbers()).isEqualTo(1);
+    }
+
+    @Test
+    void unregisterKeepsRemainingRolesAndForgetsNumbersWithNone() {
+        long labourId = insertLabour("+919876543210", "kn");
+        long workId = insertWork("+919876543210", "kn");
+        registry.init();
+
+        jdbcTemplate.update("DELETE FROM work WHERE work_id = ?", workId);
+        registry.unregister("+919876543210", CallerRegistry.ROLE_EMPLOYER, workId);
+        assertThat(registry.lookup("+919876543210")).isEqualTo(new CallerRegistry.Caller("kn", true, false));
+
+        jdbcTemplate.update("DELETE FROM labour WHERE labour_id = ?", labourId);
+        registry.unregister("+919876543210", CallerRegistry.ROLE_WORKER, labourId);
+        assertThat(registry.lookup("+919876543210")).isNull();
+
+        registry.compact();
+        assertThat(registry.getStats().indexedNumbers()).isZero();
+        assertThat(registry.lookup("+919876543210")).isNull();
+
+        // The deletes were accounted for, so the row counts still agree
+        registry.sync();
+        assertThat(registry.getStats().reloads()).isEqualTo(1);
+    }
+
+    @Test
+    void syncPicksUpOtherReplicasInsertsAndReloadsAfterTheirDeletes() {
+        registry.init();
+
+        long labourId = insertLabour("+919876543210", "hi");
+        registry.sync();
+
+        assertThat(registry.lookup("+919876543210")).isEqualTo(new CallerRegistry.Caller("hi", true, false));
+        assertThat(registry.getStats().reloads()).isEqualTo(1);
+
+        jdbcTemplate.update("DELETE FROM labour WHERE labour_id = ?", labourId);
+        registry.sync();
+
+        assertThat(registry.getStats().reloads()).isEqualTo(2);
+        assertThat(registry.lookup("+919876543210")).isNull();
+    }
+
+    private long insertLabour(String phoneNo, String language) {
+        jdbcTemplate.update("INSERT INTO labour (phone_no, language_preference) VALUES (?, ?)", phoneNo, language);
+        return jdbcTemplate.queryForObject("SELECT MAX(labour_id) FROM labour", Long.class);
+    }
+
+    private long insertWork(String phoneNo, String language) {
+        jdbcTemplate.update("INSERT INTO work (phone_no, language_preference) VALUES (?, ?)", phoneNo, language);
+        return jdbcTemplate.queryForObject("SELECT MAX(work_id) FROM work", Long.class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.labourconnect.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailuresAndFailsFast() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, 60_000);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(breaker::acquire).isInstanceOf(CircuitBreaker.CircuitOpenException.class);
+        assertThat(breaker.getStats().shortCircuited()).isEqualTo(1);
+    }
+
+    @Test
+    void letsOneTrialThroughOnceTheOpenPeriodHasPassed() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        breaker.onFailure();
+
+        breaker.acquire();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThatThrownBy(breaker::acquire).isInstanceOf(CircuitBreaker.CircuitOpenException.class);
+
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedTrialReopens() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        breaker.onFailure();
+        breaker.acquire();
+
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.getStats().timesOpened()).isEqualTo(2);
+    }
+
+    @Test
+    void ignoredCallsCountNeitherWayAndFreeTheTrialSlot() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 0);
+        breaker.onFailure();
+        breaker.acquire();
+        breaker.onIgnored();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getStats().consecutiveFailures()).isEqualTo(1);
+
+        breaker.onFailure();
+        breaker.acquire();
+        breaker.onIgnored();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.acquire();
+        assertThat(breaker.getStats().failures()).isEqualTo(2);
+        assertThat(breaker.getStats().successes()).isZero();
+    }
+}
@@ -0,0 +1,177 @@
+package com.labourconnect.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.labourconnect.dto.SessionField;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays Twilio's side of a Media Stream: connects to /ivr/media-stream and sends the
+ * connected, start, media and stop events Twilio sends for a &lt;Connect&gt;&lt;Stream&gt;.
+ * Frames are sent back to back rather than every 20 ms, so a test runs faster than real time.
+ */
+class FakeMediaStreamClient implements AutoCloseable {
+
+    static final String ACCOUNT_SID = "ACtest";
+    static final int FRAME_BYTES = 160; // 20 ms of 8 kHz μ-law
+
+    private final WebSocketSession socket;
+    private final CompletableFuture<CloseStatus> closed;
+    private int sequenceNumber;
+
+    private FakeMediaStreamClient(WebSocketSession socket, CompletableFuture<CloseStatus> closed) {
+        this.socket = socket;
+        this.closed = closed;
+    }
+
+    /**
+     * Opens the socket, signing the handshake the way Twilio does unless authToken is null
+     */
+    static FakeMediaStreamClient connect(String url, String authToken) throws Exception {
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        if (authToken != null) {
+            headers.add("X-Twilio-Signature", sign(authToken, url));
+        }
+        CompletableFuture<CloseStatus> closed = new CompletableFuture<>();
+        WebSocketSession socket = new StandardWebSocketClient()
+                .execute(new TextWebSocketHandler() {
+                    @Override
+                    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+                        closed.complete(status);
+                    }
+                }, headers, URI.create(url))
+                .get(5, TimeUnit.SECONDS);
+        FakeMediaStreamClient client = new FakeMediaStreamClient(socket, closed);
+        client.connected();
+        return client;
+    }
+
+    /**
+     * Twilio's signature of a request without parameters: HMAC-SHA1 of the URL, base64-encoded
+     */
+    static String sign(String authToken, String url) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA1");
+        mac.init(new SecretKeySpec(authToken.getBytes(StandardCharsets.UTF_8), "HmacSHA1"));
+        return Base64.getEncoder().encodeToString(mac.doFinal(url.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * A μ-law recording from src/test/resources
+     */
+    static byte[] fixture(String name) {
+        try (InputStream in = FakeMediaStreamClient.class.getResourceAsStream("/media-stream/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No media-stream fixture " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void start(String streamSid, String callSid, SessionField field) throws IOException {
+        JsonObject parameters = new JsonObject();
+        parameters.addProperty("field", field.getKey());
+        JsonObject mediaFormat = new JsonObject();
+        mediaFormat.addProperty("encoding", "audio/x-mulaw");
+        mediaFormat.addProperty("sampleRate", 8000);
+        mediaFormat.addProperty("channels", 1);
+        JsonArray tracks = new JsonArray();
+        tracks.add("inbound");
+
+        JsonObject start = new JsonObject();
+        start.addProperty("accountSid", ACCOUNT_SID);
+        start.addProperty("streamSid", streamSid);
+        start.addProperty("callSid", callSid);
+        start.add("tracks", tracks);
+        start.add("customParameters", parameters);
+        start.add("mediaFormat", mediaFormat);
+
+        JsonObject event = event("start", streamSid);
+        event.add("start", start);
+        send(event);
+    }
+
+    /**
+     * Sends the recording as 20 ms media events; returns the number of frames sent
+     */
+    int replay(String streamSid, byte[] mulaw) throws IOException {
+        int frames = 0;
+        for (int offset = 0; offset < mulaw.length; offset += FRAME_BYTES) {
+            byte[] frame = Arrays.copyOfRange(mulaw, offset, Math.min(offset + FRAME_BYTES, mulaw.length));
+            JsonObject media = new JsonObject();
+            media.addProperty("track", "inbound");
+            media.addProperty("chunk", String.valueOf(frames + 1));
+            media.addProperty("timestamp", String.valueOf(frames * 20));
+            media.addProperty("payload", Base64.getEncoder().encodeToString(frame));
+
+            JsonObject event = event("media", streamSid);
+            event.add("media", media);
+            send(event);
+            frames++;
+        }
+        return frames;
+    }
+
+    void stop(String streamSid, String callSid) throws IOException {
+        JsonObject stop = new JsonObject();
+        stop.addProperty("accountSid", ACCOUNT_SID);
+        stop.addProperty("callSid", callSid);
+
+        JsonObject event = event("stop", streamSid);
+        event.add("stop", stop);
+        send(event);
+    }
+
+    /**
+     * Waits for the server to close the socket, which is how the app ends &lt;Connect&gt;
+     */
+    CloseStatus awaitClose(long timeoutMs) throws Exception {
+        return closed.get(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (socket.isOpen()) {
+            socket.close();
+        }
+    }
+
+    private void connected() throws IOException {
+        JsonObject event = new JsonObject();
+        event.addProperty("event", "connected");
+        event.addProperty("protocol", "Call");
+        event.addProperty("version", "1.0.0");
+        socket.sendMessage(new TextMessage(event.toString()));
+    }
+
+    private JsonObject event(String name, String streamSid) {
+        JsonObject event = new JsonObject();
+        event.addProperty("event", name);
+        event.addProperty("sequenceNumber", String.valueOf(++sequenceNumber));
+        event.addProperty("streamSid", streamSid);
+        return event;
+    }
+
+    private void send(JsonObject event) throws IOException {
+        socket.sendMessage(new TextMessage(event.toString()));
+    }
+}
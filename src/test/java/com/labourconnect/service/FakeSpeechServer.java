@@ -0,0 +1,213 @@
+package com.labourconnect.service;
+
+import com.google.cloud.speech.v1.RecognizeRequest;
+import com.google.cloud.speech.v1.RecognizeResponse;
+import com.google.cloud.speech.v1.SpeechRecognitionAlternative;
+import com.google.cloud.speech.v1.SpeechRecognitionResult;
+import com.google.cloud.speech.v1.StreamingRecognitionResult;
+import com.google.cloud.speech.v1.StreamingRecognizeRequest;
+import com.google.cloud.speech.v1.StreamingRecognizeResponse;
+import com.google.protobuf.ByteString;
+import io.grpc.Attributes;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServerTransportFilter;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local Speech-to-Text stand-in: a plaintext gRPC server on a loopback port in the test's JVM.
+ * Point app.stt.emulator.host at {@link #target()} so the client is built exactly as in production,
+ * channel pool included. Records which client connection every call arrived on.
+ *
+ * StreamingRecognize behaves like single-utterance mode: once the configured amount of audio has
+ * arrived, or the client half-closes, it reports END_OF_SINGLE_UTTERANCE followed by one final result.
+ */
+class FakeSpeechServer implements AutoCloseable {
+
+    private static final Attributes.Key<Integer> CONNECTION = Attributes.Key.create("connection");
+
+    // Generated Speech stubs are not published for the BOM's version, so the method is described by hand
+    private static final MethodDescriptor<RecognizeRequest, RecognizeResponse> RECOGNIZE =
+            MethodDescriptor.<RecognizeRequest, RecognizeResponse>newBuilder()
+                    .setType(MethodDescriptor.MethodType.UNARY)
+                    .setFullMethodName(MethodDescriptor.generateFullMethodName("google.cloud.speech.v1.Speech", "Recognize"))
+                    .setRequestMarshaller(ProtoUtils.marshaller(RecognizeRequest.getDefaultInstance()))
+                    .setResponseMarshaller(ProtoUtils.marshaller(RecognizeResponse.getDefaultInstance()))
+                    .build();
+    private static final MethodDescriptor<StreamingRecognizeRequest, StreamingRecognizeResponse> STREAMING_RECOGNIZE =
+            MethodDescriptor.<StreamingRecognizeRequest, StreamingRecognizeResponse>newBuilder()
+                    .setType(MethodDescriptor.MethodType.BIDI_STREAMING)
+                    .setFullMethodName(MethodDescriptor.generateFullMethodName("google.cloud.speech.v1.Speech", "StreamingRecognize"))
+                    .setRequestMarshaller(ProtoUtils.marshaller(StreamingRecognizeRequest.getDefaultInstance()))
+                    .setResponseMarshaller(ProtoUtils.marshaller(StreamingRecognizeResponse.getDefaultInstance()))
+                    .build();
+
+    private final Server server;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final List<Integer> recognizeConnections = new CopyOnWriteArrayList<>();
+    private final List<StreamingRecognizeRequest> streamingRequests = new CopyOnWriteArrayList<>();
+    private volatile String transcript = "";
+    private volatile int utteranceBytes = Integer.MAX_VALUE;
+
+    FakeSpeechServer() throws IOException {
+        server = NettyServerBuilder.forAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+                .addService(ServerInterceptors.intercept(speechService(), new ConnectionRecorder()))
+                .addTransportFilter(new ServerTransportFilter() {
+                    @Override
+                    public Attributes transportReady(Attributes attributes) {
+                        return attributes.toBuilder().set(CONNECTION, connections.incrementAndGet()).build();
+                    }
+                })
+                .build()
+                .start();
+    }
+
+    String target() {
+        return "localhost:" + server.getPort();
+    }
+
+    /**
+     * Transcript returned by Recognize; empty means no results
+     */
+    void setTranscript(String transcript) {
+        this.transcript = transcript;
+    }
+
+    /**
+     * Linear16 bytes after which a stream's utterance ends; by default only a half-close ends it
+     */
+    void setUtteranceBytes(int utteranceBytes) {
+        this.utteranceBytes = utteranceBytes;
+    }
+
+    int connections() {
+        return connections.get();
+    }
+
+    /**
+     * Connection number of every Recognize call so far, in arrival order
+     */
+    List<Integer> recognizeConnections() {
+        return List.copyOf(recognizeConnections);
+    }
+
+    /**
+     * Every StreamingRecognize message received so far, config first
+     */
+    List<StreamingRecognizeRequest> streamingRequests() {
+        return List.copyOf(streamingRequests);
+    }
+
+    /**
+     * Audio of all streams so far, concatenated
+     */
+    byte[] streamedAudio() {
+        ByteString audio = ByteString.EMPTY;
+        for (StreamingRecognizeRequest request : streamingRequests) {
+            audio = audio.concat(request.getAudioContent());
+        }
+        return audio.toByteArray();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private ServerServiceDefinition speechService() {
+        return ServerServiceDefinition.builder("google.cloud.speech.v1.Speech")
+                .addMethod(RECOGNIZE, ServerCalls.asyncUnaryCall((request, responseObserver) -> {
+                    RecognizeResponse.Builder response = RecognizeResponse.newBuilder();
+                    if (!transcript.isEmpty()) {
+                        response.addResults(SpeechRecognitionResult.newBuilder().addAlternatives(alternative()));
+                    }
+                    responseObserver.onNext(response.build());
+                    responseObserver.onCompleted();
+                }))
+                .addMethod(STREAMING_RECOGNIZE, ServerCalls.asyncBidiStreamingCall(Utterance::new))
+                .build();
+    }
+
+    private SpeechRecognitionAlternative alternative() {
+        return SpeechRecognitionAlternative.newBuilder()
+                .setTranscript(transcript)
+                .setConfidence(0.9f)
+                .build();
+    }
+
+    private class Utterance implements StreamObserver<StreamingRecognizeRequest> {
+
+        private final StreamObserver<StreamingRecognizeResponse> responses;
+        private int audioBytes;
+        private boolean ended;
+
+        private Utterance(StreamObserver<StreamingRecognizeResponse> responses) {
+            this.responses = responses;
+        }
+
+        @Override
+        public void onNext(StreamingRecognizeRequest request) {
+            streamingRequests.add(request);
+            audioBytes += request.getAudioContent().size();
+            if (audioBytes >= utteranceBytes) {
+                end();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            ended = true;
+        }
+
+        @Override
+        public void onCompleted() {
+            end();
+        }
+
+        private void end() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            responses.onNext(StreamingRecognizeResponse.newBuilder()
+                    .setSpeechEventType(StreamingRecognizeResponse.SpeechEventType.END_OF_SINGLE_UTTERANCE)
+                    .build());
+            StreamingRecognizeResponse.Builder result = StreamingRecognizeResponse.newBuilder();
+            if (!transcript.isEmpty()) {
+                result.addResults(StreamingRecognitionResult.newBuilder()
+                        .setIsFinal(true)
+                        .addAlternatives(alternative()));
+            }
+            responses.onNext(result.build());
+            responses.onCompleted();
+        }
+    }
+
+    private class ConnectionRecorder implements ServerInterceptor {
+        @Override
+        public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                          ServerCallHandler<Q, R> next) {
+            if (call.getMethodDescriptor().getFullMethodName().equals(RECOGNIZE.getFullMethodName())) {
+                recognizeConnections.add(call.getAttributes().get(CONNECTION));
+            }
+            return next.startCall(call, headers);
+        }
+    }
+}
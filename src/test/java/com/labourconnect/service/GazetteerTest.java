@@ -0,0 +1,100 @@
+package com.labourconnect.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GazetteerTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private Gazetteer gazetteer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gazetteer = new Gazetteer(jdbcTemplate);
+        ReflectionTestUtils.setField(gazetteer, "learnedEnabled", true);
+        ReflectionTestUtils.setField(gazetteer, "maxLearned", 2);
+        gazetteer.init();
+    }
+
+    @Test
+    void matchesNamesAndAliasesExactly() {
+        assertThat(gazetteer.lookup("Bengaluru").place().name()).isEqualTo("Bangalore");
+        assertThat(gazetteer.lookup("Kalburgi").place().name()).isEqualTo("Gulbarga");
+        assertThat(gazetteer.lookup("ಮೈಸೂರು").place().name()).isEqualTo("Mysore");
+        assertThat(gazetteer.lookup("Bengaluru").distance()).isZero();
+    }
+
+    @Test
+    void ignoresFillerAroundThePlace() {
+        Gazetteer.Match match = gazetteer.lookup("I am in Hubli city");
+
+        assertThat(match.place().name()).isEqualTo("Hubli");
+        assertThat(match.alias()).isEqualTo("hubli");
+    }
+
+    @Test
+    void fallsBackToTheClosestAliasWithinTheEditDistance() {
+        Gazetteer.Match maisur = gazetteer.lookup("Maisur");
+        assertThat(maisur.place().name()).isEqualTo("Mysore");
+        assertThat(maisur.distance()).isEqualTo(1);
+
+        Gazetteer.Match chikmagalore = gazetteer.lookup("Chikmagalore");
+        assertThat(chikmagalore.place().name()).isEqualTo("Chikmagalur");
+        assertThat(chikmagalore.distance()).isEqualTo(2);
+    }
+
+    @Test
+    void shortWordsAndUnknownPlacesDoNotMatch() {
+        assertThat(gazetteer.lookup("Kolr")).isNull();
+        assertThat(gazetteer.lookup("Xyzzyville")).isNull();
+        assertThat(gazetteer.lookup("India")).isNull();
+        assertThat(gazetteer.lookup("  ")).isNull();
+    }
+
+    @Test
+    void editDistanceCountsTranspositionsAsOneAndStopsAtTheLimit() {
+        assertThat(Gazetteer.editDistance("mysore", "mysroe", 2)).isEqualTo(1);
+        assertThat(Gazetteer.editDistance("hubli", "hubballi", 2)).isEqualTo(3);
+        assertThat(Gazetteer.editDistance("bangalore", "bangalore", 2)).isZero();
+    }
+
+    @Test
+    void learnedAliasesSurviveAFailedInsert() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        gazetteer.learn("Kudremukh town", new Gazetteer.Place("Kudremukh", 13.2267, 75.2526));
+
+        Gazetteer.Match match = gazetteer.lookup("near Kudremukh");
+        assertThat(match.place().name()).isEqualTo("Kudremukh");
+        assertThat(match.learned()).isTrue();
+    }
+
+    @Test
+    void keepsAtMostTheConfiguredNumberOfLearnedAliasesInMemory() {
+        gazetteer.learn("Agumbe", new Gazetteer.Place("Agumbe", 13.5027, 75.0903));
+        gazetteer.learn("Kudremukh", new Gazetteer.Place("Kudremukh", 13.2267, 75.2526));
+        gazetteer.learn("Yana", new Gazetteer.Place("Yana", 14.5880, 74.5630));
+
+        assertThat(gazetteer.learnedCount()).isEqualTo(2);
+        assertThat(gazetteer.lookup("Yana")).isNull();
+        verify(jdbcTemplate, times(3)).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void findsTheNearestBundledPlace() {
+        assertThat(gazetteer.nearest(12.97, 77.59, 5).name()).isEqualTo("Bangalore");
+        assertThat(gazetteer.nearest(0.0, 0.0, 50)).isNull();
+    }
+}
@@ -0,0 +1,70 @@
+package com.labourconnect.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GeocodeCacheTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private GeocodeCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GeocodeCache(jdbcTemplate);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "persistent", false);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 3600L);
+        ReflectionTestUtils.setField(cache, "negativeTtlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        cache.init();
+    }
+
+    @Test
+    void resolvesOncePerNormalizedLocation() {
+        AtomicInteger calls = new AtomicInteger();
+
+        double[] first = cache.getOrResolve("Kudremukh", () -> coordinates(calls));
+        double[] second = cache.getOrResolve("kudremukh.", () -> coordinates(calls));
+
+        assertThat(first).containsExactly(13.2267, 75.2526);
+        assertThat(second).containsExactly(13.2267, 75.2526);
+        assertThat(calls).hasValue(1);
+        assertThat(cache.getStats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void answerStoredAfterTheFirstLookupIsNotResolvedAgain() {
+        ReflectionTestUtils.setField(cache, "persistent", true);
+        // The first lookup misses; by the time this request owns the key another one has stored the answer
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyString(), anyLong()))
+                .thenReturn(List.of())
+                .thenReturn(List.<double[]>of(new double[]{12.9716, 77.5946}));
+        AtomicInteger calls = new AtomicInteger();
+
+        double[] resolved = cache.getOrResolve("Whitefield", () -> coordinates(calls));
+
+        assertThat(resolved).containsExactly(12.9716, 77.5946);
+        assertThat(calls).hasValue(0);
+        assertThat(cache.getStats().misses()).isZero();
+        assertThat(cache.getStats().persistentHits()).isEqualTo(1);
+    }
+
+    private static double[] coordinates(AtomicInteger calls) {
+        calls.incrementAndGet();
+        return new double[]{13.2267, 75.2526};
+    }
+}
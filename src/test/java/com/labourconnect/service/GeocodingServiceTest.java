@@ -0,0 +1,109 @@
+package com.labourconnect.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class GeocodingServiceTest {
+
+    private final GroqService groqService = mock(GroqService.class);
+    private GeocodingService geocoding;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        Gazetteer gazetteer = new Gazetteer(jdbcTemplate);
+        ReflectionTestUtils.setField(gazetteer, "learnedEnabled", false);
+        ReflectionTestUtils.setField(gazetteer, "maxLearned", 100);
+        gazetteer.init();
+
+        GeocodeCache cache = new GeocodeCache(jdbcTemplate);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "persistent", false);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 3600L);
+        ReflectionTestUtils.setField(cache, "negativeTtlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        cache.init();
+
+        geocoding = new GeocodingService(gazetteer, cache, groqService);
+        ReflectionTestUtils.setField(geocoding, "snapKm", 15.0);
+    }
+
+    @Test
+    void knownPlacesNeverReachGroq() {
+        GeocodingService.GeoLocation geo = geocoding.geocode("Bengalooru", null);
+
+        assertThat(geo.location()).isEqualTo("Bangalore");
+        assertThat(geo.source()).isEqualTo("gazetteer");
+        verifyNoInteractions(groqService);
+        assertThat(geocoding.getStats().groqCalls()).isZero();
+    }
+
+    @Test
+    void suggestedNameIsTriedOfflineToo() {
+        GeocodingService.GeoLocation geo = geocoding.geocode("that steel town", "Bhadravati");
+
+        assertThat(geo.location()).isEqualTo("Bhadravati");
+        verifyNoInteractions(groqService);
+    }
+
+    @Test
+    void plausibleGroqAnswerIsLearned() {
+        when(groqService.getCoordinates("Kudremukh")).thenReturn(new double[]{13.2267, 75.2526});
+
+        GeocodingService.GeoLocation first = geocoding.geocode("Kudremukha", "Kudremukh");
+        GeocodingService.GeoLocation second = geocoding.geocode("Kudremukha", null);
+
+        assertThat(first.source()).isEqualTo("groq");
+        assertThat(first.location()).isEqualTo("Kudremukh");
+        assertThat(second.source()).isEqualTo("learned");
+        verify(groqService, times(1)).getCoordinates(anyString());
+        assertThat(geocoding.getStats().groqCalls()).isEqualTo(1);
+        assertThat(geocoding.getStats().aliasesLearned()).isEqualTo(1);
+    }
+
+    @Test
+    void cachedGroqAnswerIsNotLearnedAgain() {
+        when(groqService.getCoordinates("Kudremukh")).thenReturn(new double[]{13.2267, 75.2526});
+
+        geocoding.geocode("the iron ore hills", "Kudremukh");
+        GeocodingService.GeoLocation cached = geocoding.geocode("that mining town", "Kudremukh");
+
+        assertThat(cached.location()).isEqualTo("Kudremukh");
+        assertThat(cached.source()).isEqualTo("groq");
+        verify(groqService, times(1)).getCoordinates(anyString());
+        GeocodingService.GeocodingStats stats = geocoding.getStats();
+        assertThat(stats.cacheLookups()).isEqualTo(2);
+        assertThat(stats.aliasesLearned()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownAnswerIsCachedBrieflyAndCountedOnce() {
+        when(groqService.getCoordinates("Atlantis")).thenReturn(new double[]{0.0, 0.0});
+
+        geocoding.geocode("Atlantis", null);
+        GeocodingService.GeoLocation again = geocoding.geocode("Atlantis", null);
+
+        assertThat(again.source()).isEqualTo("unresolved");
+        verify(groqService, times(1)).getCoordinates("Atlantis");
+        GeocodingService.GeocodingStats stats = geocoding.getStats();
+        assertThat(stats.cacheLookups()).isEqualTo(2);
+        assertThat(stats.groqCalls()).isEqualTo(1);
+        assertThat(stats.aliasesLearned()).isZero();
+    }
+
+    @Test
+    void placeholdersAreUnresolved() {
+        assertThat(geocoding.geocode(TranscriptionService.UNKNOWN, null).source()).isEqualTo("unresolved");
+        verifyNoInteractions(groqService);
+    }
+}
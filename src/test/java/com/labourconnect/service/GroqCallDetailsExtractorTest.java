@@ -0,0 +1,125 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.SessionField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class GroqCallDetailsExtractorTest {
+
+    private final GroqService groqService = mock(GroqService.class);
+    private final GeocodingService geocodingService = mock(GeocodingService.class);
+    private GroqCallDetailsExtractor extractor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Gazetteer gazetteer = new Gazetteer(mock(JdbcTemplate.class));
+        ReflectionTestUtils.setField(gazetteer, "learnedEnabled", false);
+        gazetteer.init();
+        extractor = new GroqCallDetailsExtractor(groqService, geocodingService, gazetteer);
+    }
+
+    @Test
+    void parsesAValidAnswer() throws IOException {
+        GroqCallDetailsExtractor.Answer answer = GroqCallDetailsExtractor.parse(
+                "{\"skill\": \"plumber\", \"city\": \" Hubli \", \"wage\": 650}");
+
+        assertThat(answer).isEqualTo(new GroqCallDetailsExtractor.Answer("plumber", "Hubli", 650));
+    }
+
+    @Test
+    void skipsUnknownKeysAndTakesNullsAsMissing() throws IOException {
+        GroqCallDetailsExtractor.Answer answer = GroqCallDetailsExtractor.parse(
+                "{\"skill\": \"tile work\", \"lat\": 12.9, \"notes\": {\"a\": [1, 2]}, \"city\": null, \"wage\": null}");
+
+        assertThat(answer).isEqualTo(new GroqCallDetailsExtractor.Answer("tile work", null, null));
+    }
+
+    @Test
+    void dropsImplausibleWages() throws IOException {
+        assertThat(GroqCallDetailsExtractor.parse("{\"skill\": \"mason\", \"wage\": 10}").wage()).isNull();
+        assertThat(GroqCallDetailsExtractor.parse("{\"skill\": \"mason\", \"wage\": 0}").wage()).isNull();
+        assertThat(GroqCallDetailsExtractor.parse("{\"skill\": \"mason\", \"wage\": 799.6}").wage()).isEqualTo(800);
+    }
+
+    @Test
+    void rejectsMalformedAnswers() {
+        assertThatThrownBy(() -> GroqCallDetailsExtractor.parse("[\"plumber\"]")).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> GroqCallDetailsExtractor.parse("{\"city\": \"Hubli\"}"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("no skill");
+        assertThatThrownBy(() -> GroqCallDetailsExtractor.parse("{\"skill\": 7}"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("must be a string");
+        assertThatThrownBy(() -> GroqCallDetailsExtractor.parse("{\"skill\": \"mason\", \"wage\": \"500\"}"))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> GroqCallDetailsExtractor.parse("{\"skill\": \"mason\", \"wage\": -5}"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("out of range");
+        assertThatThrownBy(() -> GroqCallDetailsExtractor.parse("{\"skill\": \"" + "x".repeat(51) + "\"}"))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void keypadSkillInAKnownPlaceNeedsNoRequest() {
+        CallDetailsExtractor.CallDetails details = extractor.extract("CA1",
+                transcripts("Plumber", "near Mysuru"));
+
+        assertThat(details.skillId()).isEqualTo("plumber");
+        assertThat(details.location()).isEqualTo("Mysore");
+        assertThat(details.latitude()).isNotZero();
+        verifyNoInteractions(groqService, geocodingService);
+        assertThat(extractor.getStats().requests()).isZero();
+    }
+
+    @Test
+    void spokenSkillGoesToGroqAndTheUnknownPlaceToTheGeocoder() throws IOException {
+        when(groqService.completeJson(anyString(), anyString()))
+                .thenReturn("{\"skill\": \"plumber\", \"city\": \"Kudremukh\", \"wage\": 700}");
+        when(geocodingService.geocode("Kudremukha", "Kudremukh"))
+                .thenReturn(new GeocodingService.GeoLocation("Kudremukh", 13.2267, 75.2526, "groq"));
+
+        CallDetailsExtractor.CallDetails details = extractor.extract("CA1",
+                transcripts("I fix pipes, 700 a day", "Kudremukha"));
+
+        assertThat(details).isEqualTo(new CallDetailsExtractor.CallDetails(
+                "Plumber", "plumber", "Kudremukh", 13.2267, 75.2526, 700, "groq"));
+        verify(geocodingService).geocode("Kudremukha", "Kudremukh");
+        assertThat(extractor.getStats().requests()).isEqualTo(1);
+    }
+
+    @Test
+    void fallsBackToLocalExtractionWhenGroqFails() throws IOException {
+        when(groqService.completeJson(anyString(), anyString())).thenThrow(new IOException("timeout"));
+
+        CallDetailsExtractor.CallDetails details = extractor.extract("CA1",
+                transcripts("painter, 600 rupees", "Hubballi"));
+
+        assertThat(details.source()).isEqualTo("local");
+        assertThat(details.skillId()).isEqualTo("painter");
+        assertThat(details.wage()).isEqualTo(600);
+        assertThat(details.location()).isEqualTo("Hubli");
+        assertThat(extractor.getStats().fallbacks()).isEqualTo(1);
+    }
+
+    private static Map<SessionField, String> transcripts(String skill, String location) {
+        Map<SessionField, String> transcripts = new EnumMap<>(SessionField.class);
+        transcripts.put(SessionField.NAME, "Ravi");
+        transcripts.put(SessionField.WORK_EXPERTISE, skill);
+        transcripts.put(SessionField.LOCATION, location);
+        return transcripts;
+    }
+}
@@ -0,0 +1,85 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.IVRSessionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemorySessionStoreTest {
+
+    private final List<String> evicted = new ArrayList<>();
+    private InMemorySessionStore store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<SessionStore.EvictionListener> listeners = mock(ObjectProvider.class);
+        SessionStore.EvictionListener listener = (session, reason) -> evicted.add(session.getCallSid() + ":" + reason);
+        when(listeners.orderedStream()).thenAnswer(invocation -> Stream.of(listener));
+        store = new InMemorySessionStore(listeners);
+        ReflectionTestUtils.setField(store, "maxEntries", 3);
+        ReflectionTestUtils.setField(store, "idleTtlSeconds", 300L);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedAtCapacity() {
+        store.put(session("CA1"));
+        store.put(session("CA2"));
+        store.put(session("CA3"));
+        store.get("CA1");
+
+        store.put(session("CA4"));
+
+        assertThat(store.get("CA2")).isNull();
+        assertThat(store.get("CA1")).isNotNull();
+        assertThat(store.size()).isEqualTo(3);
+        // The listener runs from the sweep, not on the thread that called put
+        assertThat(evicted).isEmpty();
+
+        store.evictExpired();
+
+        assertThat(evicted).containsExactly("CA2:CAPACITY");
+    }
+
+    @Test
+    void sweepRemovesOnlyExpiredSessions() {
+        IVRSessionDTO stale = session("CA1");
+        store.put(stale);
+        store.put(session("CA2"));
+        stale.setLastAccessTime(System.currentTimeMillis() - 301_000);
+
+        store.evictExpired();
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.get("CA2")).isNotNull();
+        assertThat(evicted).containsExactly("CA1:IDLE_TIMEOUT");
+    }
+
+    @Test
+    void expiredSessionIsRemovedOnRead() {
+        IVRSessionDTO stale = session("CA1");
+        store.put(stale);
+        stale.setLastAccessTime(System.currentTimeMillis() - 301_000);
+
+        assertThat(store.get("CA1")).isNull();
+        assertThat(store.size()).isZero();
+        assertThat(evicted).isEmpty();
+
+        store.evictExpired();
+
+        assertThat(evicted).containsExactly("CA1:IDLE_TIMEOUT");
+    }
+
+    private static IVRSessionDTO session(String callSid) {
+        return IVRSessionDTO.builder().callSid(callSid).startTime(System.currentTimeMillis()).build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.SessionField;
+import com.labourconnect.dto.Skill;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LocalCallDetailsExtractorTest {
+
+    private LocalCallDetailsExtractor extractor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Gazetteer gazetteer = new Gazetteer(mock(JdbcTemplate.class));
+        ReflectionTestUtils.setField(gazetteer, "learnedEnabled", false);
+        gazetteer.init();
+        extractor = new LocalCallDetailsExtractor(gazetteer);
+    }
+
+    @Test
+    void extractsMenuTradePlaceAndWage() {
+        Map<SessionField, String> transcripts = new EnumMap<>(SessionField.class);
+        transcripts.put(SessionField.TYPE_OF_WORK, "Need two electricians, 900 per day");
+        transcripts.put(SessionField.LOCATION, "Whitefeld");
+
+        CallDetailsExtractor.CallDetails details = extractor.extract("CA1", transcripts);
+
+        assertThat(details.skill()).isEqualTo("Electrician");
+        assertThat(details.skillId()).isEqualTo("electrician");
+        assertThat(details.location()).isEqualTo("Whitefield");
+        assertThat(details.latitude()).isEqualTo(12.9698);
+        assertThat(details.longitude()).isEqualTo(77.7500);
+        assertThat(details.wage()).isEqualTo(900);
+        assertThat(details.source()).isEqualTo("local");
+    }
+
+    @Test
+    void keepsFreeFormSkillsAndUnknownPlacesAsSpoken() {
+        Map<SessionField, String> transcripts = new EnumMap<>(SessionField.class);
+        transcripts.put(SessionField.WORK_EXPERTISE, " tile fitting ");
+        transcripts.put(SessionField.LOCATION, "Kudremukha");
+
+        CallDetailsExtractor.CallDetails details = extractor.extract("CA1", transcripts);
+
+        assertThat(details.skill()).isEqualTo("tile fitting");
+        assertThat(details.skillId()).isNull();
+        assertThat(details.location()).isEqualTo("Kudremukha");
+        assertThat(details.latitude()).isZero();
+        assertThat(details.wage()).isNull();
+    }
+
+    @Test
+    void passesPlaceholdersThrough() {
+        Map<SessionField, String> transcripts = new EnumMap<>(SessionField.class);
+        transcripts.put(SessionField.WORK_EXPERTISE, TranscriptionService.UNTRANSCRIBED);
+        transcripts.put(SessionField.LOCATION, TranscriptionService.UNKNOWN);
+
+        CallDetailsExtractor.CallDetails details = extractor.extract("CA1", transcripts);
+
+        assertThat(details.skill()).isEqualTo(TranscriptionService.UNTRANSCRIBED);
+        assertThat(details.location()).isEqualTo(TranscriptionService.UNKNOWN);
+        assertThat(details.skillId()).isNull();
+    }
+
+    @Test
+    void findsOnlyASingleNamedTrade() {
+        assertThat(LocalCallDetailsExtractor.findSkill("Plumber.")).isEqualTo(Skill.PLUMBER);
+        assertThat(LocalCallDetailsExtractor.findSkill("I am a welder")).isEqualTo(Skill.WELDER);
+        assertThat(LocalCallDetailsExtractor.findSkill("painter or mason")).isNull();
+        assertThat(LocalCallDetailsExtractor.findSkill("driver")).isNull();
+    }
+
+    @Test
+    void findsTheFirstPlausibleWage() {
+        assertThat(LocalCallDetailsExtractor.findWage("2 helpers at 1,200 a day")).isEqualTo(1200);
+        assertThat(LocalCallDetailsExtractor.findWage("15 years experience")).isNull();
+        assertThat(LocalCallDetailsExtractor.findWage("no number")).isNull();
+    }
+}
@@ -0,0 +1,217 @@
+package com.labourconnect.service;
+
+import com.labourconnect.model.Labour;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MatchIndexTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    // Stand-in for the labour table: id -> {work_expertise, bio, location, experience, last_updated}
+    private final Map<Long, Object[]> labour = new TreeMap<>();
+    private MatchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        labour.put(1L, row("Electrician", "House wiring", "Bangalore", 5, 1_000));
+        labour.put(2L, row("Plumber", "Pipes and electrical fittings", "Bangalore", 3, 1_000));
+        labour.put(3L, row("Electrician", "Industrial work", "Bangalore Rural", 8, 1_000));
+        labour.put(4L, row("Electrician", null, "Mysore", 10, 1_000));
+        labour.put(5L, row("electrical helper", "Loading", "bangalore", null, 1_000));
+        labour.put(6L, row("Carpenter", "Furniture", "Bangalore", 9, 1_000));
+        labour.put(7L, row("Electrician", "Repairs", "Bangalore", 5, 1_000));
+
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            long afterId = invocation.<Long>getArgument(2);
+            Timestamp updatedAfter = invocation.getArgument(3);
+            if (sql.contains(" FROM labour ")) {
+                for (Map.Entry<Long, Object[]> entry : labour.entrySet()) {
+                    Object[] r = entry.getValue();
+                    if (entry.getKey() > afterId || ((Timestamp) r[4]).after(updatedAfter)) {
+                        handler.processRow(resultSet(entry.getKey(), r));
+                    }
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            return sql.contains("FROM labour")
+                    ? new long[]{labour.size(), labour.keySet().stream().mapToLong(Long::longValue).sum()}
+                    : new long[]{0, 0};
+        });
+
+        index = new MatchIndex(jdbcTemplate);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "syncLagMs", 100L);
+        index.init();
+    }
+
+    @Test
+    void tokenizesOnLettersAndDigitsAndDropsDuplicates() {
+        assertThat(MatchIndex.tokens("Tile-fitting, tile work 24x7")).containsExactly("tile", "fitting", "work", "24x7");
+        assertThat(MatchIndex.tokens("ಮೇಸ್ತ್ರಿ ಕೆಲಸ")).containsExactly("ಮೇಸ್ತ್ರಿ", "ಕೆಲಸ");
+        assertThat(MatchIndex.tokens("  ")).isEmpty();
+        assertThat(MatchIndex.tokens(null)).isEmpty();
+    }
+
+    @Test
+    void matchesLongQueryTokensAsPrefixesAndShortOnesExactly() {
+        assertThat(ids(index.find(MatchIndex.Side.WORKERS, "electric", "Bangalore", 100)))
+                .containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L, 7L);
+        assertThat(ids(index.find(MatchIndex.Side.WORKERS, "el", "Bangalore", 100))).isEmpty();
+        assertThat(ids(index.find(MatchIndex.Side.WORKERS, "electrical helper", "Bangalore", 100)))
+                .containsExactly(5L);
+    }
+
+    @Test
+    void ranksLikeTheScoredLikeQuery() {
+        for (String skill : List.of("electrician", "electric", "plumb", "house", "furniture", "work", "mason")) {
+            for (String location : List.of("Bangalore", "bangalore rural", "Mysore", "Hubli")) {
+                assertThat(ids(index.find(MatchIndex.Side.WORKERS, skill, location, 100)))
+                        .as("%s in %s", skill, location)
+                        .containsExactlyElementsOf(likeQuery(skill, location));
+            }
+        }
+    }
+
+    @Test
+    void scoresLocationBeforeCuttingToTheLimit() {
+        MatchIndex.Candidates candidates = index.find(MatchIndex.Side.WORKERS, "electrician", "Mysore", 1);
+
+        // Mysore's electrician is not the newest, so cutting newest-first before scoring would drop it
+        assertThat(candidates.ids()).containsExactly(4L);
+        assertThat(candidates.relevance()).containsExactly(MatchIndex.RELEVANCE_PRIMARY);
+        assertThat(candidates.locationScore()).containsExactly(100);
+    }
+
+    @Test
+    void reindexingReplacesTheOldTextAndRemovingDropsTheRow() {
+        index.index(Labour.builder().labourId(6L).workExpertise("Electrician").location("Bangalore").experience(9).build());
+        index.remove(MatchIndex.Side.WORKERS, 1L);
+
+        assertThat(ids(index.find(MatchIndex.Side.WORKERS, "carpenter", "Bangalore", 100))).isEmpty();
+        assertThat(ids(index.find(MatchIndex.Side.WORKERS, "electrician", "Bangalore", 100)))
+                .containsExactly(6L, 7L, 3L, 4L);
+    }
+
+    @Test
+    void syncPicksUpEditsMadeByAnotherReplica() {
+        labour.put(2L, row("Electrician", "Now does wiring", "Bangalore", 3, 5_000));
+        labour.put(8L, row("Painter", null, "Hubli", 2, 5_000));
+
+        index.sync();
+
+        assertThat(ids(index.find(MatchIndex.Side.WORKERS, "plumber", "Bangalore", 100))).isEmpty();
+        assertThat(ids(index.find(MatchIndex.Side.WORKERS, "electrician", "Bangalore", 100))).contains(2L);
+        assertThat(ids(index.find(MatchIndex.Side.WORKERS, "painter", "Hubli", 100))).containsExactly(8L);
+        assertThat(index.getStats().get("labour").inconsistenciesFound()).isZero();
+    }
+
+    @Test
+    void syncRebuildsAfterADeleteOnAnotherReplica() {
+        labour.remove(7L);
+
+        index.sync();
+
+        assertThat(ids(index.find(MatchIndex.Side.WORKERS, "electrician", "Bangalore", 100))).doesNotContain(7L);
+        assertThat(index.getStats().get("labour").inconsistenciesFound()).isEqualTo(1);
+    }
+
+    @Test
+    void rowsIndexedAfterARebuildMergeIntoTheBuiltLists() {
+        labour.remove(3L);
+        index.sync();
+
+        index.index(Labour.builder().labourId(3L).workExpertise("Electrician").location("Bangalore").experience(8).build());
+        index.remove(MatchIndex.Side.WORKERS, 4L);
+
+        assertThat(ids(index.find(MatchIndex.Side.WORKERS, "electrician", "Bangalore", 100)))
+                .containsExactly(3L, 7L, 1L);
+        assertThat(index.getStats().get("labour").rows()).isEqualTo(6);
+    }
+
+    @Test
+    void mergesSortedIdLists() {
+        assertThat(MatchIndex.union(new long[]{1, 3, 5}, new long[]{2, 3, 6})).containsExactly(1, 2, 3, 5, 6);
+        assertThat(MatchIndex.intersect(new long[]{1, 3, 5}, new long[]{2, 3, 5})).containsExactly(3, 5);
+        assertThat(MatchIndex.subtract(new long[]{1, 3, 5}, new long[]{3})).containsExactly(1, 5);
+    }
+
+    /**
+     * LabourRepository.findMatchingWorkersWithScore over the stand-in table, with id DESC for rows it leaves tied
+     */
+    private List<Long> likeQuery(String skill, String location) {
+        String s = skill.toLowerCase(Locale.ROOT);
+        String l = location.toLowerCase(Locale.ROOT);
+        List<long[]> rows = new ArrayList<>();
+        for (Map.Entry<Long, Object[]> entry : labour.entrySet()) {
+            Object[] r = entry.getValue();
+            String expertise = lower(r[0]);
+            String bio = lower(r[1]);
+            String place = lower(r[2]);
+            boolean inExpertise = expertise != null && expertise.contains(s);
+            if (!inExpertise && (bio == null || !bio.contains(s))) {
+                continue;
+            }
+            long relevance = inExpertise ? 3 : 2;
+            long locationScore = place == null ? 0 : place.equals(l) ? 100 : place.contains(l) ? 50 : 0;
+            long experience = r[3] != null ? (Integer) r[3] : Long.MAX_VALUE;
+            rows.add(new long[]{entry.getKey(), locationScore, relevance, experience});
+        }
+        rows.sort(Comparator.<long[]>comparingLong(r -> -r[1])
+                .thenComparingLong(r -> -r[2])
+                .thenComparingLong(r -> -r[3])
+                .thenComparingLong(r -> -r[0]));
+        return rows.stream().map(r -> r[0]).toList();
+    }
+
+    private static List<Long> ids(MatchIndex.Candidates candidates) {
+        List<Long> ids = new ArrayList<>();
+        for (long id : candidates.ids()) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private static String lower(Object text) {
+        return text != null ? text.toString().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static Object[] row(String expertise, String bio, String location, Integer experience, long updatedMillis) {
+        return new Object[]{expertise, bio, location, experience, new Timestamp(updatedMillis)};
+    }
+
+    private static ResultSet resultSet(long id, Object[] r) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(id);
+        when(rs.getString(2)).thenReturn((String) r[0]);
+        when(rs.getString(3)).thenReturn((String) r[1]);
+        when(rs.getString(4)).thenReturn((String) r[2]);
+        when(rs.getObject(5)).thenReturn(r[3]);
+        when(rs.getTimestamp(6)).thenReturn((Timestamp) r[4]);
+        return rs;
+    }
+}
@@ -0,0 +1,72 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.MatchResultDTO;
+import com.labourconnect.model.Work;
+import com.labourconnect.repository.LabourRepository;
+import com.labourconnect.repository.WorkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MatchingServiceTest {
+
+    private final WorkRepository workRepository = mock(WorkRepository.class);
+    private final MatchIndex matchIndex = mock(MatchIndex.class);
+    private MatchingService matching;
+
+    @BeforeEach
+    void setUp() {
+        matching = new MatchingService(mock(LabourRepository.class), workRepository, matchIndex);
+        ReflectionTestUtils.setField(matching, "locationWeight", 0.4);
+        ReflectionTestUtils.setField(matching, "experienceWeight", 0.3);
+        ReflectionTestUtils.setField(matching, "skillWeight", 0.3);
+        ReflectionTestUtils.setField(matching, "maxMatches", 10);
+        ReflectionTestUtils.setField(matching, "maxCandidates", 1000);
+    }
+
+    @Test
+    void knownSkillIdStillMatchesRowsWithoutOne() {
+        Work tagged = work(1L, "Electrician", "electrician");
+        Work freeForm = work(2L, "Electrician for house wiring", null);
+        Work otherTrade = work(3L, "Helper to the electrician", "helper");
+        when(workRepository.findMatchingJobsBySkillId("electrician", "Bangalore"))
+                .thenReturn(List.<Object[]>of(new Object[]{tagged, 3, 100}));
+        when(workRepository.findMatchingJobsWithScore("Electrician", "Bangalore")).thenReturn(List.of(
+                new Object[]{tagged, 3, 100},
+                new Object[]{freeForm, 3, 100},
+                new Object[]{otherTrade, 3, 100}));
+
+        MatchResultDTO result = matching.findMatchingJobs("Electrician", "electrician", "Bangalore", 800);
+
+        assertThat(result.getJobs()).extracting(MatchResultDTO.JobMatch::getWorkId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void withoutSkillIdEveryTextMatchIsKept() {
+        Work tagged = work(1L, "Electrician", "electrician");
+        Work freeForm = work(2L, "Electrician for house wiring", null);
+        when(workRepository.findMatchingJobsWithScore("electrician", "Bangalore")).thenReturn(List.of(
+                new Object[]{tagged, 3, 100},
+                new Object[]{freeForm, 3, 100}));
+
+        MatchResultDTO result = matching.findMatchingJobs("electrician", "Bangalore", 800);
+
+        assertThat(result.getJobs()).extracting(MatchResultDTO.JobMatch::getWorkId).containsExactly(1L, 2L);
+    }
+
+    private static Work work(Long id, String typeOfWork, String skillId) {
+        return Work.builder()
+                .workId(id)
+                .typeOfWork(typeOfWork)
+                .skillId(skillId)
+                .location("Bangalore")
+                .wagesOffered(850)
+                .build();
+    }
+}
@@ -0,0 +1,243 @@
+package com.labourconnect.service;
+
+import com.google.cloud.speech.v1.SpeechSettings;
+import com.google.cloud.speech.v1.StreamingRecognizeRequest;
+import com.labourconnect.config.GoogleCloudConfig;
+import com.labourconnect.config.MediaStreamWebSocketConfig;
+import com.labourconnect.config.TwilioSignatureHandshakeInterceptor;
+import com.labourconnect.controller.MediaStreamHandler;
+import com.labourconnect.dto.IVRSessionDTO;
+import com.labourconnect.dto.SessionField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives /ivr/media-stream end to end: a fake Twilio client replays a μ-law recording over a real
+ * WebSocket, and the local Speech stand-in plays Google's streamingRecognize.
+ */
+class MediaStreamManagerTest {
+
+    private static final String AUTH_TOKEN = "test-auth-token";
+    private static final String CALL_SID = "CA0001";
+    private static final String STREAM_SID = "MZ0001";
+
+    private FakeSpeechServer speech;
+    private SpeechToTextService stt;
+    private SpeechToTextService sttSpy;
+    private BulkheadRegistry bulkheads;
+    private ConcurrencyLimiterRegistry limiters;
+    private int sttLimitAtStart;
+    private InMemorySessionStore sessionStore;
+    private MediaStreamManager mediaStreams;
+    private ConfigurableApplicationContext endpoint;
+    private String url;
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class, WebSocketServletAutoConfiguration.class})
+    @Import({MediaStreamWebSocketConfig.class, MediaStreamHandler.class})
+    static class MediaStreamEndpoint {
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        speech = new FakeSpeechServer();
+        speech.setTranscript("near the bus stand");
+
+        GoogleCloudConfig config = new GoogleCloudConfig();
+        ReflectionTestUtils.setField(config, "credentialsPath", "");
+        ReflectionTestUtils.setField(config, "emulatorHost", speech.target());
+        ReflectionTestUtils.setField(config, "channelPoolSize", 1);
+        ReflectionTestUtils.setField(config, "keepAliveSeconds", 30L);
+        ReflectionTestUtils.setField(config, "keepAliveTimeoutSeconds", 10L);
+        ObjectProvider<SpeechSettings> settings = mock(ObjectProvider.class);
+        when(settings.getObject()).thenReturn(config.speechSettings());
+
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.bulkhead.google-stt.permits", "1");
+        bulkheads = new BulkheadRegistry(environment);
+        limiters = new ConcurrencyLimiterRegistry(environment);
+        sttLimitAtStart = limiters.getStats(BulkheadRegistry.Dependency.GOOGLE_STT).limit();
+        stt = new SpeechToTextService(mock(OutboundHttpClient.class), bulkheads, limiters,
+                mock(TranscriptionCache.class), mock(AudioBufferPool.class), mock(VoiceActivityTrimmer.class), settings);
+        ReflectionTestUtils.setField(stt, "credentialsPath", "");
+        ReflectionTestUtils.setField(stt, "emulatorHost", speech.target());
+        ReflectionTestUtils.setField(stt, "warmupEnabled", false);
+        ReflectionTestUtils.setField(stt, "channelPoolSize", 1);
+        ReflectionTestUtils.setField(stt, "rpcDeadlineMs", 5000L);
+        ReflectionTestUtils.setField(stt, "breakerFailureThreshold", 5);
+        ReflectionTestUtils.setField(stt, "breakerOpenSeconds", 30L);
+        stt.init();
+        sttSpy = spy(stt);
+
+        ObjectProvider<SessionStore.EvictionListener> listeners = mock(ObjectProvider.class);
+        when(listeners.orderedStream()).thenAnswer(invocation -> Stream.empty());
+        sessionStore = new InMemorySessionStore(listeners);
+        ReflectionTestUtils.setField(sessionStore, "maxEntries", 100);
+        ReflectionTestUtils.setField(sessionStore, "idleTtlSeconds", 300L);
+        sessionStore.put(IVRSessionDTO.builder().callSid(CALL_SID).startTime(System.currentTimeMillis()).build());
+
+        mediaStreams = new MediaStreamManager(sttSpy, sessionStore, mock(WebSocketLogService.class),
+                mock(CaptureStatsService.class));
+        ReflectionTestUtils.setField(mediaStreams, "queueFrames", 100);
+        ReflectionTestUtils.setField(mediaStreams, "offerTimeoutMs", 20L);
+        ReflectionTestUtils.setField(mediaStreams, "maxDurationSeconds", 30);
+
+        TwimlTemplateCache twiml = mock(TwimlTemplateCache.class);
+        when(twiml.getMediaStreamUrl()).thenAnswer(invocation -> url);
+        TwilioSignatureHandshakeInterceptor signature = new TwilioSignatureHandshakeInterceptor(AUTH_TOKEN, true, twiml);
+
+        endpoint = new SpringApplicationBuilder(MediaStreamEndpoint.class)
+                .web(WebApplicationType.SERVLET)
+                .properties("server.port=0", "spring.main.banner-mode=off")
+                .initializers(context -> {
+                    context.getBeanFactory().registerSingleton("mediaStreamManager", mediaStreams);
+                    context.getBeanFactory().registerSingleton("twilioSignatureHandshakeInterceptor", signature);
+                })
+                .run();
+        int port = ((WebServerApplicationContext) endpoint).getWebServer().getPort();
+        url = "ws://localhost:" + port + "/ivr/media-stream";
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        endpoint.close();
+        stt.destroy();
+        speech.close();
+    }
+
+    @Test
+    void handshakeWithoutAValidTwilioSignatureIsRefused() {
+        assertThatThrownBy(() -> FakeMediaStreamClient.connect(url, null)).hasStackTraceContaining("403");
+        assertThatThrownBy(() -> FakeMediaStreamClient.connect(url, "some-other-token")).hasStackTraceContaining("403");
+        assertThat(mediaStreams.getStats().opened()).isZero();
+    }
+
+    @Test
+    void utteranceEndIsFinalisedWithoutWaitingForTheStreamToStop() throws Exception {
+        byte[] recording = FakeMediaStreamClient.fixture("utterance.ulaw");
+        byte[] pcm = MuLawDecoder.toLinear16(recording);
+        speech.setUtteranceBytes(pcm.length);
+
+        try (FakeMediaStreamClient twilio = FakeMediaStreamClient.connect(url, AUTH_TOKEN)) {
+            twilio.start(STREAM_SID, CALL_SID, SessionField.LOCATION);
+            int frames = twilio.replay(STREAM_SID, recording);
+
+            // No stop event: the socket is closed because the recognizer reported the end of the utterance
+            assertThat(twilio.awaitClose(10_000)).isEqualTo(CloseStatus.NORMAL);
+            assertThat(frames).isEqualTo(50);
+        }
+
+        CompletableFuture<String> transcript = mediaStreams.takeTranscript(CALL_SID, SessionField.LOCATION);
+        assertThat(transcript.get(1, TimeUnit.SECONDS)).isEqualTo("Near the bus stand");
+        assertThat(sessionStore.get(CALL_SID).getTranscript(SessionField.LOCATION)).isEqualTo("Near the bus stand");
+
+        StreamingRecognizeRequest first = speech.streamingRequests().get(0);
+        assertThat(first.getStreamingConfig().getSingleUtterance()).isTrue();
+        assertThat(speech.streamedAudio()).isEqualTo(pcm);
+
+        MediaStreamManager.MediaStreamStats stats = mediaStreams.getStats();
+        assertThat(stats.active()).isZero();
+        assertThat(stats.transcribed()).isEqualTo(1);
+        assertThat(stats.framesReceived()).isEqualTo(50);
+        assertThat(stats.framesDropped()).isZero();
+        assertStreamCapacityReleased();
+    }
+
+    @Test
+    void framesAreDroppedWhenTheRecognizerFallsBehind() throws Exception {
+        ReflectionTestUtils.setField(mediaStreams, "queueFrames", 10);
+        ReflectionTestUtils.setField(mediaStreams, "offerTimeoutMs", 1L);
+        CountDownLatch recognizerReady = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            recognizerReady.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(sttSpy).startStreaming(any());
+        byte[] recording = FakeMediaStreamClient.fixture("utterance.ulaw");
+
+        try (FakeMediaStreamClient twilio = FakeMediaStreamClient.connect(url, AUTH_TOKEN)) {
+            twilio.start(STREAM_SID, CALL_SID, SessionField.LOCATION);
+            twilio.replay(STREAM_SID, recording);
+            awaitTrue(() -> mediaStreams.getStats().framesReceived() == 50);
+            // A frame is counted on arrival, before its offer has timed out
+            awaitTrue(() -> mediaStreams.getStats().framesDropped() >= 40);
+
+            MediaStreamManager.MediaStreamStats stalled = mediaStreams.getStats();
+            assertThat(stalled.framesDropped()).isEqualTo(40);
+            assertThat(stalled.active()).isEqualTo(1);
+
+            recognizerReady.countDown();
+            twilio.stop(STREAM_SID, CALL_SID);
+            assertThat(twilio.awaitClose(10_000)).isEqualTo(CloseStatus.NORMAL);
+        }
+
+        // Only the queued 200 ms reached the recognizer; the stream still ends with a transcript
+        assertThat(speech.streamedAudio()).hasSize(10 * FakeMediaStreamClient.FRAME_BYTES * 2);
+        assertThat(sessionStore.get(CALL_SID).getTranscript(SessionField.LOCATION)).isEqualTo("Near the bus stand");
+        assertThat(mediaStreams.getStats().transcribed()).isEqualTo(1);
+        assertStreamCapacityReleased();
+    }
+
+    @Test
+    void streamIsNotOpenedWhileGoogleSttHasNoCapacity() throws Exception {
+        assertThat(bulkheads.tryAcquire(BulkheadRegistry.Dependency.GOOGLE_STT)).isTrue();
+
+        try (FakeMediaStreamClient twilio = FakeMediaStreamClient.connect(url, AUTH_TOKEN)) {
+            twilio.start(STREAM_SID, CALL_SID, SessionField.LOCATION);
+            assertThat(twilio.awaitClose(10_000)).isEqualTo(CloseStatus.NORMAL);
+        }
+
+        CompletableFuture<String> transcript = mediaStreams.takeTranscript(CALL_SID, SessionField.LOCATION);
+        assertThat(transcript.get(1, TimeUnit.SECONDS)).isEqualTo(TranscriptionService.UNKNOWN);
+        assertThat(speech.streamingRequests()).isEmpty();
+        assertThat(mediaStreams.getStats().failed()).isEqualTo(1);
+        assertThat(bulkheads.inUse(BulkheadRegistry.Dependency.GOOGLE_STT)).isEqualTo(1);
+        assertThat(limiters.getStats(BulkheadRegistry.Dependency.GOOGLE_STT).inFlight()).isZero();
+    }
+
+    private void assertStreamCapacityReleased() throws InterruptedException {
+        awaitTrue(() -> bulkheads.inUse(BulkheadRegistry.Dependency.GOOGLE_STT) == 0);
+        AdaptiveConcurrencyLimiter.LimiterStats limiter = limiters.getStats(BulkheadRegistry.Dependency.GOOGLE_STT);
+        assertThat(limiter.inFlight()).isZero();
+        // The stream lasted as long as the caller spoke, which says nothing about Google's latency
+        assertThat(limiter.limit()).isEqualTo(sttLimitAtStart);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
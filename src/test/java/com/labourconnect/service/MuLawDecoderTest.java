@@ -0,0 +1,42 @@
+package com.labourconnect.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MuLawDecoderTest {
+
+    @Test
+    void decodesSilenceAndTheExtremes() {
+        assertThat(MuLawDecoder.decode((byte) 0xFF)).isEqualTo((short) 0);
+        assertThat(MuLawDecoder.decode((byte) 0x7F)).isEqualTo((short) 0);
+        assertThat(MuLawDecoder.decode((byte) 0x80)).isEqualTo((short) 32124);
+        assertThat(MuLawDecoder.decode((byte) 0x00)).isEqualTo((short) -32124);
+    }
+
+    @Test
+    void positiveCodesGrowAsTheByteValueFalls() {
+        for (int code = 0x80; code < 0xFF; code++) {
+            assertThat(MuLawDecoder.decode((byte) code))
+                    .isGreaterThan(MuLawDecoder.decode((byte) (code + 1)));
+        }
+    }
+
+    @Test
+    void signBitMirrorsTheSample() {
+        for (int code = 0x80; code <= 0xFF; code++) {
+            assertThat(MuLawDecoder.decode((byte) (code & 0x7F)))
+                    .isEqualTo((short) -MuLawDecoder.decode((byte) code));
+        }
+    }
+
+    @Test
+    void writesLittleEndianLinear16() {
+        byte[] pcm = MuLawDecoder.toLinear16(new byte[]{(byte) 0x80, (byte) 0xFF, 0x00});
+
+        assertThat(pcm).hasSize(6);
+        assertThat((short) ((pcm[1] << 8) | (pcm[0] & 0xFF))).isEqualTo((short) 32124);
+        assertThat((short) ((pcm[3] << 8) | (pcm[2] & 0xFF))).isEqualTo((short) 0);
+        assertThat((short) ((pcm[5] << 8) | (pcm[4] & 0xFF))).isEqualTo((short) -32124);
+    }
+}
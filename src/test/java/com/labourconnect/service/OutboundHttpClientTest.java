@@ -0,0 +1,122 @@
+package com.labourconnect.service;
+
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives the asynchronous send() against a local HTTP server that answers with scripted statuses
+ */
+class OutboundHttpClientTest {
+
+    private HttpServer server;
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private final List<Long> arrivals = new CopyOnWriteArrayList<>();
+    private OutboundHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            arrivals.add(System.nanoTime());
+            Integer status = statuses.poll();
+            byte[] body = ("attempt " + arrivals.size()).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status != null ? status : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        client = new OutboundHttpClient(new MockEnvironment().withProperty("app.http.groq.max-retries", "2"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void sendRetriesGatewayErrorsWithGrowingBackoff() throws Exception {
+        statuses.addAll(List.of(503, 502));
+
+        CompletableFuture<String> result = client.send(OutboundHttpClient.Target.GROQ, request(), this::describe);
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("200 attempt 3");
+        assertThat(arrivals).hasSize(3);
+        // Base 200 ms doubled per attempt, plus up to 200 ms of jitter
+        assertThat(gapMs(0)).isBetween(200L, 1_000L);
+        assertThat(gapMs(1)).isBetween(400L, 1_200L);
+        assertThat(client.getStats().retries()).isEqualTo(2);
+    }
+
+    @Test
+    void sendHandsOverTheLastGatewayErrorOnceRetriesAreSpent() throws Exception {
+        statuses.addAll(List.of(503, 503, 504));
+
+        CompletableFuture<String> result = client.send(OutboundHttpClient.Target.GROQ, request(), this::describe);
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("504 attempt 3");
+        assertThat(arrivals).hasSize(3);
+    }
+
+    @Test
+    void sendDoesNotRetryOtherStatuses() throws Exception {
+        statuses.addAll(List.of(429, 503));
+
+        CompletableFuture<String> result = client.send(OutboundHttpClient.Target.GROQ, request(), this::describe);
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("429 attempt 1");
+        assertThat(arrivals).hasSize(1);
+        assertThat(client.getStats().retries()).isZero();
+    }
+
+    @Test
+    void sendRetriesConnectionFailuresThenFailsTheFuture() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        Request unreachable = new Request.Builder().url("http://localhost:" + closedPort + "/").build();
+
+        CompletableFuture<String> result = client.send(OutboundHttpClient.Target.GROQ, unreachable, this::describe);
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IOException.class);
+        assertThat(client.getStats().retries()).isEqualTo(2);
+    }
+
+    private Request request() {
+        return new Request.Builder().url("http://localhost:" + server.getAddress().getPort() + "/chat").build();
+    }
+
+    private String describe(Response response) throws IOException {
+        return response.code() + " " + response.body().string();
+    }
+
+    private long gapMs(int retry) {
+        return TimeUnit.NANOSECONDS.toMillis(arrivals.get(retry + 1) - arrivals.get(retry));
+    }
+}
@@ -0,0 +1,82 @@
+package com.labourconnect.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostCallExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PostCallExecutor executor;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        executor.destroy();
+    }
+
+    @Test
+    void virtualThreadsRunEveryAcceptedCallAtOnceAndRejectBeyondMaxInFlight() throws Exception {
+        executor = PostCallExecutor.virtual(3);
+
+        for (int i = 0; i < 3; i++) {
+            executor.execute(this::awaitRelease);
+        }
+        awaitTrue(() -> executor.running() == 3);
+
+        assertThat(executor.queueDepth()).isEqualTo(3);
+        assertThatThrownBy(() -> executor.execute(this::awaitRelease)).isInstanceOf(TaskRejectedException.class);
+        assertThat(executor.queueDepth()).isEqualTo(3);
+
+        release.countDown();
+        awaitTrue(() -> executor.queueDepth() == 0);
+        executor.execute(() -> { });
+    }
+
+    @Test
+    void poolQueueDepthCountsCallsWaitingForAWorker() throws Exception {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(1);
+        pool.setMaxPoolSize(1);
+        pool.setQueueCapacity(2);
+        pool.initialize();
+        executor = PostCallExecutor.pooled(pool);
+
+        for (int i = 0; i < 3; i++) {
+            executor.execute(this::awaitRelease);
+        }
+        awaitTrue(() -> executor.running() == 1);
+
+        assertThat(executor.queueDepth()).isEqualTo(2);
+        assertThat(executor.queueCapacity()).isEqualTo(2);
+        assertThatThrownBy(() -> executor.execute(this::awaitRelease)).isInstanceOf(TaskRejectedException.class);
+        assertThat(executor.queueDepth()).isEqualTo(2);
+
+        release.countDown();
+        awaitTrue(() -> executor.queueDepth() == 0 && executor.running() == 0);
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
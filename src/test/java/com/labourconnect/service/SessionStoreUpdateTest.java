@@ -0,0 +1,122 @@
+package com.labourconnect.service;
+
+import com.labourconnect.dto.IVRSessionDTO;
+import com.labourconnect.dto.SessionField;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two writers of the same session, as a webhook and the recording-status callback do on different replicas
+ */
+class SessionStoreUpdateTest {
+
+    private static final String CALL_SID = "CA123";
+
+    @Test
+    void losingWriterReappliesItsChangeOnTheNewerSession() {
+        VersionedStore store = new VersionedStore();
+        store.put(IVRSessionDTO.builder().callSid(CALL_SID).build());
+
+        int[] webhookAttempts = {0};
+        IVRSessionDTO saved = store.update(CALL_SID, session -> {
+            if (webhookAttempts[0]++ == 0) {
+                // The callback reads, changes and saves after the webhook read but before it saves
+                store.update(CALL_SID, callback -> {
+                    callback.setRecordingStatus(SessionField.NAME, "completed");
+                    callback.setRecordingUrl(SessionField.NAME, "https://api.twilio.com/rec/1");
+                });
+            }
+            session.setRecordingUrl(SessionField.WORK_EXPERTISE, "https://api.twilio.com/rec/2");
+            session.setCurrentStep(4);
+        });
+
+        assertThat(webhookAttempts[0]).isEqualTo(2);
+        IVRSessionDTO stored = store.get(CALL_SID);
+        assertThat(stored.getRecordingStatus(SessionField.NAME)).isEqualTo("completed");
+        assertThat(stored.getRecordingUrl(SessionField.NAME)).isEqualTo("https://api.twilio.com/rec/1");
+        assertThat(stored.getRecordingUrl(SessionField.WORK_EXPERTISE)).isEqualTo("https://api.twilio.com/rec/2");
+        assertThat(stored.getCurrentStep()).isEqualTo(4);
+        assertThat(stored.getVersion()).isEqualTo(2);
+        assertThat(saved.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void givesUpAfterTheAttemptLimit() {
+        VersionedStore store = new VersionedStore();
+        store.put(IVRSessionDTO.builder().callSid(CALL_SID).build());
+
+        assertThatThrownBy(() -> store.update(CALL_SID, session ->
+                store.update(CALL_SID, other -> other.setCurrentStep(other.getCurrentStep() + 1))))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(store.get(CALL_SID).getCurrentStep()).isEqualTo(SessionStore.MAX_UPDATE_ATTEMPTS);
+    }
+
+    @Test
+    void unknownSessionIsNotCreated() {
+        VersionedStore store = new VersionedStore();
+
+        assertThat(store.update(CALL_SID, session -> session.setCurrentStep(2))).isNull();
+        assertThat(store.size()).isZero();
+    }
+
+    /**
+     * Copies on read and write and checks the version on save, like the ivr_sessions row
+     */
+    private static final class VersionedStore implements SessionStore {
+        private final Map<String, IVRSessionDTO> rows = new HashMap<>();
+
+        @Override
+        public void put(IVRSessionDTO session) {
+            session.setVersion(0);
+            rows.put(session.getCallSid(), copy(session));
+        }
+
+        @Override
+        public void save(IVRSessionDTO session) {
+            IVRSessionDTO row = rows.get(session.getCallSid());
+            if (row == null || row.getVersion() != session.getVersion()) {
+                throw new OptimisticLockingFailureException("conflict");
+            }
+            session.setVersion(session.getVersion() + 1);
+            rows.put(session.getCallSid(), copy(session));
+        }
+
+        @Override
+        public IVRSessionDTO get(String callSid) {
+            IVRSessionDTO row = rows.get(callSid);
+            return row != null ? copy(row) : null;
+        }
+
+        @Override
+        public IVRSessionDTO remove(String callSid) {
+            return rows.remove(callSid);
+        }
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+
+        @Override
+        public SessionStoreStats getStats() {
+            return new SessionStoreStats(rows.size(), 0, 0, 0, 0, 0, 0);
+        }
+
+        private static IVRSessionDTO copy(IVRSessionDTO session) {
+            return IVRSessionDTO.builder()
+                    .callSid(session.getCallSid())
+                    .currentStep(session.getCurrentStep())
+                    .version(session.getVersion())
+                    .recordingUrls(session.getRecordingUrls().clone())
+                    .recordingStatuses(session.getRecordingStatuses().clone())
+                    .transcripts(session.getTranscripts().clone())
+                    .build();
+        }
+    }
+}
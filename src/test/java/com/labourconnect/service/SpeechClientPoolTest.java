@@ -0,0 +1,89 @@
+package com.labourconnect.service;
+
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
+import com.google.cloud.speech.v1.SpeechSettings;
+import com.labourconnect.config.GoogleCloudConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SpeechClientPoolTest {
+
+    private FakeSpeechServer server;
+    private SpeechToTextService stt;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeSpeechServer();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (stt != null) {
+            stt.destroy();
+        }
+        server.close();
+    }
+
+    @Test
+    void settingsPointAtTheStandInAndKeepChannelsAlive() throws Exception {
+        SpeechSettings settings = settings(4);
+
+        InstantiatingGrpcChannelProvider channel = (InstantiatingGrpcChannelProvider) settings.getTransportChannelProvider();
+        assertThat(channel.getEndpoint()).isEqualTo(server.target());
+        assertThat(channel.getKeepAliveTime()).isEqualTo(org.threeten.bp.Duration.ofSeconds(30));
+        assertThat(channel.getKeepAliveTimeout()).isEqualTo(org.threeten.bp.Duration.ofSeconds(10));
+        assertThat(channel.getKeepAliveWithoutCalls()).isTrue();
+    }
+
+    @Test
+    void warmUpSendsOneRecognizePerPooledChannel() throws Exception {
+        stt = service(settings(3), 3);
+
+        stt.init();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (server.recognizeConnections().size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(server.recognizeConnections()).hasSize(3);
+        assertThat(new HashSet<>(server.recognizeConnections())).hasSize(3);
+        assertThat(server.connections()).isEqualTo(3);
+    }
+
+    private SpeechSettings settings(int poolSize) throws Exception {
+        GoogleCloudConfig config = new GoogleCloudConfig();
+        ReflectionTestUtils.setField(config, "credentialsPath", "");
+        ReflectionTestUtils.setField(config, "emulatorHost", server.target());
+        ReflectionTestUtils.setField(config, "channelPoolSize", poolSize);
+        ReflectionTestUtils.setField(config, "keepAliveSeconds", 30L);
+        ReflectionTestUtils.setField(config, "keepAliveTimeoutSeconds", 10L);
+        return config.speechSettings();
+    }
+
+    @SuppressWarnings("unchecked")
+    private SpeechToTextService service(SpeechSettings settings, int poolSize) {
+        ObjectProvider<SpeechSettings> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(settings);
+
+        SpeechToTextService service = new SpeechToTextService(mock(OutboundHttpClient.class),
+                mock(BulkheadRegistry.class), mock(ConcurrencyLimiterRegistry.class), mock(TranscriptionCache.class),
+                mock(AudioBufferPool.class), mock(VoiceActivityTrimmer.class), provider);
+        ReflectionTestUtils.setField(service, "credentialsPath", "");
+        ReflectionTestUtils.setField(service, "emulatorHost", server.target());
+        ReflectionTestUtils.setField(service, "warmupEnabled", true);
+        ReflectionTestUtils.setField(service, "channelPoolSize", poolSize);
+        ReflectionTestUtils.setField(service, "rpcDeadlineMs", 5000L);
+        ReflectionTestUtils.setField(service, "breakerFailureThreshold", 5);
+        ReflectionTestUtils.setField(service, "breakerOpenSeconds", 30L);
+        return service;
+    }
+}
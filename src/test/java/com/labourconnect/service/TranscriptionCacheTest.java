@@ -0,0 +1,109 @@
+package com.labourconnect.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TranscriptionCacheTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private TranscriptionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TranscriptionCache(jdbcTemplate);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "persistent", false);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 3600L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        cache.init();
+    }
+
+    @Test
+    void recognizesOnceAndServesRepeatsFromMemory() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = cache.getOrRecognize("k", () -> "plumber" + calls.incrementAndGet());
+        String second = cache.getOrRecognize("k", () -> "plumber" + calls.incrementAndGet());
+
+        assertThat(first).isEqualTo("plumber1");
+        assertThat(second).isEqualTo("plumber1");
+        assertThat(calls).hasValue(1);
+        assertThat(cache.getStats().misses()).isEqualTo(1);
+        assertThat(cache.getStats().memoryHits()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentRequestsShareOneRecognition() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> recognize("k", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            release.await();
+            return "mason";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> recognize("k", () -> {
+            calls.incrementAndGet();
+            return "other";
+        }));
+        while (cache.getStats().coalesced() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("mason");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("mason");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void transcriptStoredAfterTheFirstLookupIsNotRecognizedAgain() throws Exception {
+        ReflectionTestUtils.setField(cache, "persistent", true);
+        // The first lookup misses; by the time this request owns the key another one has stored the transcript
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), anyLong()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("electrician"));
+        AtomicInteger calls = new AtomicInteger();
+
+        String transcript = cache.getOrRecognize("k", () -> "again" + calls.incrementAndGet());
+
+        assertThat(transcript).isEqualTo("electrician");
+        assertThat(calls).hasValue(0);
+        assertThat(cache.getStats().misses()).isZero();
+        assertThat(cache.getStats().persistentHits()).isEqualTo(1);
+    }
+
+    private String recognize(String key, BulkheadRegistry.ThrowingSupplier<String, Exception> recognizer) {
+        try {
+            return cache.getOrRecognize(key, () -> {
+                try {
+                    return recognizer.get();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.labourconnect.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TtlLruCacheTest {
+
+    @Test
+    void returnsWhatWasPutAndCountsHitsAndMisses() {
+        TtlLruCache<String, Integer> cache = new TtlLruCache<>(10, 60_000);
+        cache.put("a", 1);
+
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+
+        TtlLruCache.CacheStats stats = cache.getStats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void expiredEntriesAreMissesAndDropped() {
+        TtlLruCache<String, Integer> cache = new TtlLruCache<>(10, 60_000);
+        cache.put("stale", 1, -1);
+        cache.put("fresh", 2);
+
+        assertThat(cache.get("stale")).isNull();
+        assertThat(cache.get("fresh")).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getStats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyReadEntry() {
+        TtlLruCache<String, Integer> cache = new TtlLruCache<>(2, 60_000);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("c")).isEqualTo(3);
+        assertThat(cache.getStats().evictions()).isEqualTo(1);
+        assertThat(cache.getStats().maxEntries()).isEqualTo(2);
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletes() {
+        TtlLruCache<String, Integer> cache = new TtlLruCache<>(10, 60_000);
+        cache.put("a", 1);
+        cache.put("a", 2);
+        assertThat(cache.get("a")).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.remove("a");
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void emptyCacheHasNoHitRate() {
+        assertThat(new TtlLruCache<String, Integer>(10, 60_000).getStats().hitRate()).isZero();
+    }
+}
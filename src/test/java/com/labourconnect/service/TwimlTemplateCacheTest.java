@@ -0,0 +1,58 @@
+package com.labourconnect.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwimlTemplateCacheTest {
+
+    private TwimlTemplateCache templates;
+
+    @BeforeEach
+    void setUp() {
+        AudioService audioService = new AudioService();
+        ReflectionTestUtils.setField(audioService, "baseUrl", "https://ivr.example.com");
+
+        templates = new TwimlTemplateCache(audioService, new MockEnvironment());
+        ReflectionTestUtils.setField(templates, "baseUrl", "https://ivr.example.com");
+        ReflectionTestUtils.setField(templates, "maxRecordingDuration", 30);
+        ReflectionTestUtils.setField(templates, "timeout", 5);
+        ReflectionTestUtils.setField(templates, "captureMode", "record");
+        ReflectionTestUtils.setField(templates, "mediaStreamUrl", "");
+        templates.init();
+    }
+
+    @Test
+    void skillMenuWithoutAudioIsSaidInTheCallersLanguageAndVoice() {
+        String kannada = new String(templates.skillMenu("job_seeker", "kn"), StandardCharsets.UTF_8);
+        String hindi = new String(templates.skillMenu("employer", "hi"), StandardCharsets.UTF_8);
+
+        assertThat(kannada).contains("language=\"kn-IN\"").contains("voice=\"Google.kn-IN-Standard-C\"")
+                .contains("ಒತ್ತಿ").doesNotContain("Press");
+        assertThat(hindi).contains("language=\"hi-IN\"").contains("voice=\"Google.hi-IN-Standard-A\"")
+                .contains("दबाएँ").doesNotContain("Press");
+    }
+
+    @Test
+    void busyMessageIsSaidInEveryLanguageAndReportedMissingUntilRecorded() {
+        String busy = new String(templates.busy(), StandardCharsets.UTF_8);
+
+        assertThat(busy).contains("language=\"en-IN\"").contains("language=\"kn-IN\"").contains("language=\"hi-IN\"")
+                .endsWith("<Hangup/></Response>");
+        assertThat(templates.getMissingAudio()).contains("en/busy.mp3", "kn/busy.mp3", "hi/busy.mp3")
+                .doesNotContain("en/welcome.mp3");
+    }
+
+    @Test
+    void recordedPromptsArePlayedRatherThanSaid() {
+        String welcome = new String(templates.welcome(), StandardCharsets.UTF_8);
+
+        assertThat(welcome).contains("<Play>https://ivr.example.com/Audio/en/welcome.mp3</Play>")
+                .doesNotContain("<Say");
+    }
+}
@@ -0,0 +1,95 @@
+package com.labourconnect.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VoiceActivityTrimmerTest {
+
+    // 20 ms at 8 kHz, 16-bit mono
+    private static final int FRAME_BYTES = 320;
+
+    private VoiceActivityTrimmer trimmer;
+
+    @BeforeEach
+    void setUp() {
+        trimmer = new VoiceActivityTrimmer();
+        ReflectionTestUtils.setField(trimmer, "enabled", true);
+        ReflectionTestUtils.setField(trimmer, "rmsThreshold", 400);
+        ReflectionTestUtils.setField(trimmer, "paddingMs", 200);
+    }
+
+    @Test
+    void cutsSilenceAroundSpeechKeepingThePadding() throws IOException {
+        PcmAudio audio = wav(50, 0, 20, 30, 1000);
+
+        PcmAudio trimmed = trimmer.trim(audio);
+
+        // Speech in frames 20-29, plus 10 frames of padding either side
+        assertThat(trimmed.offset()).isEqualTo(audio.offset() + 10 * FRAME_BYTES);
+        assertThat(trimmed.length()).isEqualTo(30 * FRAME_BYTES);
+        assertThat(trimmed.buffer()).isSameAs(audio.buffer());
+        assertThat(trimmer.getStats().savedSeconds()).isEqualTo(0.4);
+    }
+
+    @Test
+    void keepsThePartialTrailingFrameWhenSpeechRunsToTheEnd() throws IOException {
+        PcmAudio audio = wav(50, 100, 45, 50, 1000);
+
+        PcmAudio trimmed = trimmer.trim(audio);
+
+        assertThat(trimmed.offset()).isEqualTo(audio.offset() + 35 * FRAME_BYTES);
+        assertThat(trimmed.offset() + trimmed.length()).isEqualTo(audio.offset() + audio.length());
+    }
+
+    @Test
+    void treatsTheThresholdAsSpeech() throws IOException {
+        assertThat(trimmer.trim(wav(10, 0, 4, 5, 400))).isNotNull();
+        assertThat(trimmer.trim(wav(10, 0, 4, 5, 399))).isNull();
+    }
+
+    @Test
+    void reportsAllSilenceAsNull() throws IOException {
+        assertThat(trimmer.trim(wav(50, 0, 0, 0, 0))).isNull();
+
+        VoiceActivityTrimmer.VadStats stats = trimmer.getStats();
+        assertThat(stats.recordings()).isEqualTo(1);
+        assertThat(stats.silentRecordings()).isEqualTo(1);
+        assertThat(stats.savedSeconds()).isEqualTo(1.0);
+    }
+
+    @Test
+    void returnsTheAudioUntouchedWhenDisabled() throws IOException {
+        ReflectionTestUtils.setField(trimmer, "enabled", false);
+        PcmAudio audio = wav(50, 0, 0, 0, 0);
+
+        assertThat(trimmer.trim(audio)).isSameAs(audio);
+        assertThat(trimmer.getStats().recordings()).isZero();
+    }
+
+    /**
+     * 8 kHz WAV of whole frames plus extra bytes, with a constant amplitude in frames [from, to)
+     */
+    private static PcmAudio wav(int frames, int extraBytes, int from, int to, int amplitude) throws IOException {
+        int dataLength = frames * FRAME_BYTES + extraBytes;
+        ByteBuffer wav = ByteBuffer.allocate(44 + dataLength).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + dataLength)
+                .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+                .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16)
+                .putShort((short) 1).putShort((short) 1).putInt(8000).putInt(16000)
+                .putShort((short) 2).putShort((short) 16)
+                .put("data".getBytes(StandardCharsets.US_ASCII)).putInt(dataLength);
+        for (int i = 0; i < dataLength / 2; i++) {
+            int frame = i * 2 / FRAME_BYTES;
+            wav.putShort((short) (frame >= from && frame < to ? amplitude : 0));
+        }
+        return PcmAudio.fromWav(wav.array(), wav.capacity(), null);
+    }
+}